@@ -0,0 +1,212 @@
+package org.tarantool;
+
+import org.tarantool.logging.Logger;
+import org.tarantool.logging.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single thread which performs I/O of any number of non-blocking
+ * channels registered on its selector.
+ *
+ * <p>
+ * Channels are registered with a {@link Handler} which is notified of
+ * the channel readiness on the loop thread. Other threads interact with
+ * the handlers by submitting tasks via {@link #execute(Runnable)}.
+ * Handlers must never block the loop thread.
+ */
+public class EventLoop implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventLoop.class);
+
+    /**
+     * Receives readiness events of a registered channel.
+     * All the methods are called on the loop thread.
+     */
+    public interface Handler {
+
+        /**
+         * Called when the channel is registered.
+         *
+         * @param key selection key of the channel
+         */
+        void onRegistered(SelectionKey key);
+
+        /**
+         * Called when the channel is ready for reading.
+         */
+        void onReadable();
+
+        /**
+         * Called when the channel is ready for writing.
+         */
+        void onWritable();
+
+        /**
+         * Called when the channel cannot be registered or
+         * the handler fails unexpectedly.
+         *
+         * @param cause failure reason
+         */
+        void onFailure(Exception cause);
+
+    }
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    private volatile boolean closed;
+    private volatile boolean terminated;
+
+    /**
+     * Creates and starts an event loop.
+     *
+     * @param name     name of the loop thread
+     * @param priority priority of the loop thread
+     *
+     * @throws CommunicationException if the selector cannot be opened
+     */
+    public EventLoop(String name, int priority) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new CommunicationException("Couldn't open a selector", e);
+        }
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.setPriority(priority);
+        this.thread.start();
+    }
+
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Registers the channel for reading. The registration is
+     * performed on the loop thread asynchronously.
+     *
+     * @param channel non-blocking channel
+     * @param handler handler of the channel events
+     */
+    public void register(SelectableChannel channel, Handler handler) {
+        execute(() -> {
+            try {
+                handler.onRegistered(channel.register(selector, SelectionKey.OP_READ, handler));
+            } catch (Exception e) {
+                handler.onFailure(e);
+            }
+        });
+    }
+
+    /**
+     * Runs the task on the loop thread. Tasks submitted after the loop
+     * has terminated are run by the calling thread.
+     *
+     * @param task task to be run
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (terminated) {
+            runTasks();
+        } else if (!inEventLoop() && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Stops the loop. Tasks submitted before are still run.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                wakeupPending.set(false);
+                if (tasks.isEmpty()) {
+                    selector.select();
+                } else {
+                    selector.selectNow();
+                }
+                processSelectedKeys();
+                runTasks();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            LOGGER.warn(() -> "Event loop " + thread.getName() + " is stopped unexpectedly", e);
+        } finally {
+            terminated = true;
+            runTasks();
+            failRegisteredChannels();
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // no-op
+            }
+        }
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            Handler handler = (Handler) key.attachment();
+            try {
+                int readyOps = key.readyOps();
+                if ((readyOps & SelectionKey.OP_READ) != 0) {
+                    handler.onReadable();
+                }
+                if (key.isValid() && (readyOps & SelectionKey.OP_WRITE) != 0) {
+                    handler.onWritable();
+                }
+            } catch (Exception e) {
+                key.cancel();
+                handler.onFailure(e);
+            }
+        }
+    }
+
+    private void failRegisteredChannels() {
+        CommunicationException cause = new CommunicationException("Event loop is closed");
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid()) {
+                key.cancel();
+                ((Handler) key.attachment()).onFailure(cause);
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOGGER.warn(() -> "Event loop task failed", e);
+            }
+        }
+    }
+
+}
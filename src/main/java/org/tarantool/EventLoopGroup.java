@@ -0,0 +1,105 @@
+package org.tarantool;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of {@link EventLoop}s shared by any number of clients.
+ *
+ * <p>
+ * Each client takes a loop of the group in a round-robin fashion and
+ * performs I/O of all its connections on that loop. It lets many clients
+ * of the same JVM be served by a few I/O threads, for instance, one per
+ * processor core.
+ *
+ * <p>
+ * The group is owned by the application: clients never close it, and it
+ * should be closed after all the clients which use it are closed.
+ *
+ * @see TarantoolClientConfig#eventLoopGroup
+ */
+public class EventLoopGroup implements Closeable {
+
+    private final EventLoop[] eventLoops;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Creates a group with one loop per available processor.
+     */
+    public EventLoopGroup() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a group of normal priority loops.
+     *
+     * @param size number of loops
+     */
+    public EventLoopGroup(int size) {
+        this("tarantool-event-loop", size, Thread.NORM_PRIORITY);
+    }
+
+    /**
+     * Creates and starts a group.
+     *
+     * @param name     name prefix of the loop threads
+     * @param size     number of loops
+     * @param priority priority of the loop threads
+     */
+    public EventLoopGroup(String name, int size, int priority) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Event loop group size must be positive");
+        }
+        this.eventLoops = new EventLoop[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                eventLoops[i] = new EventLoop(name + "-" + i, priority);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return eventLoops.length;
+    }
+
+    /**
+     * Gets the next loop of the group.
+     *
+     * @return event loop
+     *
+     * @throws IllegalStateException if the group is closed
+     */
+    public EventLoop next() {
+        EventLoop eventLoop = eventLoops[Math.floorMod(next.getAndIncrement(), eventLoops.length)];
+        if (eventLoop.isClosed()) {
+            throw new IllegalStateException("Event loop group is closed");
+        }
+        return eventLoop;
+    }
+
+    public boolean isClosed() {
+        for (EventLoop eventLoop : eventLoops) {
+            if (!eventLoop.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops all the loops of the group. Connections
+     * registered on the loops fail.
+     */
+    @Override
+    public void close() {
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop != null) {
+                eventLoop.close();
+            }
+        }
+    }
+
+}
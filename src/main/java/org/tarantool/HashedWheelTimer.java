@@ -0,0 +1,279 @@
+package org.tarantool;
+
+import org.tarantool.logging.Logger;
+import org.tarantool.logging.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer which keeps scheduled tasks in a hashed timing wheel.
+ *
+ * <p>
+ * Scheduling and cancellation cost O(1) and do not take locks: they
+ * only put the timeout into a queue which the timer thread handles
+ * on its next tick. The timer thread moves new timeouts into the wheel
+ * buckets, unlinks cancelled ones and runs the tasks of the bucket of
+ * the current tick. Tasks are run not earlier than their deadlines but
+ * up to a tick later, so the timer suits timeouts which tolerate
+ * such an imprecision.
+ *
+ * <p>
+ * Tasks are run by the timer thread and must not block.
+ *
+ * @see TarantoolClientConfig#timeoutTimer
+ */
+public class HashedWheelTimer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    /**
+     * Max number of new timeouts moved into the wheel per tick
+     * to keep the timer responsive under a burst.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = INIT;
+
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it has not been run yet.
+         *
+         * @return {@code true} if the task is cancelled by this call
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+                return false;
+            }
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, INIT, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOGGER.warn(() -> "Timer task failed", e);
+            }
+        }
+
+    }
+
+    /**
+     * Doubly linked list of timeouts. It is accessed by the timer thread only.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        void expire(long tickDeadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+                    Timeout next = remove(timeout);
+                    timeout.expire();
+                    timeout = next;
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+
+    }
+
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Thread thread;
+
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed;
+
+    public HashedWheelTimer() {
+        this("tarantoolTimeout", DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Creates and starts a timer.
+     *
+     * @param name          name of the timer thread
+     * @param tickDuration  duration of a tick which is the precision of the timer
+     * @param unit          unit of the tick duration
+     * @param ticksPerWheel number of buckets which is rounded up to a power of two
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (ticksPerWheel < 1 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("Ticks per wheel must be in range [1, 2^30]");
+        }
+        int size = Integer.highestOneBit(ticksPerWheel) == ticksPerWheel
+            ? ticksPerWheel
+            : Integer.highestOneBit(ticksPerWheel) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.startNanos = System.nanoTime();
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Schedules the task.
+     *
+     * @param task  task to be run on the timer thread
+     * @param delay delay of the task
+     * @param unit  unit of the delay
+     *
+     * @return handle of the scheduled task
+     *
+     * @throws IllegalStateException if the timer is closed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (closed) {
+            throw new IllegalStateException("Timer is closed");
+        }
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startNanos + unit.toNanos(delay));
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer. Scheduled tasks are not run.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!closed) {
+            long tickDeadline = tickNanos * (tick + 1);
+            long sleepNanos;
+            while ((sleepNanos = tickDeadline - (System.nanoTime() - startNanos)) > 0 && !closed) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            if (closed) {
+                break;
+            }
+            removeCancelled();
+            transferNewTimeouts(tick);
+            wheel[(int) tick & mask].expire(tickDeadline);
+            tick++;
+        }
+        newTimeouts.clear();
+        cancelledTimeouts.clear();
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferNewTimeouts(long tick) {
+        Timeout timeout;
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK && (timeout = newTimeouts.poll()) != null; i++) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long ticks = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            // overdue timeouts are expired on the current tick
+            wheel[(int) Math.max(ticks, tick) & mask].add(timeout);
+        }
+    }
+
+}
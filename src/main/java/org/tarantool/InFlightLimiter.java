@@ -0,0 +1,162 @@
+package org.tarantool;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number and the size of requests which are sent
+ * but not answered yet.
+ *
+ * <p>
+ * Admission never blocks: a request is either admitted at once or
+ * rejected. Callers which are rejected may subscribe for a signal
+ * via {@link #whenAvailable()} instead of retrying in a loop.
+ *
+ * <p>
+ * The count limit is strict. The byte limit is soft because the size of
+ * a request is known only after it is encoded: a request is admitted
+ * while the in-flight bytes are below the limit, and its size is added
+ * afterwards.
+ *
+ * @see TarantoolClientConfig#maxInFlightRequests
+ * @see TarantoolClientConfig#maxInFlightBytes
+ */
+public class InFlightLimiter {
+
+    private final int maxRequests;
+    private final long maxBytes;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a limiter.
+     *
+     * @param maxRequests max number of in-flight requests; {@code 0} means no limit
+     * @param maxBytes    max size of in-flight requests in bytes; {@code 0} means no limit
+     */
+    public InFlightLimiter(int maxRequests, long maxBytes) {
+        if (maxRequests < 0 || maxBytes < 0) {
+            throw new IllegalArgumentException("In-flight limits cannot be negative");
+        }
+        this.maxRequests = maxRequests;
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isLimited() {
+        return maxRequests > 0 || maxBytes > 0;
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @return {@code true} if the request is admitted and
+     *     has to be released later
+     */
+    public boolean tryAcquire() {
+        if (maxBytes > 0 && bytes.get() >= maxBytes) {
+            return false;
+        }
+        while (true) {
+            int current = requests.get();
+            if (maxRequests > 0 && current >= maxRequests) {
+                return false;
+            }
+            if (requests.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Accounts the size of an admitted request.
+     *
+     * @param size request size in bytes
+     */
+    public void addBytes(int size) {
+        bytes.addAndGet(size);
+    }
+
+    /**
+     * Releases an admitted request. The counters never go
+     * below zero even if a request is released twice.
+     *
+     * @param size accounted size of the request
+     */
+    public void release(int size) {
+        requests.getAndUpdate(current -> Math.max(current - 1, 0));
+        if (size > 0) {
+            bytes.getAndUpdate(current -> Math.max(current - size, 0));
+        }
+        signalWaiters();
+    }
+
+    public boolean isAvailable() {
+        return (maxRequests == 0 || requests.get() < maxRequests) && (maxBytes == 0 || bytes.get() < maxBytes);
+    }
+
+    public int getInFlightRequests() {
+        return requests.get();
+    }
+
+    public long getInFlightBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * Gets number of requests which can be admitted now.
+     *
+     * @return available permits or {@link Integer#MAX_VALUE}
+     *     if the number is not limited
+     */
+    public int getAvailableRequests() {
+        return maxRequests == 0 ? Integer.MAX_VALUE : Math.max(maxRequests - requests.get(), 0);
+    }
+
+    /**
+     * Gets number of bytes which can be admitted now.
+     *
+     * @return available bytes or {@link Long#MAX_VALUE}
+     *     if the size is not limited
+     */
+    public long getAvailableBytes() {
+        return maxBytes == 0 ? Long.MAX_VALUE : Math.max(maxBytes - bytes.get(), 0);
+    }
+
+    /**
+     * Gets a signal of available permits. The stage is completed
+     * by the thread which releases a request, usually the reader one,
+     * so dependent actions should not block or should be run
+     * asynchronously. A permit is not reserved for the caller.
+     *
+     * @return stage completed once a request can be admitted
+     */
+    public CompletionStage<Void> whenAvailable() {
+        if (isAvailable()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        // a release may have happened before the waiter was added
+        if (isAvailable()) {
+            signalWaiters();
+        }
+        return waiter;
+    }
+
+    private void signalWaiters() {
+        if (waiters.isEmpty() || !isAvailable()) {
+            return;
+        }
+        CompletableFuture<Void> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiter.complete(null);
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package org.tarantool;
 
+import org.tarantool.codec.CodecTuple;
+
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -75,7 +77,7 @@ public class MsgPackLite {
     protected static final byte MP_STR32 = (byte) 0xdb;
 
     public void pack(Object item, OutputStream os) throws IOException {
-        DataOutputStream out = new DataOutputStream(os);
+        DataOutputStream out = os instanceof DataOutputStream ? (DataOutputStream) os : new DataOutputStream(os);
         if (item instanceof Callable) {
             try {
                 item = ((Callable) item).call();
@@ -190,6 +192,9 @@ public class MsgPackLite {
                 out.writeInt(data.length);
             }
             out.write(data);
+        } else if (item instanceof CodecTuple) {
+            ByteBuffer bytes = ((CodecTuple<?>) item).encode();
+            out.write(bytes.array(), 0, bytes.remaining());
         } else if (item instanceof List || item.getClass().isArray()) {
             int length = item instanceof List ? ((List) item).size() : Array.getLength(item);
             if (length <= MAX_4BIT) {
@@ -231,8 +236,97 @@ public class MsgPackLite {
         }
     }
 
+    /**
+     * Packs the item directly into the buffer-native writer.
+     * <p>
+     * Produces the same bytes as {@link #pack(Object, OutputStream)}
+     * but avoids any intermediate streams or arrays.
+     *
+     * @param item object to be packed
+     * @param out  target writer
+     */
+    public void pack(Object item, MsgPackWriter out) {
+        if (item instanceof Callable) {
+            try {
+                item = ((Callable) item).call();
+            } catch (Exception e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        if (item == null) {
+            out.packNil();
+        } else if (item instanceof Boolean) {
+            out.packBoolean((Boolean) item);
+        } else if (item instanceof Number || item instanceof Code) {
+            if (item instanceof Float) {
+                out.packFloat((Float) item);
+            } else if (item instanceof Double) {
+                out.packDouble((Double) item);
+            } else if (item instanceof BigInteger) {
+                BigInteger value = (BigInteger) item;
+                boolean isPositive = value.signum() >= 0;
+                if (isPositive && value.compareTo(BI_MAX_64BIT) > 0 ||
+                    value.compareTo(BI_MIN_LONG) < 0) {
+                    throw new IllegalArgumentException(
+                        "Cannot encode BigInteger as MsgPack: out of -2^63..2^64-1 range");
+                }
+                if (isPositive && value.compareTo(BI_MAX_LONG) > 0) {
+                    out.packUnsignedLong(value.longValue());
+                } else {
+                    out.packLong(value.longValue());
+                }
+            } else {
+                out.packLong(item instanceof Code ? ((Code) item).getId() : ((Number) item).longValue());
+            }
+        } else if (item instanceof String) {
+            out.packString((String) item);
+        } else if (item instanceof byte[]) {
+            byte[] data = (byte[]) item;
+            out.packBinary(data, 0, data.length);
+        } else if (item instanceof ByteBuffer) {
+            ByteBuffer bb = (ByteBuffer) item;
+            if (bb.hasArray()) {
+                out.packBinary(bb.array(), 0, bb.array().length);
+            } else {
+                ByteBuffer data = bb.duplicate();
+                data.clear();
+                out.packBinaryHeader(data.remaining());
+                out.writeBytes(data);
+            }
+        } else if (item instanceof CodecTuple) {
+            ((CodecTuple<?>) item).encode(out);
+        } else if (item instanceof List) {
+            List list = (List) item;
+            out.packArrayHeader(list.size());
+            for (Object element : list) {
+                pack(element, out);
+            }
+        } else if (item.getClass().isArray()) {
+            int length = Array.getLength(item);
+            out.packArrayHeader(length);
+            if (item instanceof Object[]) {
+                for (Object element : (Object[]) item) {
+                    pack(element, out);
+                }
+            } else {
+                for (int i = 0; i < length; i++) {
+                    pack(Array.get(item, i), out);
+                }
+            }
+        } else if (item instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) item;
+            out.packMapHeader(map.size());
+            for (Map.Entry<Object, Object> kvp : map.entrySet()) {
+                pack(kvp.getKey(), out);
+                pack(kvp.getValue(), out);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot msgpack object of type " + item.getClass().getCanonicalName());
+        }
+    }
+
     public Object unpack(InputStream is) throws IOException {
-        DataInputStream in = new DataInputStream(is);
+        DataInputStream in = is instanceof DataInputStream ? (DataInputStream) is : new DataInputStream(is);
         int value = in.read();
         if (value < 0) {
             throw new IllegalArgumentException("No more input available when expecting a value");
@@ -254,25 +348,8 @@ public class MsgPackLite {
             return in.readShort() & MAX_16BIT; // read short, trick Java into treating it as unsigned, return int
         case MP_UINT32:
             return in.readInt() & MAX_32BIT; // read int, trick Java into treating it as unsigned, return long
-        case MP_UINT64: {
-            long v = in.readLong();
-            if (v >= 0) {
-                return v;
-            } else {
-                // this is a little bit more tricky, since we don't have unsigned longs
-                byte[] bytes = new byte[] {
-                    (byte) ((v >> 56) & 0xff),
-                    (byte) ((v >> 48) & 0xff),
-                    (byte) ((v >> 40) & 0xff),
-                    (byte) ((v >> 32) & 0xff),
-                    (byte) ((v >> 24) & 0xff),
-                    (byte) ((v >> 16) & 0xff),
-                    (byte) ((v >> 8) & 0xff),
-                    (byte) (v & 0xff),
-                };
-                return new BigInteger(1, bytes);
-            }
-        }
+        case MP_UINT64:
+            return unsigned64(in.readLong());
         case MP_INT8:
             return (byte) in.read();
         case MP_INT16:
@@ -321,6 +398,110 @@ public class MsgPackLite {
         }
     }
 
+    /**
+     * Unpacks the next value from the buffer-native reader.
+     * <p>
+     * Follows the same type mapping as {@link #unpack(InputStream)}.
+     *
+     * @param in source reader
+     *
+     * @return unpacked value
+     */
+    public Object unpack(MsgPackReader in) {
+        int value = in.readUnsignedByte();
+        switch ((byte) value) {
+        case MP_NULL:
+            return null;
+        case MP_FALSE:
+            return false;
+        case MP_TRUE:
+            return true;
+        case MP_FLOAT:
+            return in.readFloat();
+        case MP_DOUBLE:
+            return in.readDouble();
+        case MP_UINT8:
+            return in.readUnsignedByte();
+        case MP_UINT16:
+            return in.readShort() & MAX_16BIT;
+        case MP_UINT32:
+            return in.readInt() & MAX_32BIT;
+        case MP_UINT64:
+            return unsigned64(in.readLong());
+        case MP_INT8:
+            return in.readByte();
+        case MP_INT16:
+            return in.readShort();
+        case MP_INT32:
+            return in.readInt();
+        case MP_INT64:
+            return in.readLong();
+        case MP_ARRAY16:
+            return unpackList(in.readShort() & MAX_16BIT, in);
+        case MP_ARRAY32:
+            return unpackList(in.readInt(), in);
+        case MP_MAP16:
+            return unpackMap(in.readShort() & MAX_16BIT, in);
+        case MP_MAP32:
+            return unpackMap(in.readInt(), in);
+        case MP_STR8:
+            return in.readString(in.readUnsignedByte());
+        case MP_STR16:
+            return in.readString(in.readShort() & MAX_16BIT);
+        case MP_STR32:
+            return in.readString(in.readInt());
+        case MP_BIN8:
+            return in.readBytes(in.readUnsignedByte());
+        case MP_BIN16:
+            return in.readBytes(in.readShort() & MAX_16BIT);
+        case MP_BIN32:
+            return in.readBytes(in.readInt());
+        default:
+            break;
+        }
+
+        if (value >= MP_NEGATIVE_FIXNUM_INT && value <= MP_NEGATIVE_FIXNUM_INT + MAX_5BIT) {
+            return (byte) value;
+        } else if (value >= MP_FIXARRAY_INT && value <= MP_FIXARRAY_INT + MAX_4BIT) {
+            return unpackList(value - MP_FIXARRAY_INT, in);
+        } else if (value >= MP_FIXMAP_INT && value <= MP_FIXMAP_INT + MAX_4BIT) {
+            return unpackMap(value - MP_FIXMAP_INT, in);
+        } else if (value >= MP_FIXSTR_INT && value <= MP_FIXSTR_INT + MAX_5BIT) {
+            return in.readString(value - MP_FIXSTR_INT);
+        } else if (value <= MAX_7BIT) {
+            // MP_FIXNUM - the value is value as an int
+            return value;
+        } else {
+            throw new IllegalArgumentException("Input contains invalid type value " + (byte) value);
+        }
+    }
+
+    /**
+     * Converts raw bits of MsgPack UINT64 to a number.
+     * Values that don't fit into a signed long become {@link BigInteger}.
+     *
+     * @param value raw bits
+     *
+     * @return unsigned number
+     */
+    protected static Number unsigned64(long value) {
+        if (value >= 0) {
+            return value;
+        }
+        // this is a little bit more tricky, since we don't have unsigned longs
+        byte[] bytes = new byte[] {
+            (byte) ((value >> 56) & 0xff),
+            (byte) ((value >> 48) & 0xff),
+            (byte) ((value >> 40) & 0xff),
+            (byte) ((value >> 32) & 0xff),
+            (byte) ((value >> 24) & 0xff),
+            (byte) ((value >> 16) & 0xff),
+            (byte) ((value >> 8) & 0xff),
+            (byte) (value & 0xff),
+        };
+        return new BigInteger(1, bytes);
+    }
+
     protected List unpackList(int size, DataInputStream in) throws IOException {
         if (size < 0) {
             throw new IllegalArgumentException("Array to unpack too large for Java (more than 2^31 elements)!");
@@ -332,6 +513,17 @@ public class MsgPackLite {
         return ret;
     }
 
+    protected List unpackList(int size, MsgPackReader in) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Array to unpack too large for Java (more than 2^31 elements)!");
+        }
+        List ret = new ArrayList(size);
+        for (int i = 0; i < size; ++i) {
+            ret.add(unpack(in));
+        }
+        return ret;
+    }
+
     protected Map unpackMap(int size, DataInputStream in) throws IOException {
         if (size < 0) {
             throw new IllegalArgumentException("Map to unpack too large for Java (more than 2^31 elements)!");
@@ -345,6 +537,19 @@ public class MsgPackLite {
         return ret;
     }
 
+    protected Map unpackMap(int size, MsgPackReader in) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Map to unpack too large for Java (more than 2^31 elements)!");
+        }
+        Map ret = new HashMap(size);
+        for (int i = 0; i < size; ++i) {
+            Object key = unpack(in);
+            Object value = unpack(in);
+            ret.put(key, value);
+        }
+        return ret;
+    }
+
     protected Object unpackStr(int size, DataInputStream in) throws IOException {
         if (size < 0) {
             throw new IllegalArgumentException("byte[] to unpack too large for Java (more than 2^31 elements)!");
@@ -0,0 +1,473 @@
+package org.tarantool;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffer-native MsgPack decoder.
+ * <p>
+ * Reads a {@link ByteBuffer} between its position and limit using
+ * absolute gets only, so neither the buffer state nor any stream
+ * wrappers are involved while decoding. Strings are decoded in bulk
+ * from the backing array or from a reusable scratch array for direct
+ * buffers.
+ * <p>
+ * The reader does not change the wrapped buffer; the consumed position
+ * can be obtained via {@link #position()}. An instance can be reused
+ * for many buffers using {@link #wrap(ByteBuffer)}. The reader is not
+ * thread-safe.
+ *
+ * @see MsgPackLite#unpack(MsgPackReader)
+ */
+public class MsgPackReader {
+
+    private static final int MAX_RETAINED_SCRATCH_SIZE = 64 * 1024;
+
+    private ByteBuffer buffer;
+    private int position;
+    private int limit;
+
+    private byte[] scratch;
+
+    public MsgPackReader() {
+    }
+
+    public MsgPackReader(ByteBuffer buffer) {
+        wrap(buffer);
+    }
+
+    /**
+     * Starts reading the buffer from its current position up to its limit.
+     *
+     * @param buffer source of MsgPack data
+     *
+     * @return this reader
+     */
+    public MsgPackReader wrap(ByteBuffer buffer) {
+        return wrap(buffer, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * Starts reading the buffer region.
+     *
+     * @param buffer source of MsgPack data
+     * @param from   absolute index to start from
+     * @param to     absolute index to stop at (exclusive)
+     *
+     * @return this reader
+     */
+    public MsgPackReader wrap(ByteBuffer buffer, int from, int to) {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) {
+            buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        }
+        this.buffer = buffer;
+        this.position = from;
+        this.limit = to;
+        return this;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public void position(int position) {
+        if (position < 0 || position > limit) {
+            throw new IllegalArgumentException("Position " + position + " is out of limit " + limit);
+        }
+        this.position = position;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int remaining() {
+        return limit - position;
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /**
+     * Gets the next format byte without consuming it.
+     *
+     * @return unsigned format byte
+     */
+    public int peekFormat() {
+        require(1);
+        return buffer.get(position) & 0xff;
+    }
+
+    /**
+     * Checks whether the next value is an array without consuming it.
+     *
+     * @return {@code true} if the next value is an array
+     */
+    public boolean isArrayNext() {
+        int format = peekFormat();
+        return (format & 0xf0) == MsgPackLite.MP_FIXARRAY_INT ||
+            format == (MsgPackLite.MP_ARRAY16 & 0xff) ||
+            format == (MsgPackLite.MP_ARRAY32 & 0xff);
+    }
+
+    public byte readByte() {
+        require(1);
+        return buffer.get(position++);
+    }
+
+    public int readUnsignedByte() {
+        return readByte() & 0xff;
+    }
+
+    public short readShort() {
+        require(2);
+        short value = buffer.getShort(position);
+        position += 2;
+        return value;
+    }
+
+    public int readInt() {
+        require(4);
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    public long readLong() {
+        require(8);
+        long value = buffer.getLong(position);
+        position += 8;
+        return value;
+    }
+
+    public float readFloat() {
+        require(4);
+        float value = buffer.getFloat(position);
+        position += 4;
+        return value;
+    }
+
+    public double readDouble() {
+        require(8);
+        double value = buffer.getDouble(position);
+        position += 8;
+        return value;
+    }
+
+    /**
+     * Reads raw UTF-8 bytes as a string.
+     *
+     * @param length number of bytes
+     *
+     * @return decoded string
+     */
+    public String readString(int length) {
+        checkLength(length);
+        require(length);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = scratch(length);
+            copy(position, bytes, length);
+            value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads raw bytes.
+     *
+     * @param length number of bytes
+     *
+     * @return copy of the bytes
+     */
+    public byte[] readBytes(int length) {
+        checkLength(length);
+        require(length);
+        byte[] data = new byte[length];
+        copy(position, data, length);
+        position += length;
+        return data;
+    }
+
+    /**
+     * Unpacks nil if it is the next value.
+     *
+     * @return {@code true} if nil was consumed
+     */
+    public boolean tryUnpackNil() {
+        if (peekFormat() == (MsgPackLite.MP_NULL & 0xff)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean unpackBoolean() {
+        byte format = readByte();
+        if (format == MsgPackLite.MP_TRUE) {
+            return true;
+        }
+        if (format == MsgPackLite.MP_FALSE) {
+            return false;
+        }
+        throw unexpectedFormat("boolean", format);
+    }
+
+    /**
+     * Unpacks any MsgPack integer as a primitive long.
+     * Unsigned 64-bit values above {@link Long#MAX_VALUE} are returned as is (overflowed).
+     *
+     * @return integer value
+     */
+    public long unpackLong() {
+        byte format = readByte();
+        if (format >= MsgPackLite.MP_NEGATIVE_FIXNUM) {
+            // positive or negative fixnum
+            return format;
+        }
+        switch (format) {
+        case MsgPackLite.MP_UINT8:
+            return readUnsignedByte();
+        case MsgPackLite.MP_UINT16:
+            return readShort() & MsgPackLite.MAX_16BIT;
+        case MsgPackLite.MP_UINT32:
+            return readInt() & MsgPackLite.MAX_32BIT;
+        case MsgPackLite.MP_UINT64:
+        case MsgPackLite.MP_INT64:
+            return readLong();
+        case MsgPackLite.MP_INT8:
+            return readByte();
+        case MsgPackLite.MP_INT16:
+            return readShort();
+        case MsgPackLite.MP_INT32:
+            return readInt();
+        default:
+            throw unexpectedFormat("integer", format);
+        }
+    }
+
+    /**
+     * Unpacks a floating point number or an integer as a double.
+     *
+     * @return number value
+     */
+    public double unpackDouble() {
+        int format = peekFormat();
+        if (format == (MsgPackLite.MP_DOUBLE & 0xff)) {
+            position++;
+            return readDouble();
+        }
+        if (format == (MsgPackLite.MP_FLOAT & 0xff)) {
+            position++;
+            return readFloat();
+        }
+        return unpackLong();
+    }
+
+    public String unpackString() {
+        return readString(unpackStringHeader());
+    }
+
+    public int unpackStringHeader() {
+        byte format = readByte();
+        if ((format & 0xe0) == MsgPackLite.MP_FIXSTR_INT) {
+            return format & MsgPackLite.MAX_5BIT;
+        }
+        switch (format) {
+        case MsgPackLite.MP_STR8:
+            return readUnsignedByte();
+        case MsgPackLite.MP_STR16:
+            return readShort() & MsgPackLite.MAX_16BIT;
+        case MsgPackLite.MP_STR32:
+            return readInt();
+        default:
+            throw unexpectedFormat("string", format);
+        }
+    }
+
+    public byte[] unpackBinary() {
+        return readBytes(unpackBinaryHeader());
+    }
+
+    public int unpackBinaryHeader() {
+        byte format = readByte();
+        switch (format) {
+        case MsgPackLite.MP_BIN8:
+            return readUnsignedByte();
+        case MsgPackLite.MP_BIN16:
+            return readShort() & MsgPackLite.MAX_16BIT;
+        case MsgPackLite.MP_BIN32:
+            return readInt();
+        default:
+            throw unexpectedFormat("binary", format);
+        }
+    }
+
+    public int unpackArrayHeader() {
+        byte format = readByte();
+        if ((format & 0xf0) == MsgPackLite.MP_FIXARRAY_INT) {
+            return format & MsgPackLite.MAX_4BIT;
+        }
+        switch (format) {
+        case MsgPackLite.MP_ARRAY16:
+            return readShort() & MsgPackLite.MAX_16BIT;
+        case MsgPackLite.MP_ARRAY32:
+            return readInt();
+        default:
+            throw unexpectedFormat("array", format);
+        }
+    }
+
+    public int unpackMapHeader() {
+        byte format = readByte();
+        if ((format & 0xf0) == MsgPackLite.MP_FIXMAP_INT) {
+            return format & MsgPackLite.MAX_4BIT;
+        }
+        switch (format) {
+        case MsgPackLite.MP_MAP16:
+            return readShort() & MsgPackLite.MAX_16BIT;
+        case MsgPackLite.MP_MAP32:
+            return readInt();
+        default:
+            throw unexpectedFormat("map", format);
+        }
+    }
+
+    /**
+     * Skips the next value including all nested ones
+     * without materializing them.
+     */
+    public void skipValue() {
+        long pending = 1;
+        while (pending-- > 0) {
+            int format = readUnsignedByte();
+            if (format <= MsgPackLite.MAX_7BIT || format >= MsgPackLite.MP_NEGATIVE_FIXNUM_INT) {
+                continue;
+            }
+            if (format >= MsgPackLite.MP_FIXSTR_INT && format <= MsgPackLite.MP_FIXSTR_INT + MsgPackLite.MAX_5BIT) {
+                skip(format - MsgPackLite.MP_FIXSTR_INT);
+                continue;
+            }
+            if (format >= MsgPackLite.MP_FIXARRAY_INT && format <= MsgPackLite.MP_FIXARRAY_INT + MsgPackLite.MAX_4BIT) {
+                pending += format - MsgPackLite.MP_FIXARRAY_INT;
+                continue;
+            }
+            if (format >= MsgPackLite.MP_FIXMAP_INT && format <= MsgPackLite.MP_FIXMAP_INT + MsgPackLite.MAX_4BIT) {
+                pending += 2L * (format - MsgPackLite.MP_FIXMAP_INT);
+                continue;
+            }
+            switch ((byte) format) {
+            case MsgPackLite.MP_NULL:
+            case MsgPackLite.MP_FALSE:
+            case MsgPackLite.MP_TRUE:
+                break;
+            case MsgPackLite.MP_UINT8:
+            case MsgPackLite.MP_INT8:
+                skip(1);
+                break;
+            case MsgPackLite.MP_UINT16:
+            case MsgPackLite.MP_INT16:
+                skip(2);
+                break;
+            case MsgPackLite.MP_UINT32:
+            case MsgPackLite.MP_INT32:
+            case MsgPackLite.MP_FLOAT:
+                skip(4);
+                break;
+            case MsgPackLite.MP_UINT64:
+            case MsgPackLite.MP_INT64:
+            case MsgPackLite.MP_DOUBLE:
+                skip(8);
+                break;
+            case MsgPackLite.MP_STR8:
+            case MsgPackLite.MP_BIN8:
+                skip(readUnsignedByte());
+                break;
+            case MsgPackLite.MP_STR16:
+            case MsgPackLite.MP_BIN16:
+                skip(readShort() & MsgPackLite.MAX_16BIT);
+                break;
+            case MsgPackLite.MP_STR32:
+            case MsgPackLite.MP_BIN32:
+                skip(readInt() & MsgPackLite.MAX_32BIT);
+                break;
+            case MsgPackLite.MP_ARRAY16:
+                pending += readShort() & MsgPackLite.MAX_16BIT;
+                break;
+            case MsgPackLite.MP_ARRAY32:
+                pending += readInt() & MsgPackLite.MAX_32BIT;
+                break;
+            case MsgPackLite.MP_MAP16:
+                pending += 2L * (readShort() & MsgPackLite.MAX_16BIT);
+                break;
+            case MsgPackLite.MP_MAP32:
+                pending += 2L * (readInt() & MsgPackLite.MAX_32BIT);
+                break;
+            default:
+                throw unexpectedFormat("value", (byte) format);
+            }
+        }
+    }
+
+    /**
+     * Skips raw bytes.
+     *
+     * @param length number of bytes to skip
+     */
+    public void skip(long length) {
+        if (length < 0 || length > remaining()) {
+            throw new BufferUnderflowException();
+        }
+        position += (int) length;
+    }
+
+    private void copy(int index, byte[] target, int length) {
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + index, target, 0, length);
+        } else {
+            ByteBuffer source = buffer.duplicate();
+            source.limit(index + length).position(index);
+            source.get(target, 0, length);
+        }
+    }
+
+    private byte[] scratch(int length) {
+        if (scratch != null && scratch.length >= length) {
+            return scratch;
+        }
+        byte[] bytes = new byte[length];
+        if (length <= MAX_RETAINED_SCRATCH_SIZE) {
+            scratch = bytes;
+        }
+        return bytes;
+    }
+
+    private void require(int bytes) {
+        if (limit - position < bytes) {
+            throw new BufferUnderflowException();
+        }
+    }
+
+    private void checkLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("byte[] to unpack too large for Java (more than 2^31 elements)!");
+        }
+    }
+
+    private IllegalArgumentException unexpectedFormat(String expected, byte format) {
+        return new IllegalArgumentException(
+            "Input contains invalid type value " + format + " when expecting " + expected
+        );
+    }
+
+}
@@ -0,0 +1,534 @@
+package org.tarantool;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Buffer-native MsgPack encoder.
+ * <p>
+ * Unlike {@link MsgPackLite#pack(Object, java.io.OutputStream)} this writer
+ * encodes values straight into {@link ByteBuffer} chunks. When the current
+ * chunk is exhausted the encoding continues in a next one, so the bytes
+ * already written are never copied and the result may consist of several
+ * buffers (see {@link #getBuffers()} and {@link #getBufferCount()}).
+ * <p>
+ * The writer is reusable: {@link #reset()} rewinds it keeping the allocated
+ * chunks up to the retained capacity, so a long-living instance encodes
+ * requests without producing garbage. The writer is not thread-safe.
+ * <p>
+ * Only the first chunk of a writer may be direct. Further chunks are heap
+ * ones, so occasional large values neither allocate nor drop direct memory.
+ */
+public class MsgPackWriter {
+
+    /**
+     * Minimal chunk size which guarantees that any scalar
+     * value with its MsgPack header fits into a single chunk.
+     */
+    static final int MIN_CHUNK_SIZE = 16;
+
+    private final int chunkSize;
+    private final int retainedCapacity;
+
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private int currentIndex;
+    private ByteBuffer current;
+
+    /**
+     * Bytes written into the chunks preceding {@link #current}.
+     */
+    private int completedSize;
+    private boolean flipped;
+
+    /**
+     * Constructs a writer which allocates heap chunks of the given size.
+     *
+     * @param chunkSize size of a chunk to be allocated
+     */
+    public MsgPackWriter(int chunkSize) {
+        this(chunkSize, false, chunkSize);
+    }
+
+    /**
+     * Constructs a writer.
+     *
+     * @param chunkSize        size of a chunk to be allocated
+     * @param direct           whether the first chunk should be a direct buffer
+     * @param retainedCapacity max capacity kept by the writer after {@link #reset()}
+     */
+    public MsgPackWriter(int chunkSize, boolean direct, int retainedCapacity) {
+        this.chunkSize = Math.max(chunkSize, MIN_CHUNK_SIZE);
+        this.retainedCapacity = Math.max(retainedCapacity, this.chunkSize);
+        this.chunks = new ByteBuffer[4];
+        appendChunk(direct ? ByteBuffer.allocateDirect(this.chunkSize) : ByteBuffer.allocate(this.chunkSize));
+    }
+
+    /**
+     * Constructs a writer that encodes into the caller-supplied buffer.
+     * The buffer is cleared and becomes the first chunk. Further chunks,
+     * if required, will be heap buffers of the same size as the supplied one.
+     * <p>
+     * The byte order of the buffer is switched to big-endian as MsgPack requires.
+     *
+     * @param buffer initial buffer to be used
+     */
+    public MsgPackWriter(ByteBuffer buffer) {
+        if (buffer.capacity() < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Buffer capacity must be at least " + MIN_CHUNK_SIZE + " bytes");
+        }
+        this.chunkSize = buffer.capacity();
+        this.retainedCapacity = this.chunkSize;
+        this.chunks = new ByteBuffer[4];
+        buffer.clear();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        appendChunk(buffer);
+    }
+
+    /**
+     * Gets the total number of bytes written.
+     *
+     * @return encoded size in bytes
+     */
+    public int size() {
+        return completedSize + written(currentIndex);
+    }
+
+    /**
+     * Gets the chunks holding the encoded bytes.
+     * Only first {@link #getBufferCount()} elements are meaningful.
+     * <p>
+     * The buffers are ready to be read only after {@link #flip()}.
+     *
+     * @return internal chunks array
+     */
+    public ByteBuffer[] getBuffers() {
+        return chunks;
+    }
+
+    /**
+     * Gets the number of chunks holding the encoded bytes.
+     *
+     * @return count of used chunks
+     */
+    public int getBufferCount() {
+        return currentIndex + 1;
+    }
+
+    /**
+     * Prepares the used chunks to be read (or written to a channel).
+     * The writer must be {@link #reset()} before it can encode again.
+     */
+    public void flip() {
+        if (flipped) {
+            return;
+        }
+        for (int i = 0; i <= currentIndex; i++) {
+            chunks[i].flip();
+        }
+        flipped = true;
+    }
+
+    /**
+     * Checks whether the flipped chunks still have bytes to be read.
+     *
+     * @return {@code true} if there are unread bytes
+     */
+    public boolean hasRemaining() {
+        return chunks[currentIndex].hasRemaining();
+    }
+
+    /**
+     * Copies the flipped chunks into the {@code target} buffer.
+     *
+     * @param target destination buffer that must have enough space
+     */
+    public void writeTo(ByteBuffer target) {
+        for (int i = 0; i <= currentIndex; i++) {
+            target.put(chunks[i]);
+        }
+    }
+
+    /**
+     * Copies the encoded bytes into a new heap buffer that has
+     * a backing array and is ready to be read. The writer
+     * stays untouched.
+     *
+     * @return buffer with the encoded data
+     */
+    public ByteBuffer toByteBuffer() {
+        byte[] data = new byte[size()];
+        int offset = 0;
+        for (int i = 0; i <= currentIndex; i++) {
+            ByteBuffer chunk = chunks[i].duplicate();
+            int length = written(i);
+            chunk.position(0);
+            chunk.get(data, offset, length);
+            offset += length;
+        }
+        return ByteBuffer.wrap(data);
+    }
+
+    /**
+     * Rewinds the writer to the beginning. Extra chunks are kept for
+     * further reuse while their total capacity does not exceed the
+     * retained capacity.
+     */
+    public void reset() {
+        int capacity = 0;
+        int kept = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            capacity += chunks[i].capacity();
+            if (i == 0 || capacity <= retainedCapacity) {
+                chunks[i].clear();
+                kept++;
+            } else {
+                chunks[i] = null;
+            }
+        }
+        chunkCount = kept;
+        currentIndex = 0;
+        current = chunks[0];
+        completedSize = 0;
+        flipped = false;
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        current.put((byte) value);
+    }
+
+    public void writeShort(int value) {
+        ensure(2);
+        current.putShort((short) value);
+    }
+
+    public void writeInt(int value) {
+        ensure(4);
+        current.putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensure(8);
+        current.putLong(value);
+    }
+
+    public void writeBytes(byte[] data) {
+        writeBytes(data, 0, data.length);
+    }
+
+    /**
+     * Writes raw bytes splitting them among chunks if needed.
+     *
+     * @param data   source array
+     * @param offset start offset in the source
+     * @param length number of bytes to be written
+     */
+    public void writeBytes(byte[] data, int offset, int length) {
+        while (length > 0) {
+            if (!current.hasRemaining()) {
+                nextChunk();
+            }
+            int portion = Math.min(length, current.remaining());
+            current.put(data, offset, portion);
+            offset += portion;
+            length -= portion;
+        }
+    }
+
+    /**
+     * Writes remaining bytes of the buffer splitting them among chunks if needed.
+     * The position of {@code data} is advanced.
+     *
+     * @param data source buffer
+     */
+    public void writeBytes(ByteBuffer data) {
+        while (data.hasRemaining()) {
+            if (!current.hasRemaining()) {
+                nextChunk();
+            }
+            int portion = Math.min(data.remaining(), current.remaining());
+            if (portion == data.remaining()) {
+                current.put(data);
+            } else {
+                ByteBuffer slice = data.duplicate();
+                slice.limit(slice.position() + portion);
+                current.put(slice);
+                data.position(data.position() + portion);
+            }
+        }
+    }
+
+    /**
+     * Overwrites a previously written byte.
+     *
+     * @param offset absolute offset from the beginning of the encoded data
+     * @param value  byte to be put
+     */
+    public void putByte(int offset, int value) {
+        int base = 0;
+        for (int i = 0; i <= currentIndex; i++) {
+            int written = written(i);
+            if (offset < base + written) {
+                chunks[i].put(offset - base, (byte) value);
+                return;
+            }
+            base += written;
+        }
+        throw new IndexOutOfBoundsException("Offset " + offset + " is out of written bytes " + size());
+    }
+
+    /**
+     * Overwrites four previously written bytes using big-endian order.
+     *
+     * @param offset absolute offset from the beginning of the encoded data
+     * @param value  integer to be put
+     */
+    public void putInt(int offset, int value) {
+        putByte(offset, value >>> 24);
+        putByte(offset + 1, value >>> 16);
+        putByte(offset + 2, value >>> 8);
+        putByte(offset + 3, value);
+    }
+
+    public void packNil() {
+        writeByte(MsgPackLite.MP_NULL);
+    }
+
+    public void packBoolean(boolean value) {
+        writeByte(value ? MsgPackLite.MP_TRUE : MsgPackLite.MP_FALSE);
+    }
+
+    public void packFloat(float value) {
+        ensure(5);
+        current.put(MsgPackLite.MP_FLOAT);
+        current.putFloat(value);
+    }
+
+    public void packDouble(double value) {
+        ensure(9);
+        current.put(MsgPackLite.MP_DOUBLE);
+        current.putDouble(value);
+    }
+
+    /**
+     * Packs an integer using the most compact MsgPack representation.
+     *
+     * @param value number to be packed
+     */
+    public void packLong(long value) {
+        ensure(9);
+        if (value >= 0) {
+            if (value <= MsgPackLite.MAX_7BIT) {
+                current.put((byte) (value | MsgPackLite.MP_FIXNUM));
+            } else if (value <= MsgPackLite.MAX_8BIT) {
+                current.put(MsgPackLite.MP_UINT8);
+                current.put((byte) value);
+            } else if (value <= MsgPackLite.MAX_16BIT) {
+                current.put(MsgPackLite.MP_UINT16);
+                current.putShort((short) value);
+            } else if (value <= MsgPackLite.MAX_32BIT) {
+                current.put(MsgPackLite.MP_UINT32);
+                current.putInt((int) value);
+            } else {
+                current.put(MsgPackLite.MP_UINT64);
+                current.putLong(value);
+            }
+        } else {
+            if (value >= -(MsgPackLite.MAX_5BIT + 1)) {
+                current.put((byte) value);
+            } else if (value >= -(MsgPackLite.MAX_7BIT + 1)) {
+                current.put(MsgPackLite.MP_INT8);
+                current.put((byte) value);
+            } else if (value >= -(MsgPackLite.MAX_15BIT + 1)) {
+                current.put(MsgPackLite.MP_INT16);
+                current.putShort((short) value);
+            } else if (value >= -(MsgPackLite.MAX_31BIT + 1)) {
+                current.put(MsgPackLite.MP_INT32);
+                current.putInt((int) value);
+            } else {
+                current.put(MsgPackLite.MP_INT64);
+                current.putLong(value);
+            }
+        }
+    }
+
+    /**
+     * Packs 64 bits as an unsigned integer.
+     *
+     * @param bits raw bits of the unsigned value
+     */
+    public void packUnsignedLong(long bits) {
+        ensure(9);
+        current.put(MsgPackLite.MP_UINT64);
+        current.putLong(bits);
+    }
+
+    /**
+     * Packs a string as UTF-8 without intermediate byte arrays.
+     * Unpaired surrogates are replaced with {@code '?'} the same
+     * way {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param value string to be packed
+     */
+    public void packString(String value) {
+        int length = value.length();
+        packStringHeader(utf8Length(value));
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                ensure(1);
+                current.put((byte) c);
+            } else if (c < 0x800) {
+                ensure(2);
+                current.put((byte) (0xc0 | (c >> 6)));
+                current.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length &&
+                Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                current.put((byte) (0xf0 | (codePoint >> 18)));
+                current.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                current.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                current.put((byte) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                ensure(1);
+                current.put((byte) '?');
+            } else {
+                ensure(3);
+                current.put((byte) (0xe0 | (c >> 12)));
+                current.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                current.put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    public void packStringHeader(int length) {
+        ensure(5);
+        if (length <= MsgPackLite.MAX_5BIT) {
+            current.put((byte) (length | MsgPackLite.MP_FIXSTR));
+        } else if (length <= MsgPackLite.MAX_8BIT) {
+            current.put(MsgPackLite.MP_STR8);
+            current.put((byte) length);
+        } else if (length <= MsgPackLite.MAX_16BIT) {
+            current.put(MsgPackLite.MP_STR16);
+            current.putShort((short) length);
+        } else {
+            current.put(MsgPackLite.MP_STR32);
+            current.putInt(length);
+        }
+    }
+
+    public void packBinary(byte[] data, int offset, int length) {
+        packBinaryHeader(length);
+        writeBytes(data, offset, length);
+    }
+
+    public void packBinaryHeader(int length) {
+        ensure(5);
+        if (length <= MsgPackLite.MAX_8BIT) {
+            current.put(MsgPackLite.MP_BIN8);
+            current.put((byte) length);
+        } else if (length <= MsgPackLite.MAX_16BIT) {
+            current.put(MsgPackLite.MP_BIN16);
+            current.putShort((short) length);
+        } else {
+            current.put(MsgPackLite.MP_BIN32);
+            current.putInt(length);
+        }
+    }
+
+    public void packArrayHeader(int size) {
+        ensure(5);
+        if (size <= MsgPackLite.MAX_4BIT) {
+            current.put((byte) (size | MsgPackLite.MP_FIXARRAY));
+        } else if (size <= MsgPackLite.MAX_16BIT) {
+            current.put(MsgPackLite.MP_ARRAY16);
+            current.putShort((short) size);
+        } else {
+            current.put(MsgPackLite.MP_ARRAY32);
+            current.putInt(size);
+        }
+    }
+
+    public void packMapHeader(int size) {
+        ensure(5);
+        if (size <= MsgPackLite.MAX_4BIT) {
+            current.put((byte) (size | MsgPackLite.MP_FIXMAP));
+        } else if (size <= MsgPackLite.MAX_16BIT) {
+            current.put(MsgPackLite.MP_MAP16);
+            current.putShort((short) size);
+        } else {
+            current.put(MsgPackLite.MP_MAP32);
+            current.putInt(size);
+        }
+    }
+
+    /**
+     * Calculates a length of the UTF-8 representation of the string.
+     *
+     * @param value string to be measured
+     *
+     * @return length in bytes
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length &&
+                    Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the number of bytes written into the chunk.
+     * Completed and flipped chunks keep that as their limit.
+     */
+    private int written(int index) {
+        return (index < currentIndex || flipped) ? chunks[index].limit() : chunks[index].position();
+    }
+
+    /**
+     * Guarantees the current chunk has at least {@code bytes}
+     * free space. {@code bytes} must not exceed {@link #MIN_CHUNK_SIZE}.
+     */
+    private void ensure(int bytes) {
+        if (current.remaining() < bytes) {
+            nextChunk();
+        }
+    }
+
+    private void nextChunk() {
+        current.limit(current.position());
+        completedSize += current.position();
+        currentIndex++;
+        if (currentIndex == chunkCount) {
+            appendChunk(ByteBuffer.allocate(chunkSize));
+        }
+        current = chunks[currentIndex];
+        current.clear();
+    }
+
+    private void appendChunk(ByteBuffer chunk) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        chunks[chunkCount] = chunk;
+        currentIndex = chunkCount;
+        current = chunk;
+        chunkCount++;
+    }
+
+}
@@ -0,0 +1,244 @@
+package org.tarantool;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Set of request rings, or lanes, one per {@link RequestPriority},
+ * which feed a single consumer.
+ *
+ * <p>
+ * Producers publish requests into the lane of their priority the same
+ * way they do with a single {@link RequestRing}. The consumer takes one
+ * batch at a time from the highest lane which has published requests,
+ * so a batch of a lower lane is never followed by a higher one waiting
+ * longer than a single batch. To keep lower lanes from starving, each
+ * lane may send up to its weight of batches in a row while lower lanes
+ * have requests; once the lanes with published requests run out of their
+ * weights, the weights are restored.
+ *
+ * <p>
+ * When there is a single lane, all the priorities share it and
+ * the calls are delegated to its ring.
+ *
+ * <p>
+ * Only one thread at a time may call {@link #drain(RequestRing.PacketConsumer)}.
+ *
+ * @see TarantoolClientConfig#priorityLanes
+ */
+public class RequestLanes {
+
+    /**
+     * Sleep time of the {@link WaitStrategy#SLEEPING} strategy.
+     */
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final RequestRing[] lanes;
+    private final int[] weights;
+    private final int[] credits;
+    private final WaitStrategy consumerWaitStrategy;
+
+    private volatile Thread waitingConsumer;
+    private volatile Runnable publishListener;
+
+    /**
+     * Creates lanes.
+     *
+     * @param lanes                rings of the lanes in the order of {@link RequestPriority}
+     *                             or a single ring shared by all the priorities
+     * @param weights              max numbers of batches each lane sends in a row
+     *                             while lower lanes have requests
+     * @param consumerWaitStrategy the way the consumer waits for published requests
+     */
+    public RequestLanes(RequestRing[] lanes, int[] weights, WaitStrategy consumerWaitStrategy) {
+        if (lanes.length != 1 && lanes.length != RequestPriority.values().length) {
+            throw new IllegalArgumentException("There must be a single lane or a lane per priority");
+        }
+        if (weights.length != lanes.length) {
+            throw new IllegalArgumentException("There must be a weight per lane");
+        }
+        for (int weight : weights) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Lane weights must be positive");
+            }
+        }
+        this.lanes = lanes.clone();
+        this.weights = weights.clone();
+        this.credits = weights.clone();
+        this.consumerWaitStrategy = consumerWaitStrategy;
+        if (lanes.length > 1) {
+            for (RequestRing lane : lanes) {
+                lane.setPublishListener(this::onPublish);
+            }
+        }
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Gets a ring to publish a request of the priority into.
+     *
+     * @param priority request priority
+     *
+     * @return lane of the priority
+     */
+    public RequestRing getLane(RequestPriority priority) {
+        return lanes.length == 1 ? lanes[0] : lanes[priority.ordinal()];
+    }
+
+    /**
+     * Sets a listener which is called by producers after each
+     * publication to any of the lanes.
+     *
+     * @param publishListener listener or {@code null}
+     *
+     * @see RequestRing#setPublishListener(Runnable)
+     */
+    public void setPublishListener(Runnable publishListener) {
+        if (lanes.length == 1) {
+            lanes[0].setPublishListener(publishListener);
+        } else {
+            this.publishListener = publishListener;
+        }
+    }
+
+    /**
+     * Waits for published requests and passes a batch of them
+     * to the consumer.
+     *
+     * @param consumer request consumer
+     *
+     * @return number of the requests passed to the consumer
+     *
+     * @throws IOException          if the consumer fails
+     * @throws InterruptedException if the thread is interrupted while waiting
+     *
+     * @see RequestRing#drain(RequestRing.PacketConsumer)
+     */
+    public int drain(RequestRing.PacketConsumer consumer) throws IOException, InterruptedException {
+        if (lanes.length == 1) {
+            return lanes[0].drain(consumer);
+        }
+        awaitPublished();
+        return drainAvailable(consumer);
+    }
+
+    /**
+     * Passes a batch of already published requests of
+     * the next lane to the consumer without waiting for them.
+     *
+     * @param consumer request consumer
+     *
+     * @return number of the requests passed to the consumer
+     *
+     * @throws IOException          if the consumer fails
+     * @throws InterruptedException if the thread is interrupted while lingering
+     *
+     * @see RequestRing#drainAvailable(RequestRing.PacketConsumer)
+     */
+    public int drainAvailable(RequestRing.PacketConsumer consumer) throws IOException, InterruptedException {
+        if (lanes.length == 1) {
+            return lanes[0].drainAvailable(consumer);
+        }
+        int lane;
+        while ((lane = nextLane()) >= 0) {
+            credits[lane]--;
+            int count = lanes[lane].drainAvailable(consumer);
+            // all the requests of the batch may be shed
+            if (count > 0) {
+                return count;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drops all the published requests of all the lanes.
+     *
+     * @return number of the dropped requests
+     *
+     * @see RequestRing#discard()
+     */
+    public int discard() {
+        int count = 0;
+        for (RequestRing lane : lanes) {
+            count += lane.discard();
+        }
+        return count;
+    }
+
+    /**
+     * Chooses the highest lane which has published requests
+     * and has not used up its weight.
+     *
+     * @return lane index or {@code -1} if there are no published requests
+     */
+    private int nextLane() {
+        while (true) {
+            boolean published = false;
+            for (int lane = 0; lane < lanes.length; lane++) {
+                if (lanes[lane].hasPublished()) {
+                    if (credits[lane] > 0) {
+                        return lane;
+                    }
+                    published = true;
+                }
+            }
+            if (!published) {
+                return -1;
+            }
+            System.arraycopy(weights, 0, credits, 0, weights.length);
+        }
+    }
+
+    private boolean hasPublished() {
+        for (RequestRing lane : lanes) {
+            if (lane.hasPublished()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onPublish() {
+        Runnable listener = publishListener;
+        if (listener != null) {
+            listener.run();
+        }
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void awaitPublished() throws InterruptedException {
+        while (!hasPublished()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            switch (consumerWaitStrategy) {
+            case BUSY_SPIN:
+                break;
+            case YIELDING:
+                Thread.yield();
+                break;
+            case SLEEPING:
+                LockSupport.parkNanos(this, SLEEP_NANOS);
+                break;
+            default:
+                waitingConsumer = Thread.currentThread();
+                try {
+                    if (!hasPublished()) {
+                        LockSupport.park(this);
+                    }
+                } finally {
+                    waitingConsumer = null;
+                }
+            }
+        }
+    }
+
+}
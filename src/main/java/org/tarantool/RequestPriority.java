@@ -0,0 +1,43 @@
+package org.tarantool;
+
+/**
+ * Priority class of a request. When priority lanes are enabled,
+ * each class is queued separately and the writer prefers requests
+ * of higher classes, so small urgent requests are not stuck behind
+ * large bulk ones.
+ *
+ * @see TarantoolClientConfig#priorityLanes
+ * @see RequestLanes
+ */
+public enum RequestPriority {
+
+    /**
+     * Connection control requests like health-check pings
+     * and cluster discovery calls.
+     */
+    CONTROL,
+
+    /**
+     * Latency-sensitive requests. It is the default
+     * class of the data requests.
+     */
+    INTERACTIVE,
+
+    /**
+     * Throughput-oriented requests like bulk loading which
+     * may be delayed in favour of the other classes.
+     */
+    BULK;
+
+    /**
+     * Gets the default priority of a request.
+     *
+     * @param code request code
+     *
+     * @return {@link #CONTROL} for pings and {@link #INTERACTIVE} otherwise
+     */
+    public static RequestPriority of(Code code) {
+        return code == Code.PING ? CONTROL : INTERACTIVE;
+    }
+
+}
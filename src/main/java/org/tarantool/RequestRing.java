@@ -0,0 +1,544 @@
+package org.tarantool;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded multi-producer single-consumer queue of encoded requests.
+ *
+ * <p>
+ * A producer claims the next sequence of the ring, encodes a request
+ * straight into the {@link MsgPackWriter} of the claimed slot and
+ * publishes the sequence. Producers contend on a single CAS only and
+ * never wait for each other while encoding. The consumer takes
+ * published slots in the order of their sequences and releases them
+ * for reuse once it has handled them.
+ *
+ * <pre>{@code
+ * long sequence = ring.claim(timeout);
+ * try {
+ *     encode(ring.getWriter(sequence));
+ * } finally {
+ *     ring.publish(sequence);
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Only one thread at a time may call {@link #drain(PacketConsumer)}.
+ */
+public class RequestRing {
+
+    /**
+     * Sleep time of the {@link WaitStrategy#SLEEPING} strategy.
+     */
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Handles published requests.
+     */
+    public interface PacketConsumer {
+
+        /**
+         * Handles an encoded request. The packet stays valid
+         * until {@link #flush()} of the batch returns.
+         *
+         * @param packet flipped packet
+         *
+         * @throws IOException if the request cannot be sent
+         */
+        void accept(MsgPackWriter packet) throws IOException;
+
+        /**
+         * Checks whether the batch should be flushed without
+         * taking more requests.
+         *
+         * @return {@code true} if the batch is full
+         */
+        default boolean isBatchFull() {
+            return false;
+        }
+
+        /**
+         * Gets time to wait for more requests when there are
+         * no published ones left but the batch is not full.
+         *
+         * @return time in nanoseconds or {@code 0} to flush the batch
+         */
+        default long getLingerNanos() {
+            return 0;
+        }
+
+        /**
+         * Completes a batch of the accepted requests. The slots
+         * of the batch are released after the method returns.
+         *
+         * @throws IOException if the requests cannot be sent
+         */
+        default void flush() throws IOException {
+        }
+
+        /**
+         * Called instead of {@link #accept(MsgPackWriter)} for a request
+         * which is dropped because its operation is already done or its
+         * deadline has passed.
+         *
+         * @param future  attached operation of the request
+         * @param expired whether the deadline of the request has passed
+         */
+        default void onShed(Future<?> future, boolean expired) {
+        }
+
+    }
+
+    private static class Slot {
+
+        /**
+         * Sequence of the last published request in the slot.
+         */
+        private volatile long published = -1;
+
+        private MsgPackWriter writer;
+        private Future<?> future;
+        private long deadlineNanos;
+
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final int writerChunkSize;
+    private final boolean directWriters;
+    private final int writerRetainedCapacity;
+    private final WaitStrategy producerWaitStrategy;
+    private final WaitStrategy consumerWaitStrategy;
+
+    /**
+     * Next sequence to be claimed.
+     */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * Next sequence to be consumed. All the slots
+     * of preceding sequences are free.
+     */
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    private volatile Thread waitingConsumer;
+    private volatile Runnable publishListener;
+
+    private final ReentrantLock producersLock = new ReentrantLock();
+    private final Condition slotReleased = producersLock.newCondition();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    /**
+     * Creates a ring whose slot writers keep a single chunk.
+     *
+     * @param size                 number of slots which is rounded up to a power of two
+     * @param writerChunkSize      chunk size of the slot writers
+     * @param directWriters        whether the first chunks of the slot writers should be direct buffers
+     * @param producerWaitStrategy the way producers wait for a free slot
+     * @param consumerWaitStrategy the way the consumer waits for published requests
+     */
+    public RequestRing(int size,
+                       int writerChunkSize,
+                       boolean directWriters,
+                       WaitStrategy producerWaitStrategy,
+                       WaitStrategy consumerWaitStrategy) {
+        this(size, writerChunkSize, directWriters, writerChunkSize, producerWaitStrategy, consumerWaitStrategy);
+    }
+
+    /**
+     * Creates a ring.
+     *
+     * @param size                   number of slots which is rounded up to a power of two
+     * @param writerChunkSize        chunk size of the slot writers
+     * @param directWriters          whether the first chunks of the slot writers should be direct buffers
+     * @param writerRetainedCapacity max capacity a slot writer keeps after a large request
+     * @param producerWaitStrategy   the way producers wait for a free slot
+     * @param consumerWaitStrategy   the way the consumer waits for published requests
+     *
+     * @see MsgPackWriter#MsgPackWriter(int, boolean, int)
+     */
+    public RequestRing(int size,
+                       int writerChunkSize,
+                       boolean directWriters,
+                       int writerRetainedCapacity,
+                       WaitStrategy producerWaitStrategy,
+                       WaitStrategy consumerWaitStrategy) {
+        if (size < 1 || size > 1 << 30) {
+            throw new IllegalArgumentException("Ring size must be in range [1, 2^30]");
+        }
+        int capacity = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.writerChunkSize = writerChunkSize;
+        this.directWriters = directWriters;
+        this.writerRetainedCapacity = writerRetainedCapacity;
+        this.producerWaitStrategy = producerWaitStrategy;
+        this.consumerWaitStrategy = consumerWaitStrategy;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Claims a slot waiting for a free one up to the timeout. The claimed
+     * sequence must be published even if the encoding fails.
+     *
+     * @param timeoutMillis max time to wait for a free slot
+     *
+     * @return claimed sequence
+     *
+     * @throws TimeoutException     if there is no free slot during the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public long claim(long timeoutMillis) throws TimeoutException, InterruptedException {
+        return claim(1, timeoutMillis);
+    }
+
+    /**
+     * Claims several consecutive slots by a single operation waiting for
+     * free ones up to the timeout. All the claimed sequences must be
+     * published even if they are left empty.
+     *
+     * @param count         number of slots which is not greater than the capacity
+     * @param timeoutMillis max time to wait for free slots
+     *
+     * @return first claimed sequence
+     *
+     * @throws TimeoutException     if there are no free slots during the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public long claim(int count, long timeoutMillis) throws TimeoutException, InterruptedException {
+        if (count < 1 || count > slots.length) {
+            throw new IllegalArgumentException("Number of claimed slots must be in range [1, capacity]");
+        }
+        long deadline = 0;
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence + count - consumed.get() <= slots.length) {
+                if (claimed.compareAndSet(sequence, sequence + count)) {
+                    return sequence;
+                }
+                continue;
+            }
+            if (deadline == 0) {
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException(
+                    timeoutMillis + "ms is exceeded while waiting for a free slot of the request ring. " +
+                        "You could configure write timeout in TarantoolConfig"
+                );
+            }
+            awaitRelease(sequence + count - 1, remaining);
+        }
+    }
+
+    /**
+     * Gets a writer of the claimed slot. The writer is
+     * empty and must not be used after the sequence is published.
+     *
+     * @param sequence claimed sequence
+     *
+     * @return slot writer
+     */
+    public MsgPackWriter getWriter(long sequence) {
+        Slot slot = slots[(int) sequence & mask];
+        if (slot.writer == null) {
+            slot.writer = new MsgPackWriter(writerChunkSize, directWriters, writerRetainedCapacity);
+        }
+        return slot.writer;
+    }
+
+    /**
+     * Attaches the operation to the claimed request. The request is not
+     * passed to the consumer if the operation is done or the deadline has
+     * passed by the time the request is drained.
+     *
+     * @param sequence      claimed sequence
+     * @param future        operation waiting for the response
+     * @param deadlineNanos deadline in terms of {@link System#nanoTime()}
+     *                      or {@code 0} if there is no deadline
+     */
+    public void attach(long sequence, Future<?> future, long deadlineNanos) {
+        Slot slot = slots[(int) sequence & mask];
+        slot.future = future;
+        slot.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Publishes the claimed slot making it visible to the consumer.
+     * Empty packets are skipped by the consumer.
+     *
+     * @param sequence claimed sequence
+     */
+    public void publish(long sequence) {
+        publish(sequence, 1);
+    }
+
+    /**
+     * Publishes the claimed consecutive slots at once. The consumer
+     * is signalled a single time for all of them.
+     *
+     * @param first first claimed sequence
+     * @param count number of the sequences
+     */
+    public void publish(long first, int count) {
+        for (long sequence = first; sequence < first + count; sequence++) {
+            slots[(int) sequence & mask].published = sequence;
+        }
+        Runnable listener = publishListener;
+        if (listener != null) {
+            listener.run();
+        }
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Sets a listener which is called by producers after each
+     * publication. It lets a consumer which does not wait on the
+     * ring, like an event loop, learn about new requests.
+     *
+     * @param publishListener listener or {@code null}
+     */
+    public void setPublishListener(Runnable publishListener) {
+        this.publishListener = publishListener;
+    }
+
+    /**
+     * Waits for published requests and passes them to the consumer
+     * as a batch. One call handles at most the ring capacity of requests.
+     * The batch is completed when the consumer reports it is full or
+     * when no more requests are published during the linger time
+     * given by the consumer.
+     *
+     * @param consumer request consumer
+     *
+     * @return number of the requests passed to the consumer
+     *
+     * @throws IOException          if the consumer fails
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public int drain(PacketConsumer consumer) throws IOException, InterruptedException {
+        awaitPublished(consumed.get(), Long.MAX_VALUE);
+        return drainAvailable(consumer);
+    }
+
+    /**
+     * Passes already published requests to the consumer as a batch
+     * without waiting for them.
+     *
+     * @param consumer request consumer
+     *
+     * @return number of the requests passed to the consumer
+     *
+     * @throws IOException          if the consumer fails
+     * @throws InterruptedException if the thread is interrupted while lingering
+     *
+     * @see #drain(PacketConsumer)
+     */
+    public int drainAvailable(PacketConsumer consumer) throws IOException, InterruptedException {
+        consumerLock.lock();
+        try {
+            long first = consumed.get();
+            long last = first + slots.length;
+            long sequence = first;
+            int count = 0;
+            try {
+                while (sequence < last && !consumer.isBatchFull()) {
+                    Slot slot = slots[(int) sequence & mask];
+                    if (slot.published != sequence) {
+                        long linger = count > 0 ? consumer.getLingerNanos() : 0;
+                        if (linger > 0 && awaitPublished(sequence, linger)) {
+                            continue;
+                        }
+                        break;
+                    }
+                    MsgPackWriter packet = slot.writer;
+                    sequence++;
+                    if (packet == null || packet.size() == 0) {
+                        continue;
+                    }
+                    Future<?> future = slot.future;
+                    if (future != null) {
+                        boolean expired = slot.deadlineNanos != 0 && System.nanoTime() - slot.deadlineNanos >= 0;
+                        if (expired || future.isDone()) {
+                            consumer.onShed(future, expired);
+                            continue;
+                        }
+                    }
+                    packet.flip();
+                    consumer.accept(packet);
+                    count++;
+                }
+                if (count > 0) {
+                    consumer.flush();
+                }
+            } finally {
+                release(first, sequence);
+            }
+            return count;
+        } finally {
+            consumerLock.unlock();
+            signalProducers();
+        }
+    }
+
+    /**
+     * Drops all the published requests which are not consumed yet.
+     * It can be called concurrently with {@link #drain(PacketConsumer)}.
+     *
+     * @return number of the dropped requests
+     */
+    public int discard() {
+        consumerLock.lock();
+        try {
+            long first = consumed.get();
+            long sequence = first;
+            int count = 0;
+            Slot slot;
+            while ((slot = slots[(int) sequence & mask]).published == sequence) {
+                if (slot.writer != null && slot.writer.size() > 0) {
+                    count++;
+                }
+                sequence++;
+            }
+            release(first, sequence);
+            return count;
+        } finally {
+            consumerLock.unlock();
+            signalProducers();
+        }
+    }
+
+    /**
+     * Releases the slots of sequences in range {@code [from, to)}.
+     */
+    private void release(long from, long to) {
+        for (long sequence = from; sequence < to; sequence++) {
+            Slot slot = slots[(int) sequence & mask];
+            if (slot.writer != null) {
+                slot.writer.reset();
+            }
+            slot.future = null;
+            slot.deadlineNanos = 0;
+        }
+        consumed.set(to);
+    }
+
+    /**
+     * Checks whether there are published requests
+     * which are not consumed yet.
+     *
+     * @return {@code true} if the next sequence is published
+     */
+    public boolean hasPublished() {
+        return isPublished(consumed.get());
+    }
+
+    private boolean isPublished(long sequence) {
+        return slots[(int) sequence & mask].published == sequence;
+    }
+
+    /**
+     * Waits until the sequence is published.
+     *
+     * @param sequence     awaited sequence
+     * @param timeoutNanos max time to wait or {@link Long#MAX_VALUE} to wait infinitely
+     *
+     * @return {@code true} if the sequence is published
+     */
+    private boolean awaitPublished(long sequence, long timeoutNanos) throws InterruptedException {
+        boolean timed = timeoutNanos != Long.MAX_VALUE;
+        long deadline = timed ? System.nanoTime() + timeoutNanos : 0;
+        while (!isPublished(sequence)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = timed ? deadline - System.nanoTime() : Long.MAX_VALUE;
+            if (remaining <= 0) {
+                return false;
+            }
+            switch (consumerWaitStrategy) {
+            case BUSY_SPIN:
+                break;
+            case YIELDING:
+                Thread.yield();
+                break;
+            case SLEEPING:
+                LockSupport.parkNanos(this, Math.min(SLEEP_NANOS, remaining));
+                break;
+            default:
+                waitingConsumer = Thread.currentThread();
+                try {
+                    if (isPublished(sequence)) {
+                        break;
+                    }
+                    if (timed) {
+                        LockSupport.parkNanos(this, remaining);
+                    } else {
+                        LockSupport.park(this);
+                    }
+                } finally {
+                    waitingConsumer = null;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void awaitRelease(long sequence, long timeoutNanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        switch (producerWaitStrategy) {
+        case BUSY_SPIN:
+            break;
+        case YIELDING:
+            Thread.yield();
+            break;
+        case SLEEPING:
+            LockSupport.parkNanos(this, Math.min(SLEEP_NANOS, timeoutNanos));
+            break;
+        default:
+            producersLock.lock();
+            waitingProducers.incrementAndGet();
+            try {
+                if (sequence - consumed.get() >= slots.length) {
+                    slotReleased.awaitNanos(timeoutNanos);
+                }
+            } finally {
+                waitingProducers.decrementAndGet();
+                producersLock.unlock();
+            }
+        }
+    }
+
+    private void signalProducers() {
+        if (waitingProducers.get() > 0) {
+            producersLock.lock();
+            try {
+                slotReleased.signalAll();
+            } finally {
+                producersLock.unlock();
+            }
+        }
+    }
+
+}
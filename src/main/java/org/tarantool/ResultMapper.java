@@ -0,0 +1,85 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes {@link Key#DATA} of a response straight from
+ * the received MsgPack frame.
+ *
+ * @param <R> type of the operation result
+ *
+ * @see TarantoolClient#syncOps(ResultMapper)
+ * @see TarantoolClient#asyncOps(ResultMapper)
+ * @see TarantoolClient#composableAsyncOps(ResultMapper)
+ */
+@FunctionalInterface
+public interface ResultMapper<R> {
+
+    /**
+     * Decodes the result.
+     *
+     * @param reader reader positioned at the response data which is
+     *               usually an array of tuples or {@code nil} if the
+     *               response has no data
+     *
+     * @return decoded result
+     */
+    R map(MsgPackReader reader);
+
+    /**
+     * Creates a mapper which decodes each tuple of the result.
+     *
+     * @param mapper tuple mapper
+     * @param <T>    type of the tuple object
+     *
+     * @return mapper producing a list of objects
+     */
+    static <T> ResultMapper<List<T>> list(TupleMapper<T> mapper) {
+        return reader -> {
+            if (reader.tryUnpackNil()) {
+                return Collections.emptyList();
+            }
+            int size = reader.unpackArrayHeader();
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(mapper.map(reader));
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Creates a mapper which returns tuples backed by the raw
+     * response bytes.
+     *
+     * @return mapper producing a list of tuples
+     *
+     * @see TarantoolTuple
+     */
+    static ResultMapper<List<TarantoolTuple>> tuples() {
+        return list(TarantoolTuple.MAPPER);
+    }
+
+    /**
+     * Creates a mapper which decodes the first tuple of the result
+     * only. It suits operations returning at most one tuple like
+     * {@code insert} or a select by a primary key.
+     *
+     * @param mapper tuple mapper
+     * @param <T>    type of the tuple object
+     *
+     * @return mapper producing an object or {@code null} if
+     *     the result is empty
+     */
+    static <T> ResultMapper<T> single(TupleMapper<T> mapper) {
+        return reader -> {
+            if (reader.tryUnpackNil() || reader.unpackArrayHeader() == 0) {
+                return null;
+            }
+            return mapper.map(reader);
+        };
+    }
+
+}
@@ -0,0 +1,271 @@
+package org.tarantool;
+
+import org.tarantool.util.Flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes tuples of an index range page by page.
+ *
+ * <p>
+ * Each page is requested by a separate select limited by the page size.
+ * The next page starts right after the key of the last tuple of the
+ * previous one, so the range is scanned by key continuation instead of
+ * offsets which get slower the further they go. The key is made of the
+ * tuple fields listed as the key fields, which must be the parts of the
+ * index in their order. The index must be unique, otherwise tuples which
+ * share the key of the last tuple of a page are skipped.
+ *
+ * <p>
+ * Tuples are emitted only on demand. The next page is requested as soon
+ * as the subscriber starts receiving the current one, so at most two pages
+ * are held in memory at once. The publisher is cold: every subscriber
+ * scans the range from the start.
+ *
+ * <pre>{@code
+ * new SelectPublisher(client.composableAsyncOps(), spaceId, 0, Collections.emptyList(), Iterator.ALL, 1000, 0)
+ *     .subscribe(subscriber);
+ * }</pre>
+ */
+public class SelectPublisher implements Flow.Publisher<List<?>> {
+
+    private final TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops;
+    private final int space;
+    private final int index;
+    private final List<?> key;
+    private final Iterator iterator;
+    private final Iterator continuation;
+    private final int pageSize;
+    private final int[] keyFields;
+
+    /**
+     * Creates a publisher.
+     *
+     * @param ops       operations used to select pages
+     * @param space     space id
+     * @param index     index id
+     * @param key       key where the range starts
+     * @param iterator  one of {@link Iterator#ALL}, {@link Iterator#GE},
+     *                  {@link Iterator#GT} to scan ascending or
+     *                  {@link Iterator#LE}, {@link Iterator#LT} to scan descending
+     * @param pageSize  max number of tuples selected at once
+     * @param keyFields positions of the index parts in the tuples
+     */
+    public SelectPublisher(TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops,
+                           int space,
+                           int index,
+                           List<?> key,
+                           Iterator iterator,
+                           int pageSize,
+                           int... keyFields) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (keyFields.length == 0) {
+            throw new IllegalArgumentException("At least one key field is required");
+        }
+        this.ops = ops;
+        this.space = space;
+        this.index = index;
+        this.key = key;
+        this.iterator = iterator;
+        this.continuation = getContinuation(iterator);
+        this.pageSize = pageSize;
+        this.keyFields = keyFields.clone();
+    }
+
+    private static Iterator getContinuation(Iterator iterator) {
+        switch (iterator) {
+        case ALL:
+        case GE:
+        case GT:
+            return Iterator.GT;
+        case LE:
+        case LT:
+            return Iterator.LT;
+        default:
+            throw new IllegalArgumentException("Iterator " + iterator + " does not support key continuation");
+        }
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<?>> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Gets the continuation key of the tuple.
+     *
+     * @param tuple last tuple of a page
+     *
+     * @return values of the key fields
+     */
+    protected List<?> getKey(List<?> tuple) {
+        List<Object> values = new ArrayList<>(keyFields.length);
+        for (int field : keyFields) {
+            values.add(tuple.get(field));
+        }
+        return values;
+    }
+
+    /**
+     * Emits tuples of the received pages within the demand from
+     * a serialized drain loop, which is run by the thread calling
+     * {@link #request(long)} or the one completing a page.
+     */
+    private class PageSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super List<?>> subscriber;
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Queue<List<?>> pages = new ConcurrentLinkedQueue<>();
+
+        private volatile List<?> lastKey;
+        private volatile boolean fetching;
+        private volatile boolean exhausted;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        /**
+         * Page being emitted. It is accessed by the drain loop only.
+         */
+        private List<?> current = Collections.emptyList();
+        private int position;
+        private boolean started;
+        private boolean done;
+
+        PageSubscription(Flow.Subscriber<? super List<?>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested number of items must be positive");
+            } else {
+                requested.getAndUpdate(value -> value + n < 0 ? Long.MAX_VALUE : value + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void fetch() {
+            fetching = true;
+            CompletionStage<List<?>> page;
+            try {
+                page = lastKey == null
+                    ? ops.select(space, index, key, 0, pageSize, iterator)
+                    : ops.select(space, index, lastKey, 0, pageSize, continuation);
+            } catch (RuntimeException e) {
+                onPage(null, e);
+                return;
+            }
+            page.whenComplete(this::onPage);
+        }
+
+        private void onPage(List<?> page, Throwable failure) {
+            if (failure != null) {
+                error = failure;
+            } else {
+                try {
+                    if (page.size() < pageSize) {
+                        exhausted = true;
+                    } else {
+                        lastKey = getKey((List<?>) page.get(page.size() - 1));
+                    }
+                    if (!page.isEmpty()) {
+                        pages.add(page);
+                    }
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+            }
+            fetching = false;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    drainOnce();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted < demand && !cancelled && error == null) {
+                if (position == current.size()) {
+                    List<?> next = pages.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    current = next;
+                    position = 0;
+                }
+                try {
+                    subscriber.onNext((List<?>) current.get(position++));
+                } catch (RuntimeException e) {
+                    // the subscriber breaks the contract, so the subscription is over
+                    cancelled = true;
+                    error = e;
+                }
+                emitted++;
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            if (position == current.size()) {
+                // let the emitted page be collected
+                current = Collections.emptyList();
+                position = 0;
+            }
+            Throwable failure = error;
+            if (cancelled || failure != null) {
+                done = true;
+                pages.clear();
+                if (failure != null) {
+                    subscriber.onError(failure);
+                }
+                return;
+            }
+            // a page is queued before the fetching flag is reset, so the flag goes first
+            boolean idle = !fetching;
+            boolean drained = position == current.size() && pages.isEmpty();
+            if (exhausted && idle && drained) {
+                done = true;
+                subscriber.onComplete();
+                return;
+            }
+            started |= demand > 0;
+            if (started && !fetching && !exhausted && pages.isEmpty()) {
+                fetch();
+            }
+        }
+
+    }
+
+}
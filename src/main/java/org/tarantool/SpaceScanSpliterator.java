@@ -0,0 +1,335 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator over tuples of an index which selects them page by page
+ * continuing from the key of the last tuple of the previous page.
+ *
+ * <p>
+ * The next page is requested as soon as the current one is received,
+ * so the traversal overlaps with the select of the following page.
+ *
+ * <p>
+ * When the first part of the index is an integer, the spliterator can
+ * be split: the range between the min and the max value of the part is
+ * cut in halves, and each half is scanned by its own selects. A parallel
+ * stream thus keeps several selects in flight at once. Sizes are estimated
+ * by the width of the ranges, so they are exact for dense keys only.
+ * Indexes whose first part is not an integer and indexes which cannot be
+ * iterated backwards, like hash ones, are scanned sequentially.
+ *
+ * <p>
+ * The index must be unique, otherwise tuples which share the key
+ * of the last tuple of a page are skipped. {@link #stream(TarantoolClient, int, int)}
+ * rejects non-unique indexes.
+ *
+ * @see TarantoolClient#scan(int, int)
+ */
+public class SpaceScanSpliterator implements Spliterator<List<?>> {
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    /**
+     * System view of the indexes.
+     */
+    private static final int VINDEX_SPACE_ID = 289;
+    private static final int VINDEX_OPTS_FIELD = 4;
+    private static final int VINDEX_PARTS_FIELD = 5;
+
+    private final TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops;
+    private final int space;
+    private final int index;
+    private final int pageSize;
+    private final int[] keyFields;
+
+    /**
+     * Bounds of the first key part: inclusive lower and exclusive upper
+     * ones, {@code null} when the range is open from that side.
+     */
+    private Long lower;
+    private final Long upper;
+
+    /**
+     * Range of the first key part values known to be taken,
+     * which is cut in halves on splits.
+     */
+    private long low;
+    private final long high;
+    private final boolean splittable;
+
+    private List<?> page = Collections.emptyList();
+    private int position;
+    private List<?> lastKey;
+    private CompletableFuture<List<?>> next;
+    private boolean started;
+    private boolean exhausted;
+
+    private SpaceScanSpliterator(TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops,
+                                 int space,
+                                 int index,
+                                 int pageSize,
+                                 int[] keyFields,
+                                 Long lower,
+                                 Long upper,
+                                 long low,
+                                 long high,
+                                 boolean splittable) {
+        this.ops = ops;
+        this.space = space;
+        this.index = index;
+        this.pageSize = pageSize;
+        this.keyFields = keyFields;
+        this.lower = lower;
+        this.upper = upper;
+        this.low = low;
+        this.high = high;
+        this.splittable = splittable;
+    }
+
+    /**
+     * Creates a spliterator over all the tuples of the index. It selects
+     * the min and the max tuples of the index at once to plan the splits.
+     *
+     * @param ops       operations used to select pages
+     * @param space     space id
+     * @param index     index id
+     * @param pageSize  max number of tuples selected at once
+     * @param keyFields positions of the index parts in the tuples
+     *
+     * @return spliterator
+     */
+    public static SpaceScanSpliterator create(
+        TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops,
+        int space,
+        int index,
+        int pageSize,
+        int... keyFields) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (keyFields.length == 0) {
+            throw new IllegalArgumentException("At least one key field is required");
+        }
+        CompletableFuture<List<?>> min = ops.select(space, index, Collections.emptyList(), 0, 1, Iterator.ALL)
+            .toCompletableFuture();
+        CompletableFuture<List<?>> max = ops.select(space, index, Collections.emptyList(), 0, 1, Iterator.LE)
+            .toCompletableFuture();
+        Long low = getFirstPart(join(min), keyFields[0]);
+        Long high;
+        try {
+            high = getFirstPart(join(max), keyFields[0]);
+        } catch (TarantoolException e) {
+            // the index is not ordered, so its key range cannot be cut
+            high = null;
+        }
+        boolean splittable = low != null && high != null && high < Long.MAX_VALUE;
+        return new SpaceScanSpliterator(
+            ops, space, index, pageSize, keyFields.clone(),
+            null, null,
+            splittable ? low : 0, splittable ? high + 1 : 0, splittable
+        );
+    }
+
+    /**
+     * Creates a stream of all the tuples of the index. The positions of the
+     * index parts are read from the {@code _vindex} system view.
+     *
+     * @param client client
+     * @param space  space id
+     * @param index  index id
+     *
+     * @return sequential stream which can be turned into a parallel one
+     */
+    public static Stream<List<?>> stream(TarantoolClient client, int space, int index) {
+        int[] keyFields = getKeyFields(client.syncOps(), space, index);
+        return StreamSupport.stream(
+            create(client.composableAsyncOps(), space, index, DEFAULT_PAGE_SIZE, keyFields),
+            false
+        );
+    }
+
+    /**
+     * Reads the positions of the index parts in the tuples. Both formats
+     * of the parts, the list of {@code [field, type]} lists and the list
+     * of {@code {field = ..., type = ...}} maps, are supported.
+     * The index must be unique, because the pages are continued
+     * from the key of the last tuple.
+     *
+     * @param ops   operations used to select the index definition
+     * @param space space id
+     * @param index index id
+     *
+     * @return zero-based positions of the index parts
+     *
+     * @throws IllegalArgumentException if there is no such index or it is not unique
+     */
+    public static int[] getKeyFields(TarantoolClientOps<Integer, List<?>, Object, List<?>> ops, int space, int index) {
+        List<?> result = ops.select(VINDEX_SPACE_ID, 0, Arrays.asList(space, index), 0, 1, Iterator.EQ);
+        if (result == null || result.isEmpty()) {
+            throw new IllegalArgumentException("Index " + index + " of space " + space + " is not found");
+        }
+        List<?> definition = (List<?>) result.get(0);
+        Map<?, ?> opts = (Map<?, ?>) definition.get(VINDEX_OPTS_FIELD);
+        if (Boolean.FALSE.equals(opts.get("unique"))) {
+            throw new IllegalArgumentException(
+                "Index " + index + " of space " + space + " is not unique, so it cannot be scanned by pages"
+            );
+        }
+        List<?> parts = (List<?>) definition.get(VINDEX_PARTS_FIELD);
+        int[] fields = new int[parts.size()];
+        for (int i = 0; i < fields.length; i++) {
+            Object part = parts.get(i);
+            Object field = part instanceof Map ? ((Map<?, ?>) part).get("field") : ((List<?>) part).get(0);
+            fields[i] = ((Number) field).intValue();
+        }
+        return fields;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super List<?>> action) {
+        if (position == page.size() && !nextPage()) {
+            return false;
+        }
+        action.accept((List<?>) page.get(position++));
+        return true;
+    }
+
+    /**
+     * Splits off the lower half of the range if the scan
+     * is not started and the range is wider than two pages.
+     */
+    @Override
+    public Spliterator<List<?>> trySplit() {
+        if (!splittable || started || getWidth() < 2L * pageSize) {
+            return null;
+        }
+        // the halved bounds are summed up to avoid an overflow
+        long middle = (low >> 1) + (high >> 1) + (low & high & 1);
+        SpaceScanSpliterator prefix = new SpaceScanSpliterator(
+            ops, space, index, pageSize, keyFields,
+            lower, middle,
+            low, middle, true
+        );
+        this.lower = middle;
+        this.low = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return splittable ? getWidth() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the width of the range, which is limited by
+     * {@link Long#MAX_VALUE} when the difference of the bounds
+     * overflows.
+     */
+    private long getWidth() {
+        long width = high - low;
+        return width < 0 ? Long.MAX_VALUE : width;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Waits for the next page and requests the following one.
+     *
+     * @return {@code true} if a non-empty page is received
+     */
+    private boolean nextPage() {
+        while (!exhausted) {
+            if (next == null) {
+                next = fetch();
+            }
+            List<?> result = join(next);
+            next = null;
+            page = result;
+            position = 0;
+            if (result.size() < pageSize) {
+                exhausted = true;
+            } else {
+                lastKey = getKey((List<?>) result.get(result.size() - 1));
+            }
+            if (upper != null) {
+                trimAtUpperBound();
+            }
+            if (!exhausted) {
+                next = fetch();
+            }
+            if (!page.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CompletableFuture<List<?>> fetch() {
+        started = true;
+        CompletionStage<List<?>> result;
+        if (lastKey != null) {
+            result = ops.select(space, index, lastKey, 0, pageSize, Iterator.GT);
+        } else if (lower != null) {
+            result = ops.select(space, index, Collections.singletonList(lower), 0, pageSize, Iterator.GE);
+        } else {
+            result = ops.select(space, index, Collections.emptyList(), 0, pageSize, Iterator.ALL);
+        }
+        return result.toCompletableFuture();
+    }
+
+    private void trimAtUpperBound() {
+        for (int i = 0; i < page.size(); i++) {
+            Object part = ((List<?>) page.get(i)).get(keyFields[0]);
+            if (((Number) part).longValue() >= upper) {
+                page = page.subList(0, i);
+                exhausted = true;
+                return;
+            }
+        }
+    }
+
+    private List<?> getKey(List<?> tuple) {
+        List<Object> values = new ArrayList<>(keyFields.length);
+        for (int field : keyFields) {
+            values.add(tuple.get(field));
+        }
+        return values;
+    }
+
+    private static Long getFirstPart(List<?> result, int field) {
+        if (result.isEmpty()) {
+            return null;
+        }
+        Object part = ((List<?>) result.get(0)).get(field);
+        boolean integral = part instanceof Integer || part instanceof Long ||
+            part instanceof Short || part instanceof Byte;
+        return integral ? ((Number) part).longValue() : null;
+    }
+
+    private static List<?> join(CompletableFuture<List<?>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+}
@@ -27,7 +27,7 @@ public abstract class SqlProtoUtils {
     }
 
     public static List<List<Object>> getSQLData(TarantoolPacket pack) {
-        return (List<List<Object>>) pack.getBody().get(Key.DATA.getId());
+        return (List<List<Object>>) pack.getData();
     }
 
     public static List<SQLMetaData> getSQLMetadata(TarantoolPacket pack) {
@@ -0,0 +1,138 @@
+package org.tarantool;
+
+import org.tarantool.logging.Logger;
+import org.tarantool.logging.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks on a delegate executor keeping the order of
+ * tasks with the same stripe key.
+ *
+ * <p>
+ * Tasks are spread among a fixed number of stripes by their keys.
+ * Tasks of one stripe are run one after another in the submission
+ * order, while different stripes proceed in parallel. A stripe never
+ * occupies more than one thread of the delegate. When the delegate
+ * rejects to continue a stripe, its queued tasks are run by the thread
+ * which has run the previous ones.
+ *
+ * @see TarantoolClientConfig#completionExecutor
+ */
+public class StripedExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StripedExecutor.class);
+
+    /**
+     * Max number of tasks run at once before a stripe
+     * yields the thread to other tasks of the delegate.
+     */
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    private final Executor executor;
+    private final Stripe[] stripes;
+
+    /**
+     * Creates a striped executor.
+     *
+     * @param executor delegate executor
+     * @param stripes  number of stripes
+     */
+    public StripedExecutor(Executor executor, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Number of stripes must be positive");
+        }
+        this.executor = executor;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Submits the task to the stripe of the key.
+     *
+     * @param key  stripe key
+     * @param task task to be run
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the delegate
+     *                                                         rejects the stripe
+     */
+    public void execute(long key, Runnable task) {
+        stripes[(int) Math.floorMod(key, (long) stripes.length)].execute(task);
+    }
+
+    private class Stripe implements Runnable {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void execute(Runnable task) {
+            tasks.add(task);
+            try {
+                schedule();
+            } catch (RuntimeException e) {
+                tasks.remove(task);
+                throw e;
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                try {
+                    Runnable task;
+                    for (int i = 0; i < MAX_TASKS_PER_RUN && (task = tasks.poll()) != null; i++) {
+                        try {
+                            task.run();
+                        } catch (Exception e) {
+                            LOGGER.warn(() -> "Striped task failed", e);
+                        }
+                    }
+                } finally {
+                    scheduled.set(false);
+                }
+            } while (!tasks.isEmpty() && !reschedule());
+        }
+
+        /**
+         * Schedules the stripe again to run the remaining tasks.
+         *
+         * @return {@code false} if the delegate rejects the stripe and
+         *     the current thread keeps the stripe to run the tasks itself
+         */
+        private boolean reschedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                // a new task has scheduled the stripe
+                return true;
+            }
+            try {
+                executor.execute(this);
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,673 @@
+package org.tarantool;
+
+import org.tarantool.cluster.TarantoolClusterDiscoverer;
+import org.tarantool.cluster.TarantoolClusterStoredFunctionDiscoverer;
+import org.tarantool.logging.Logger;
+import org.tarantool.logging.LoggerFactory;
+import org.tarantool.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Client which keeps a connection to every node of a cluster
+ * and balances requests between them.
+ *
+ * <p>
+ * Each node is served by a separate {@link TarantoolClientImpl} which
+ * reconnects on its own. While a node is down, requests go through the
+ * other nodes and only requests which were in flight on the failed node
+ * are failed. The client is alive while at least one of its nodes is alive.
+ *
+ * <p>
+ * When the discovery function is configured, the list of nodes is refreshed
+ * periodically and applied incrementally: connections to new nodes are
+ * opened, while the ones to the nodes which are gone stop receiving new
+ * requests and are closed once their in-flight requests are answered or
+ * expired, which is checked by the timeout timer without waiting for the
+ * next refresh. Connections to the nodes which stay in the list are kept as is.
+ * Nodes which cannot be connected are skipped until the next refresh.
+ *
+ * <p>
+ * Requests are not retried on other nodes, so the client suits
+ * read-only replicas or a multi-master cluster.
+ *
+ * @see TarantoolBalancedClusterClientConfig
+ */
+public class TarantoolBalancedClusterClient implements TarantoolClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TarantoolBalancedClusterClient.class);
+
+    private final TarantoolBalancedClusterClientConfig config;
+    private final AtomicInteger nextRoundRobin = new AtomicInteger();
+
+    /**
+     * Nodes which receive requests. The array is replaced as a whole
+     * under {@link #nodesLock}, so requests read it without locking.
+     */
+    private volatile Node[] nodes = new Node[0];
+    private final List<Node> retiredNodes = new ArrayList<>();
+    private final Object nodesLock = new Object();
+    private volatile boolean closed;
+
+    /**
+     * Timer which checks the removed nodes.
+     *
+     * @see TarantoolClientConfig#timeoutTimer
+     */
+    private final HashedWheelTimer timeoutTimer;
+
+    /**
+     * Scheduled check of the removed nodes or {@code null}. It is
+     * accessed under {@link #nodesLock} only.
+     */
+    private HashedWheelTimer.Timeout retiredNodesCheck;
+
+    /**
+     * Discovery activity.
+     */
+    private ScheduledExecutorService instancesDiscoveryExecutor;
+    private Runnable instancesDiscovererTask;
+
+    private final TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps;
+    private final TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps;
+    private final TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps;
+    private final TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps;
+
+    /**
+     * Constructs a new client and connects to the nodes.
+     *
+     * @param config    configuration
+     * @param addresses initial addresses of the nodes in the form of host[:port]
+     *
+     * @throws CommunicationException if none of the nodes can be connected
+     */
+    public TarantoolBalancedClusterClient(TarantoolBalancedClusterClientConfig config, String... addresses) {
+        for (Map.Entry<String, Integer> weight : config.weights.entrySet()) {
+            if (weight.getValue() < 0) {
+                throw new IllegalArgumentException("Weight of node " + weight.getKey() + " cannot be negative");
+            }
+        }
+        this.config = config;
+        this.timeoutTimer = config.timeoutTimer != null
+            ? config.timeoutTimer
+            : TarantoolClientImpl.TarantoolOp.TimeoutScheduler.TIMER;
+        this.syncOps = new BalancedOps<>(TarantoolClient::syncOps);
+        this.asyncOps = new BalancedOps<>(TarantoolClient::asyncOps);
+        this.composableAsyncOps = new BalancedOps<>(TarantoolClient::composableAsyncOps);
+        this.fireAndForgetOps = new BalancedOps<>(TarantoolClient::fireAndForgetOps);
+
+        refreshNodes(new LinkedHashSet<>(Arrays.asList(addresses)));
+        if (nodes.length == 0) {
+            close();
+            throw new CommunicationException("Unable to connect to any of the nodes " + Arrays.toString(addresses));
+        }
+
+        if (StringUtils.isNotBlank(config.clusterDiscoveryEntryFunction)) {
+            this.instancesDiscovererTask =
+                createDiscoveryTask(new TarantoolClusterStoredFunctionDiscoverer(config, this));
+            this.instancesDiscoveryExecutor
+                = Executors.newSingleThreadScheduledExecutor(new TarantoolThreadDaemonFactory("tarantoolDiscoverer"));
+            int delay = config.clusterDiscoveryDelayMillis > 0
+                ? config.clusterDiscoveryDelayMillis
+                : TarantoolClusterClientConfig.DEFAULT_CLUSTER_DISCOVERY_DELAY_MILLIS;
+            this.instancesDiscoveryExecutor.scheduleWithFixedDelay(
+                this.instancesDiscovererTask,
+                0,
+                delay,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    /**
+     * Creates a client of a single node.
+     * A subclass may override this to customize nodes.
+     *
+     * @param address node address
+     * @param config  configuration
+     *
+     * @return connected client
+     */
+    protected TarantoolClientImpl makeNode(String address, TarantoolClientConfig config) {
+        return new TarantoolClientImpl(new SingleSocketChannelProviderImpl(address), config);
+    }
+
+    /**
+     * Gets the clients of the nodes which receive requests.
+     *
+     * @return clients by the node addresses
+     */
+    public Map<String, TarantoolClientImpl> getNodes() {
+        Map<String, TarantoolClientImpl> clients = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            clients.put(node.address, node.client);
+        }
+        return Collections.unmodifiableMap(clients);
+    }
+
+    /**
+     * Runs the discovery at once instead of waiting for its next period.
+     */
+    public void refreshInstances() {
+        if (instancesDiscovererTask != null) {
+            instancesDiscovererTask.run();
+        }
+    }
+
+    /**
+     * Applies the fresh list of nodes. Connections to the kept nodes are not touched.
+     * New nodes are connected without holding the lock, so the client can be
+     * closed meanwhile.
+     *
+     * @param addresses addresses of all the nodes
+     */
+    protected void refreshNodes(Set<String> addresses) {
+        Set<String> known = new LinkedHashSet<>();
+        for (Node node : nodes) {
+            known.add(node.address);
+        }
+        Map<String, Node> added = new LinkedHashMap<>();
+        for (String address : addresses) {
+            if (known.contains(address) || closed) {
+                continue;
+            }
+            try {
+                added.put(address, new Node(address, makeNode(address, config), getWeight(address)));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to connect to node " + address + ", it is skipped until the next refresh", e);
+            }
+        }
+        synchronized (nodesLock) {
+            if (closed) {
+                for (Node node : added.values()) {
+                    node.client.close();
+                }
+                return;
+            }
+            List<Node> fresh = new ArrayList<>(addresses.size());
+            for (Node node : nodes) {
+                if (addresses.contains(node.address)) {
+                    fresh.add(node);
+                    // the node is connected by a concurrent refresh
+                    Node duplicate = added.remove(node.address);
+                    if (duplicate != null) {
+                        duplicate.client.close();
+                    }
+                } else {
+                    node.retiredAtNanos = System.nanoTime();
+                    retiredNodes.add(node);
+                    LOGGER.info("Node {0} is removed from the cluster", node.address);
+                }
+            }
+            for (Node node : added.values()) {
+                fresh.add(node);
+                LOGGER.info("Node {0} is added to the cluster", node.address);
+            }
+            nodes = fresh.toArray(new Node[0]);
+            closeRetiredNodes();
+            scheduleRetiredNodesCheck();
+        }
+    }
+
+    /**
+     * Closes the removed nodes which have no in-flight requests left
+     * or were removed longer than an operation may last. Called under
+     * {@link #nodesLock}.
+     */
+    private void closeRetiredNodes() {
+        long expiry = TimeUnit.MILLISECONDS.toNanos(config.operationExpiryTimeMillis);
+        retiredNodes.removeIf(node -> {
+            boolean expired = expiry > 0 && System.nanoTime() - node.retiredAtNanos >= expiry;
+            if (node.client.getPendingResponsesCount() == 0 || expired) {
+                // does not wait for the node threads to stop, so the timer thread is not blocked
+                node.client.close(new CommunicationException("Node " + node.address + " is removed from the cluster"));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Schedules {@link #closeRetiredNodes()} on the timeout timer while
+     * there are removed nodes left. The check is repeated every
+     * {@link TarantoolClientConfig#operationExpiryTimeMillis}. Called
+     * under {@link #nodesLock}.
+     */
+    private void scheduleRetiredNodesCheck() {
+        if (retiredNodes.isEmpty() || retiredNodesCheck != null || closed) {
+            return;
+        }
+        long period = config.operationExpiryTimeMillis > 0
+            ? config.operationExpiryTimeMillis
+            : TarantoolClientConfig.DEFAULT_OPERATION_EXPIRY_TIME_MILLIS;
+        try {
+            retiredNodesCheck = timeoutTimer.schedule(() -> {
+                synchronized (nodesLock) {
+                    retiredNodesCheck = null;
+                    if (!closed) {
+                        closeRetiredNodes();
+                        scheduleRetiredNodesCheck();
+                    }
+                }
+            }, period, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Unable to schedule closing of the removed nodes, they are closed by the next refresh", e);
+        }
+    }
+
+    private int getWeight(String address) {
+        Integer weight = config.weights.get(address);
+        return weight == null ? 1 : weight;
+    }
+
+    /**
+     * Chooses a node for the next request. Dead nodes are
+     * skipped unless all the nodes are dead.
+     *
+     * @return client of the node
+     *
+     * @throws CommunicationException if there are no nodes
+     */
+    protected TarantoolClientImpl nextNode() {
+        Node[] snapshot = nodes;
+        return snapshot[chooseNode(snapshot)].client;
+    }
+
+    /**
+     * Chooses a node of the snapshot for the next request.
+     *
+     * @param snapshot nodes which receive requests
+     *
+     * @return index of the node in the snapshot
+     *
+     * @throws CommunicationException if there are no nodes
+     */
+    private int chooseNode(Node[] snapshot) {
+        if (snapshot.length == 0) {
+            throw new CommunicationException("No nodes are available");
+        }
+        switch (config.balancing) {
+        case ROUND_ROBIN:
+            return nextRoundRobin(snapshot);
+        case WEIGHTED:
+            return nextWeighted(snapshot);
+        default:
+            return nextLeastInFlight(snapshot);
+        }
+    }
+
+    private int nextRoundRobin(Node[] snapshot) {
+        int start = Math.floorMod(nextRoundRobin.getAndIncrement(), snapshot.length);
+        for (int i = 0; i < snapshot.length; i++) {
+            int next = (start + i) % snapshot.length;
+            if (snapshot[next].client.isAlive()) {
+                return next;
+            }
+        }
+        return start;
+    }
+
+    private int nextWeighted(Node[] snapshot) {
+        long total = 0;
+        for (Node node : snapshot) {
+            if (node.client.isAlive()) {
+                total += node.weight;
+            }
+        }
+        if (total == 0) {
+            return ThreadLocalRandom.current().nextInt(snapshot.length);
+        }
+        long point = ThreadLocalRandom.current().nextLong(total);
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i].client.isAlive()) {
+                point -= snapshot[i].weight;
+                if (point < 0) {
+                    return i;
+                }
+            }
+        }
+        // a node has died while the point was being found
+        return nextLeastInFlight(snapshot);
+    }
+
+    private int nextLeastInFlight(Node[] snapshot) {
+        // a random start spreads requests among equally loaded nodes
+        int start = ThreadLocalRandom.current().nextInt(snapshot.length);
+        int best = start;
+        int bestInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < snapshot.length; i++) {
+            int next = (start + i) % snapshot.length;
+            TarantoolClientImpl client = snapshot[next].client;
+            if (client.isAlive()) {
+                int inFlight = client.getPendingResponsesCount();
+                if (inFlight < bestInFlight) {
+                    best = next;
+                    bestInFlight = inFlight;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps() {
+        return syncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps() {
+        return asyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps() {
+        return composableAsyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps() {
+        return fireAndForgetOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps(RequestPriority priority) {
+        return new BalancedOps<>(client -> client.syncOps(priority));
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps(
+        RequestPriority priority) {
+        return new BalancedOps<>(client -> client.composableAsyncOps(priority));
+    }
+
+    @Override
+    public TarantoolBatch batch() {
+        return nextNode().batch();
+    }
+
+    /**
+     * Creates a batch of the node chosen for the next request.
+     * All the requests of the batch are sent to that node.
+     */
+    @Override
+    public TarantoolBatch batch(RequestPriority priority) {
+        return nextNode().batch(priority);
+    }
+
+    /**
+     * Scans the index with selects spread over all the nodes,
+     * so the nodes must hold the same data.
+     */
+    @Override
+    public Stream<List<?>> scan(int space, int index) {
+        return SpaceScanSpliterator.stream(this, space, index);
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, R> syncOps(ResultMapper<R> mapper) {
+        return new BalancedOps<>(client -> client.syncOps(mapper));
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, Future<R>> asyncOps(ResultMapper<R> mapper) {
+        return new BalancedOps<>(client -> client.asyncOps(mapper));
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<R>> composableAsyncOps(
+        ResultMapper<R> mapper) {
+        return new BalancedOps<>(client -> client.composableAsyncOps(mapper));
+    }
+
+    @Override
+    public <T> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<Long>> streamingOps(
+        TupleMapper<T> mapper,
+        Consumer<? super T> consumer) {
+        return new BalancedOps<>(client -> client.streamingOps(mapper, consumer));
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
+        return new TarantoolSQLOps<Object, Long, List<Map<String, Object>>>() {
+            @Override
+            public Long update(String sql, Object... bind) {
+                return nextNode().sqlSyncOps().update(sql, bind);
+            }
+
+            @Override
+            public List<Map<String, Object>> query(String sql, Object... bind) {
+                return nextNode().sqlSyncOps().query(sql, bind);
+            }
+        };
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> sqlAsyncOps() {
+        return new TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>>() {
+            @Override
+            public Future<Long> update(String sql, Object... bind) {
+                return nextNode().sqlAsyncOps().update(sql, bind);
+            }
+
+            @Override
+            public Future<List<Map<String, Object>>> query(String sql, Object... bind) {
+                return nextNode().sqlAsyncOps().query(sql, bind);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        synchronized (nodesLock) {
+            closed = true;
+            if (instancesDiscoveryExecutor != null) {
+                instancesDiscoveryExecutor.shutdownNow();
+            }
+            if (retiredNodesCheck != null) {
+                retiredNodesCheck.cancel();
+                retiredNodesCheck = null;
+            }
+            for (Node node : nodes) {
+                node.client.close();
+            }
+            for (Node node : retiredNodes) {
+                node.client.close();
+            }
+            retiredNodes.clear();
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        for (Node node : nodes) {
+            if (node.client.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Waits until all the connected nodes are alive.
+     */
+    @Override
+    public void waitAlive() throws InterruptedException {
+        for (Node node : nodes) {
+            node.client.waitAlive();
+        }
+    }
+
+    /**
+     * Waits until all the connected nodes are alive.
+     */
+    @Override
+    public boolean waitAlive(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Node node : nodes) {
+            long remaining = deadline - System.nanoTime();
+            if (!node.client.waitAlive(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Runnable createDiscoveryTask(TarantoolClusterDiscoverer serviceDiscoverer) {
+        return new Runnable() {
+            @Override
+            public synchronized void run() {
+                try {
+                    Set<String> freshInstances = serviceDiscoverer.getInstances();
+                    // the same list is applied too to retry the nodes which were not connected
+                    if (!freshInstances.isEmpty()) {
+                        refreshNodes(freshInstances);
+                    }
+                } catch (Exception e) {
+                    LOGGER.warn("Unable to refresh the cluster nodes", e);
+                }
+            }
+        };
+    }
+
+    private static final class Node {
+
+        private final String address;
+        private final TarantoolClientImpl client;
+        private final int weight;
+
+        /**
+         * Time the node is removed from the cluster. It is
+         * accessed under {@link #nodesLock} only.
+         */
+        private long retiredAtNanos;
+
+        Node(String address, TarantoolClientImpl client, int weight) {
+            this.address = address;
+            this.client = client;
+            this.weight = weight;
+        }
+
+    }
+
+    /**
+     * Operations views of the nodes of a {@link #nodes} snapshot.
+     */
+    private static final class NodeViews<R> {
+
+        private final Node[] nodes;
+        private final List<TarantoolClientOps<Integer, List<?>, Object, R>> ops;
+
+        NodeViews(Node[] nodes, Function<TarantoolClient, TarantoolClientOps<Integer, List<?>, Object, R>> factory) {
+            this.nodes = nodes;
+            this.ops = new ArrayList<>(nodes.length);
+            for (Node node : nodes) {
+                ops.add(factory.apply(node.client));
+            }
+        }
+
+    }
+
+    /**
+     * Sends each operation through the operations view
+     * of the node chosen for the request. The views are
+     * created again only when the nodes change.
+     */
+    protected class BalancedOps<R> implements TarantoolClientOps<Integer, List<?>, Object, R> {
+
+        private final Function<TarantoolClient, TarantoolClientOps<Integer, List<?>, Object, R>> factory;
+        private volatile NodeViews<R> views;
+
+        public BalancedOps(Function<TarantoolClient, TarantoolClientOps<Integer, List<?>, Object, R>> factory) {
+            this.factory = factory;
+        }
+
+        private TarantoolClientOps<Integer, List<?>, Object, R> next() {
+            Node[] snapshot = nodes;
+            NodeViews<R> current = views;
+            if (current == null || current.nodes != snapshot) {
+                current = new NodeViews<>(snapshot, factory);
+                views = current;
+            }
+            return current.ops.get(chooseNode(snapshot));
+        }
+
+        @Override
+        public R select(Integer space, Integer index, List<?> key, int offset, int limit, int iterator) {
+            return next().select(space, index, key, offset, limit, iterator);
+        }
+
+        @Override
+        public R select(Integer space, Integer index, List<?> key, int offset, int limit, Iterator iterator) {
+            return next().select(space, index, key, offset, limit, iterator);
+        }
+
+        @Override
+        public R insert(Integer space, List<?> tuple) {
+            return next().insert(space, tuple);
+        }
+
+        @Override
+        public R replace(Integer space, List<?> tuple) {
+            return next().replace(space, tuple);
+        }
+
+        @Override
+        public R update(Integer space, List<?> key, Object... tuple) {
+            return next().update(space, key, tuple);
+        }
+
+        @Override
+        public R upsert(Integer space, List<?> key, List<?> defTuple, Object... ops) {
+            return next().upsert(space, key, defTuple, ops);
+        }
+
+        @Override
+        public R delete(Integer space, List<?> key) {
+            return next().delete(space, key);
+        }
+
+        @Override
+        public R call(String function, Object... args) {
+            return next().call(function, args);
+        }
+
+        @Override
+        public R eval(String expression, Object... args) {
+            return next().eval(expression, args);
+        }
+
+        @Override
+        public void ping() {
+            next().ping();
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+}
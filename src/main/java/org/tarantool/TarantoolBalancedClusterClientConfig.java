@@ -0,0 +1,45 @@
+package org.tarantool;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Configuration for the {@link TarantoolBalancedClusterClient}.
+ */
+public class TarantoolBalancedClusterClientConfig extends TarantoolClusterClientConfig {
+
+    /**
+     * Defines how a node is chosen for a request.
+     */
+    public enum Balancing {
+
+        /**
+         * Requests go through the alive nodes in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * A request goes through the alive node
+         * which has the least number of in-flight requests.
+         */
+        LEAST_IN_FLIGHT,
+
+        /**
+         * A request goes through a random alive node
+         * with a probability proportional to the node weight.
+         *
+         * @see #weights
+         */
+        WEIGHTED
+
+    }
+
+    public Balancing balancing = Balancing.LEAST_IN_FLIGHT;
+
+    /**
+     * Weights of the nodes by their addresses in the form of
+     * host[:port]. Nodes which are not listed get the weight of {@code 1}.
+     */
+    public Map<String, Integer> weights = Collections.emptyMap();
+
+}
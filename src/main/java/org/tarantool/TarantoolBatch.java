@@ -0,0 +1,109 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Collects independent operations and sends their requests together.
+ *
+ * <p>
+ * Each added operation returns its own stage at once, but nothing is
+ * sent until {@link #submit()} is called. On submission the requests
+ * are encoded one after another in a single pass and published into
+ * the request ring in chunks of consecutive slots, so the writer is
+ * signalled once per chunk instead of once per request. A chunk does
+ * not exceed the size of a single write batch, which lets requests of
+ * other callers get in between the chunks of a large batch.
+ *
+ * <p>
+ * Operation timeouts start on submission. The batch is not thread-safe
+ * and can be submitted only once.
+ *
+ * <pre>{@code
+ * TarantoolBatch batch = client.batch(RequestPriority.BULK);
+ * for (List<?> tuple : tuples) {
+ *     batch.insert(spaceId, tuple);
+ * }
+ * batch.submit().toCompletableFuture().join();
+ * }</pre>
+ *
+ * @see TarantoolClient#batch(RequestPriority)
+ */
+public class TarantoolBatch extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+    private final TarantoolClientImpl client;
+    private final RequestPriority priority;
+    private final List<TarantoolClientImpl.TarantoolOp<?>> operations = new ArrayList<>();
+
+    private boolean submitted;
+
+    public TarantoolBatch(TarantoolClientImpl client, RequestPriority priority) {
+        this.client = client;
+        this.priority = priority;
+    }
+
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets number of the added operations.
+     *
+     * @return batch size
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Adds an operation to the batch.
+     *
+     * @return stage of the operation completed once the batch is submitted
+     *     and the response is received
+     *
+     * @throws IllegalStateException if the batch is already submitted
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected CompletionStage<List<?>> exec(Code code, Object... args) {
+        if (submitted) {
+            throw new IllegalStateException("Batch is already submitted");
+        }
+        TarantoolClientImpl.TarantoolOp<?> operation = client.makeBatchOperation(priority, code, args);
+        operations.add(operation);
+        return (CompletionStage<List<?>>) operation;
+    }
+
+    /**
+     * Sends the requests of all the added operations.
+     *
+     * @return stage completed with the results in the order the operations
+     *     are added once all of them succeed, or exceptionally once all of
+     *     them are completed and any one fails
+     *
+     * @throws IllegalStateException if the batch is already submitted
+     */
+    public CompletionStage<List<List<?>>> submit() {
+        if (submitted) {
+            throw new IllegalStateException("Batch is already submitted");
+        }
+        submitted = true;
+        client.submitBatch(operations);
+        return CompletableFuture.allOf(operations.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<List<?>> results = new ArrayList<>(operations.size());
+                for (TarantoolClientImpl.TarantoolOp<?> operation : operations) {
+                    results.add((List<?>) operation.join());
+                }
+                return results;
+            });
+    }
+
+    @Override
+    public void close() {
+        throw new IllegalStateException("You should close TarantoolClient instead.");
+    }
+
+}
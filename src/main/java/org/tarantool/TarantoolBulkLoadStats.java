@@ -0,0 +1,105 @@
+package org.tarantool;
+
+import org.tarantool.util.LatencyHistogram;
+
+/**
+ * Snapshot of the progress of a bulk load.
+ *
+ * @see TarantoolBulkLoader
+ */
+public class TarantoolBulkLoadStats {
+
+    private final long loaded;
+    private final long failed;
+    private final long retried;
+    private final long inFlight;
+    private final long elapsedMillis;
+    private final LatencyHistogram latencies;
+
+    public TarantoolBulkLoadStats(long loaded,
+                                  long failed,
+                                  long retried,
+                                  long inFlight,
+                                  long elapsedMillis,
+                                  LatencyHistogram latencies) {
+        this.loaded = loaded;
+        this.failed = failed;
+        this.retried = retried;
+        this.inFlight = inFlight;
+        this.elapsedMillis = elapsedMillis;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Gets number of the tuples which are loaded successfully.
+     *
+     * @return loaded tuples
+     */
+    public long getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Gets number of the tuples which are failed to load
+     * after all the retries.
+     *
+     * @return failed tuples
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets number of the requests which are sent again.
+     *
+     * @return retries
+     */
+    public long getRetried() {
+        return retried;
+    }
+
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the rate of the completed tuples, both loaded and failed.
+     *
+     * @return tuples per second
+     */
+    public double getThroughput() {
+        return elapsedMillis == 0 ? 0 : (loaded + failed) * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Gets the latency of a request below or at which the percentage
+     * of the requests fall. A retried request counts once per attempt.
+     *
+     * @param percentile percentage from {@code 0} to {@code 100}
+     *
+     * @return latency in microseconds
+     */
+    public long getLatencyMicros(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return "TarantoolBulkLoadStats{" +
+            "loaded=" + loaded +
+            ", failed=" + failed +
+            ", retried=" + retried +
+            ", inFlight=" + inFlight +
+            ", elapsedMillis=" + elapsedMillis +
+            ", throughput=" + Math.round(getThroughput()) +
+            ", p50=" + getLatencyMicros(50) + "us" +
+            ", p99=" + getLatencyMicros(99) + "us" +
+            ", p999=" + getLatencyMicros(99.9) + "us" +
+            '}';
+    }
+
+}
@@ -0,0 +1,333 @@
+package org.tarantool;
+
+import org.tarantool.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Loads tuples into a space keeping a bounded window of in-flight requests.
+ *
+ * <p>
+ * The loading thread sends a request per tuple as long as the number of
+ * unanswered requests is below {@link TarantoolBulkLoaderConfig#maxInFlightRequests}
+ * and waits for a response otherwise, so the pipelined connection is kept
+ * busy while the memory held by the requests stays bounded. Requests failed
+ * with transient errors, like a read-only or a loading instance or an
+ * exceeded in-flight limit of the client, are sent again after a growing
+ * delay. Requests failed by a broken connection are sent again only if they
+ * are idempotent, see {@link TarantoolBulkLoaderConfig#retryNonIdempotentRequests}.
+ * Tuples which are not loaded are passed to the failure handler along with
+ * their errors.
+ *
+ * <p>
+ * Given several clients, every request goes through the one which has
+ * the least number of in-flight requests of the loader, so the load is
+ * spread across their connections.
+ *
+ * <pre>{@code
+ * TarantoolBulkLoaderConfig config = new TarantoolBulkLoaderConfig();
+ * config.operation = TarantoolBulkLoaderConfig.Operation.REPLACE;
+ * config.progressListener = stats -> LOGGER.info(stats.toString());
+ * TarantoolBulkLoadStats stats = new TarantoolBulkLoader(config, client).load(spaceId, tuples);
+ * }</pre>
+ */
+public class TarantoolBulkLoader {
+
+    /**
+     * Limit of the growing delay between retries.
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final TarantoolBulkLoaderConfig config;
+    private final List<TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>>> targets;
+    private final AtomicIntegerArray targetsInFlight;
+    private final HashedWheelTimer retryTimer;
+    private final Object[] upsertOperations;
+    private final boolean idempotent;
+
+    /**
+     * Creates a loader sending requests through the clients.
+     *
+     * @param config  loader config
+     * @param clients clients to spread the load across
+     */
+    public TarantoolBulkLoader(TarantoolBulkLoaderConfig config, TarantoolClient... clients) {
+        this(config, getOps(config, clients));
+    }
+
+    /**
+     * Creates a loader sending requests through the operations.
+     *
+     * @param config  loader config
+     * @param targets operations to spread the load across
+     */
+    public TarantoolBulkLoader(TarantoolBulkLoaderConfig config,
+                               List<TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>>> targets) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one client is required");
+        }
+        if (config.maxInFlightRequests < 1) {
+            throw new IllegalArgumentException("Max in-flight requests must be positive");
+        }
+        if (config.maxRetries < 0 || config.retryDelayMillis < 0) {
+            throw new IllegalArgumentException("Retries cannot be negative");
+        }
+        this.config = config;
+        this.targets = new ArrayList<>(targets);
+        this.targetsInFlight = new AtomicIntegerArray(targets.size());
+        this.retryTimer = config.retryTimer != null
+            ? config.retryTimer
+            : TarantoolClientImpl.TarantoolOp.TimeoutScheduler.TIMER;
+        this.upsertOperations = config.upsertOperations.toArray();
+        this.idempotent = isIdempotent(config);
+    }
+
+    /**
+     * Checks whether a request applied twice has the same effect as
+     * a single one. It is so for replaces only: a repeated upsert applies
+     * its operations to the tuple inserted by the first one.
+     */
+    private static boolean isIdempotent(TarantoolBulkLoaderConfig config) {
+        return config.operation == TarantoolBulkLoaderConfig.Operation.REPLACE;
+    }
+
+    private static List<TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>>> getOps(
+        TarantoolBulkLoaderConfig config,
+        TarantoolClient... clients) {
+        List<TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>>> ops = new ArrayList<>();
+        for (TarantoolClient client : clients) {
+            ops.add(client.composableAsyncOps(config.priority));
+        }
+        return ops;
+    }
+
+    /**
+     * Loads the tuples and waits until all of them are either
+     * loaded or failed.
+     *
+     * @param space  space id
+     * @param tuples tuples to load
+     *
+     * @return final stats of the load
+     *
+     * @throws InterruptedException if the loading thread is interrupted;
+     *                              the requests already sent are not cancelled
+     */
+    public TarantoolBulkLoadStats load(int space, Stream<? extends List<?>> tuples) throws InterruptedException {
+        return load(space, tuples.iterator());
+    }
+
+    /**
+     * Loads the tuples and waits until all of them are either
+     * loaded or failed.
+     *
+     * @param space  space id
+     * @param tuples tuples to load
+     *
+     * @return final stats of the load
+     *
+     * @throws InterruptedException if the loading thread is interrupted;
+     *                              the requests already sent are not cancelled
+     */
+    public TarantoolBulkLoadStats load(int space, java.util.Iterator<? extends List<?>> tuples)
+        throws InterruptedException {
+        Load load = new Load(space);
+        long reportInterval = TimeUnit.MILLISECONDS.toNanos(config.progressIntervalMillis);
+        long nextReport = load.start + reportInterval;
+        while (tuples.hasNext()) {
+            List<?> tuple = tuples.next();
+            load.window.acquire();
+            load.send(tuple, 0);
+            if (config.progressListener != null && System.nanoTime() - nextReport >= 0) {
+                nextReport = System.nanoTime() + reportInterval;
+                config.progressListener.accept(load.getStats());
+            }
+        }
+        load.window.acquire(config.maxInFlightRequests);
+        load.window.release(config.maxInFlightRequests);
+        return load.getStats();
+    }
+
+    /**
+     * Chooses the target which has the least number of in-flight requests.
+     *
+     * @return index of the target
+     */
+    private int chooseTarget() {
+        int chosen = 0;
+        int least = Integer.MAX_VALUE;
+        for (int i = 0; i < targetsInFlight.length(); i++) {
+            int inFlight = targetsInFlight.get(i);
+            if (inFlight < least) {
+                least = inFlight;
+                chosen = i;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Checks whether the request may succeed if it is sent again.
+     *
+     * @param e error of the request
+     *
+     * @return {@code true} if the request should be retried
+     */
+    protected boolean isTransientError(Exception e) {
+        if (e instanceof RejectedExecutionException) {
+            return true;
+        }
+        if (e instanceof CommunicationException) {
+            // the request may have been applied before the connection broke
+            return idempotent || config.retryNonIdempotentRequests;
+        }
+        if (e instanceof TarantoolException) {
+            return ((TarantoolException) e).isTransient();
+        }
+        return false;
+    }
+
+    private CompletionStage<List<?>> request(TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops,
+                                             int space,
+                                             List<?> tuple) {
+        switch (config.operation) {
+        case REPLACE:
+            return ops.replace(space, tuple);
+        case UPSERT:
+            return ops.upsert(space, Collections.emptyList(), tuple, upsertOperations);
+        default:
+            return ops.insert(space, tuple);
+        }
+    }
+
+    /**
+     * State of a single load. Each tuple holds a permit of the window
+     * from the moment it is sent until it is either loaded or failed.
+     */
+    private class Load {
+
+        private final int space;
+        private final long start = System.nanoTime();
+        private final Semaphore window = new Semaphore(config.maxInFlightRequests);
+
+        private final LongAdder loaded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder retried = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        Load(int space) {
+            this.space = space;
+        }
+
+        void send(List<?> tuple, int attempt) {
+            int target = chooseTarget();
+            targetsInFlight.incrementAndGet(target);
+            long sent = System.nanoTime();
+            CompletionStage<List<?>> result;
+            try {
+                result = request(targets.get(target), space, tuple);
+            } catch (RuntimeException e) {
+                CompletableFuture<List<?>> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(e);
+                result = rejected;
+            }
+            result.whenComplete((ignored, error) -> {
+                targetsInFlight.decrementAndGet(target);
+                latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent));
+                if (error == null) {
+                    loaded.increment();
+                    window.release();
+                } else {
+                    onError(tuple, attempt, unwrap(error));
+                }
+            });
+        }
+
+        private void onError(List<?> tuple, int attempt, Exception error) {
+            if (attempt < config.maxRetries && isTransientError(error)) {
+                try {
+                    retryTimer.schedule(
+                        () -> resend(tuple, attempt + 1),
+                        getRetryDelay(attempt),
+                        TimeUnit.MILLISECONDS
+                    );
+                    retried.increment();
+                } catch (RuntimeException e) {
+                    // the timer is closed
+                    e.addSuppressed(error);
+                    fail(tuple, e);
+                }
+                return;
+            }
+            fail(tuple, error);
+        }
+
+        /**
+         * Sends the request again by a pool thread, because the
+         * timer thread must not block. The tuple is failed if the
+         * request cannot be sent.
+         */
+        private void resend(List<?> tuple, int attempt) {
+            try {
+                CompletableFuture.runAsync(() -> send(tuple, attempt)).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        fail(tuple, unwrap(error));
+                    }
+                });
+            } catch (RuntimeException e) {
+                fail(tuple, e);
+            }
+        }
+
+        private long getRetryDelay(int attempt) {
+            long delay = Math.min(config.retryDelayMillis, MAX_RETRY_DELAY_MILLIS);
+            // the delay saturates instead of overflowing on shifts
+            return attempt < Long.numberOfLeadingZeros(delay) - 1
+                ? Math.min(delay << attempt, MAX_RETRY_DELAY_MILLIS)
+                : MAX_RETRY_DELAY_MILLIS;
+        }
+
+        private void fail(List<?> tuple, Exception error) {
+            failed.increment();
+            try {
+                if (config.failureHandler != null) {
+                    config.failureHandler.accept(tuple, error);
+                }
+            } finally {
+                window.release();
+            }
+        }
+
+        private Exception unwrap(Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+            return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+        }
+
+        TarantoolBulkLoadStats getStats() {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new TarantoolBulkLoadStats(
+                loaded.sum(),
+                failed.sum(),
+                retried.sum(),
+                Math.max(0, config.maxInFlightRequests - window.availablePermits()),
+                elapsed,
+                latencies.copy()
+            );
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.tarantool;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Configuration for the {@link TarantoolBulkLoader}.
+ */
+public class TarantoolBulkLoaderConfig {
+
+    /**
+     * Request sent for each tuple.
+     */
+    public enum Operation {
+        INSERT,
+        REPLACE,
+        UPSERT
+    }
+
+    public Operation operation = Operation.INSERT;
+
+    /**
+     * Update operations of upserts, the same for all the tuples.
+     */
+    public List<?> upsertOperations = Collections.emptyList();
+
+    /**
+     * Priority of the requests.
+     *
+     * @see TarantoolClientConfig#priorityLanes
+     */
+    public RequestPriority priority = RequestPriority.BULK;
+
+    /**
+     * Max number of requests sent but not answered yet,
+     * including the ones waiting for a retry.
+     */
+    public int maxInFlightRequests = 1000;
+
+    /**
+     * Max number of times a request failed with a transient
+     * error is sent again. {@code 0} disables retries.
+     */
+    public int maxRetries = 3;
+
+    /**
+     * Delay before the first retry. Each next one is twice longer,
+     * up to an hour.
+     */
+    public long retryDelayMillis = 100;
+
+    /**
+     * Whether requests failed by a broken connection are sent again even if
+     * they are not idempotent, that is inserts and upserts. Such a request
+     * may have been applied before the connection broke, so a retried insert
+     * fails with a duplicate key error and a retried upsert applies its
+     * operations to the tuple inserted by the first one. Replaces are always
+     * retried.
+     */
+    public boolean retryNonIdempotentRequests = false;
+
+    /**
+     * Timer which delays retries. {@code null} means the
+     * timer shared by all the clients of the JVM.
+     */
+    public HashedWheelTimer retryTimer;
+
+    /**
+     * Receives each tuple which is not loaded along with the error.
+     * It is called by the thread completing the request, so it should
+     * not block. Failed tuples are only counted if it is {@code null}.
+     */
+    public BiConsumer<List<?>, Exception> failureHandler;
+
+    /**
+     * Receives the stats of the running load every
+     * {@link #progressIntervalMillis}. It is called by the loading thread.
+     */
+    public Consumer<TarantoolBulkLoadStats> progressListener;
+
+    public long progressIntervalMillis = 10_000;
+
+}
@@ -5,6 +5,8 @@ import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface TarantoolClient {
     TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps();
@@ -15,6 +17,144 @@ public interface TarantoolClient {
 
     TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps();
 
+    /**
+     * Gets sync operations whose requests are sent with the priority.
+     * By default, the priority is ignored by clients which do not
+     * support priorities.
+     *
+     * @param priority request priority
+     *
+     * @return operations view bound to the priority
+     *
+     * @see TarantoolClientConfig#priorityLanes
+     */
+    default TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps(RequestPriority priority) {
+        return syncOps();
+    }
+
+    /**
+     * Gets composable async operations whose requests are sent with the priority.
+     * By default, the priority is ignored by clients which do not
+     * support priorities.
+     *
+     * @param priority request priority
+     *
+     * @return operations view bound to the priority
+     *
+     * @see TarantoolClientConfig#priorityLanes
+     */
+    default TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps(
+        RequestPriority priority) {
+        return composableAsyncOps();
+    }
+
+    /**
+     * Creates a batch of operations with the interactive priority.
+     *
+     * @return new batch
+     *
+     * @see #batch(RequestPriority)
+     */
+    default TarantoolBatch batch() {
+        return batch(RequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * Creates a batch of operations whose requests are sent together
+     * once the batch is submitted.
+     *
+     * @param priority priority of the requests
+     *
+     * @return new batch
+     *
+     * @throws UnsupportedOperationException if the client does not support batches
+     */
+    default TarantoolBatch batch(RequestPriority priority) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support batches");
+    }
+
+    /**
+     * Gets a stream of all the tuples of the index. Tuples are selected
+     * page by page and the stream turned into a parallel one scans
+     * ranges of the index by concurrent selects.
+     *
+     * @param space space id
+     * @param index index id
+     *
+     * @return sequential stream of the tuples
+     *
+     * @throws IllegalArgumentException if the index is not found or is not unique
+     * @see SpaceScanSpliterator
+     */
+    default Stream<List<?>> scan(int space, int index) {
+        return SpaceScanSpliterator.stream(this, space, index);
+    }
+
+    /**
+     * Gets sync operations which decode results using the mapper.
+     *
+     * @param mapper result mapper
+     * @param <R>    type of the result
+     *
+     * @return operations view bound to the mapper
+     *
+     * @throws UnsupportedOperationException if the client does not support result mappers
+     */
+    default <R> TarantoolClientOps<Integer, List<?>, Object, R> syncOps(ResultMapper<R> mapper) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support result mappers");
+    }
+
+    /**
+     * Gets async operations which decode results using the mapper.
+     *
+     * @param mapper result mapper
+     * @param <R>    type of the result
+     *
+     * @return operations view bound to the mapper
+     *
+     * @throws UnsupportedOperationException if the client does not support result mappers
+     */
+    default <R> TarantoolClientOps<Integer, List<?>, Object, Future<R>> asyncOps(ResultMapper<R> mapper) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support result mappers");
+    }
+
+    /**
+     * Gets composable async operations which decode results using the mapper.
+     *
+     * @param mapper result mapper
+     * @param <R>    type of the result
+     *
+     * @return operations view bound to the mapper
+     *
+     * @throws UnsupportedOperationException if the client does not support result mappers
+     */
+    default <R> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<R>> composableAsyncOps(
+        ResultMapper<R> mapper) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support result mappers");
+    }
+
+    /**
+     * Gets operations which pass tuples of a response to the consumer
+     * as soon as they are received, before the whole response arrives.
+     * The consumer is called by the reader thread, so it should not block.
+     * The operation result is the number of consumed tuples.
+     * Objects backed by the received bytes, like {@link TarantoolTuple},
+     * must not be retained after the consumer returns.
+     *
+     * @param mapper   tuple mapper
+     * @param consumer tuple consumer
+     * @param <T>      type of the tuple object
+     *
+     * @return operations view bound to the consumer
+     *
+     * @throws UnsupportedOperationException if the client does not support streaming
+     */
+    default <T> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<Long>> streamingOps(
+        TupleMapper<T> mapper,
+        Consumer<? super T> consumer) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support streaming");
+    }
+
     TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps();
 
     TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> sqlAsyncOps();
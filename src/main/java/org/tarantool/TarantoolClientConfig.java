@@ -1,5 +1,9 @@
 package org.tarantool;
 
+import org.tarantool.protocol.ByteBufferPool;
+
+import java.util.concurrent.Executor;
+
 public class TarantoolClientConfig {
 
     public static final int DEFAULT_OPERATION_EXPIRY_TIME_MILLIS = 1000;
@@ -17,25 +21,141 @@ public class TarantoolClientConfig {
 
     /**
      * Initial capacity for the map which holds futures of sent request.
+     *
+     * @deprecated the map grows and shrinks with the number
+     *     of in-flight requests, so the capacity is not used anymore
      */
+    @Deprecated
     public int predictedFutures = (int) ((1024 * 1024) / 0.75) + 1;
 
     public int writerThreadPriority = Thread.NORM_PRIORITY;
     public int readerThreadPriority = Thread.NORM_PRIORITY;
 
     /**
-     * Shared buffer size (place where client collects requests
-     * when socket is busy on write).
+     * Shared buffer size.
+     *
+     * @deprecated requests are sent straight from the request ring
+     *     by gathering writes, so the buffer is not used anymore
      */
+    @Deprecated
     public int sharedBufferSize = 8 * 1024 * 1024;
 
+    /**
+     * Number of slots in the ring which passes encoded requests
+     * to the writer thread. Callers wait for a free slot when all
+     * of them are occupied. The size is rounded up to a power of two.
+     *
+     * @see RequestRing
+     */
+    public int requestRingSize = 4096;
+
+    /**
+     * Whether the slot writers of the request rings start with direct
+     * buffers of {@link #defaultRequestSize} bytes. A slot allocates its
+     * buffer when it is used first, so a lane may hold up to
+     * {@code requestRingSize * defaultRequestSize} bytes of direct memory,
+     * 16 MB by default. Larger requests continue in heap buffers.
+     */
+    public boolean directRequestBuffers = true;
+
+    /**
+     * Max capacity a slot writer of the request ring keeps after it
+     * encodes a request larger than {@link #defaultRequestSize}, so later
+     * large requests reuse the heap buffers instead of allocating them again.
+     */
+    public int retainedRequestSize = 16 * 1024;
+
+    /**
+     * Queue requests of each {@link RequestPriority} in a separate
+     * request ring, or lane, of {@link #requestRingSize} slots, so the
+     * writer sends pings and interactive requests ahead of bulk ones.
+     *
+     * @see RequestLanes
+     */
+    public boolean priorityLanes = false;
+
+    /**
+     * Max numbers of batches the writer sends in a row from the lanes of
+     * {@link RequestPriority#CONTROL}, {@link RequestPriority#INTERACTIVE}
+     * and {@link RequestPriority#BULK} while lower lanes have requests.
+     * A higher lane is always checked first, and the weights only keep lower
+     * lanes from starving. Used when {@link #priorityLanes} is enabled.
+     */
+    public int[] priorityLaneWeights = { 16, 4, 1 };
+
+    /**
+     * The way callers wait for a free slot of the request ring.
+     */
+    public WaitStrategy producerWaitStrategy = WaitStrategy.BLOCKING;
+
+    /**
+     * The way the writer thread waits for new requests.
+     */
+    public WaitStrategy writerWaitStrategy = WaitStrategy.BLOCKING;
+
+    /**
+     * Max time in microseconds the writer thread may hold a batch
+     * of requests waiting for more ones to send them by a single write.
+     * The writer does not wait when the observed request rate is too low
+     * to fill the batch in time. {@code 0} disables the waiting.
+     *
+     * @see WriteCoalescer
+     */
+    public long writeCoalescingBudgetMicros = 0;
+
+    /**
+     * Size in bytes which makes the writer thread send a batch at once.
+     */
+    public int writeCoalescingMaxBytes = 256 * 1024;
+
+    /**
+     * Number of requests which makes the writer thread send a batch at once.
+     */
+    public int writeCoalescingMaxRequests = 512;
+
+    /**
+     * Perform I/O of the connection on a single selector-based
+     * event loop thread instead of dedicated reader and writer threads.
+     *
+     * @see EventLoop
+     */
+    public boolean useEventLoop = false;
+
+    /**
+     * Group of event loops shared with other clients. When it is set,
+     * the client performs I/O on a loop of the group regardless of
+     * {@link #useEventLoop} and never closes the group.
+     */
+    public EventLoopGroup eventLoopGroup;
+
+    /**
+     * Receive buffer size. The reader thread decodes all the responses
+     * received by one read from the buffer. Responses which do not fit
+     * the buffer are accommodated in a temporary pooled buffer.
+     */
+    public int receiveBufferSize = 64 * 1024;
+
+    /**
+     * Allocate the receive buffers outside of the java heap.
+     */
+    public boolean directReceiveBuffer = false;
+
+    /**
+     * Pool of the temporary buffers which accommodate large responses
+     * and unsent requests. It may be shared by several clients and its
+     * total capacity is bounded. {@code null} means the pools shared by
+     * all the clients of the JVM, a heap and a direct one.
+     */
+    public ByteBufferPool overflowBufferPool;
+
     /**
      * Factor to calculate a threshold whether request will be accommodated
      * in the shared buffer.
-     * <p>
-     * if request size exceeds <code>directWriteFactor * sharedBufferSize</code>
-     * request is sent directly.
+     *
+     * @deprecated requests of any size are sent the same way
+     *     by gathering writes, so the factor is not used anymore
      */
+    @Deprecated
     public double directWriteFactor = 0.5d;
 
     /**
@@ -43,6 +163,24 @@ public class TarantoolClientConfig {
      */
     public long writeTimeoutMillis = 60 * 1000L;
 
+    /**
+     * Max number of requests waiting for their responses. Requests over
+     * the limit are rejected at once instead of waiting for a free slot.
+     * {@code 0} means no limit.
+     *
+     * @see InFlightLimiter
+     */
+    public int maxInFlightRequests = 0;
+
+    /**
+     * Max total size in bytes of requests waiting for their responses.
+     * Fire-and-forget requests are not accounted.
+     * {@code 0} means no limit.
+     *
+     * @see InFlightLimiter
+     */
+    public long maxInFlightBytes = 0;
+
     /**
      * Use new call method instead of obsolete
      * {@code call_16} which used to work in Tarantool v1.6.
@@ -76,4 +214,38 @@ public class TarantoolClientConfig {
      */
     public int operationExpiryTimeMillis = DEFAULT_OPERATION_EXPIRY_TIME_MILLIS;
 
+    /**
+     * Timer which runs operation timeouts. It may be shared by several
+     * clients and is never closed by them. {@code null} means the timer
+     * shared by all the clients of the JVM.
+     */
+    public HashedWheelTimer timeoutTimer;
+
+    /**
+     * Return data of the responses as lists which decode tuples
+     * when they are accessed instead of on the reader thread.
+     *
+     * @see org.tarantool.protocol.LazyTarantoolPacket
+     */
+    public boolean lazyDecoding = false;
+
+    /**
+     * Executor which completes operations with their responses instead
+     * of the reader thread, so callbacks attached to the operations
+     * cannot stall other responses. Operations which have no dependent
+     * actions when their responses arrive are still completed by the
+     * reader thread. {@code null} means the reader thread completes
+     * all the operations.
+     *
+     * @see StripedExecutor
+     */
+    public Executor completionExecutor;
+
+    /**
+     * Number of stripes of the {@link #completionExecutor}. Responses are
+     * assigned to stripes by their sync ids, and each stripe completes its
+     * operations in order. {@code 0} means one stripe per available processor.
+     */
+    public int completionExecutorStripes = 0;
+
 }
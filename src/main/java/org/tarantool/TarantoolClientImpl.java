@@ -2,38 +2,51 @@ package org.tarantool;
 
 import org.tarantool.logging.Logger;
 import org.tarantool.logging.LoggerFactory;
+import org.tarantool.protocol.ByteBufferPool;
 import org.tarantool.protocol.ProtoUtils;
 import org.tarantool.protocol.ReadableViaSelectorChannel;
+import org.tarantool.protocol.TarantoolFrameDecoder;
 import org.tarantool.protocol.TarantoolGreeting;
 import org.tarantool.protocol.TarantoolPacket;
+import org.tarantool.util.ConcurrentLongMap;
 import org.tarantool.util.StringUtils;
 
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements TarantoolClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TarantoolClientImpl.class);
 
+    /**
+     * Number of ring slots claimed by the first chunk of a batch
+     * before the sizes of its requests are known.
+     */
+    private static final int FIRST_BATCH_CHUNK_SIZE = 16;
+
     protected TarantoolClientConfig config;
     protected long operationTimeout;
 
@@ -46,19 +59,35 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     protected volatile Exception thumbstone;
 
-    protected Map<Long, TarantoolOp<?>> futures;
+    protected ConcurrentLongMap<TarantoolOp<?>> futures;
     protected AtomicInteger pendingResponsesCount = new AtomicInteger();
 
     /**
      * Write properties.
      */
-    protected ByteBuffer sharedBuffer;
-    protected ReentrantLock bufferLock = new ReentrantLock(false);
-    protected Condition bufferNotEmpty = bufferLock.newCondition();
-    protected Condition bufferEmpty = bufferLock.newCondition();
+    protected RequestLanes requestLanes;
+    protected InFlightLimiter inFlightLimiter;
+
+    /**
+     * Number of in-flight permits of requests without operations,
+     * like fire-and-forget ones.
+     */
+    private final AtomicInteger untrackedInFlight = new AtomicInteger();
+
+    /**
+     * Completes operations instead of the reader thread
+     * when it is configured.
+     *
+     * @see TarantoolClientConfig#completionExecutor
+     */
+    protected StripedExecutor completionExecutor;
 
-    protected ByteBuffer writerBuffer;
-    protected ReentrantLock writeLock = new ReentrantLock(true);
+    /**
+     * Timer of operation timeouts.
+     *
+     * @see TarantoolClientConfig#timeoutTimer
+     */
+    protected HashedWheelTimer timeoutTimer;
 
     /**
      * Interfaces.
@@ -75,6 +104,17 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     protected Thread reader;
     protected Thread writer;
 
+    /**
+     * Loop which performs I/O of the connection instead
+     * of the reader and writer threads. It is either owned by
+     * the client or taken from a shared group.
+     *
+     * @see TarantoolClientConfig#useEventLoop
+     * @see TarantoolClientConfig#eventLoopGroup
+     */
+    protected EventLoop eventLoop;
+    protected volatile EventLoopConnection eventLoopConnection;
+
     protected Thread connector = new Thread(new Runnable() {
         @Override
         public void run() {
@@ -109,9 +149,18 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         this.operationTimeout = config.operationExpiryTimeMillis;
         this.socketProvider = socketProvider;
         this.stats = new TarantoolClientStats();
-        this.futures = new ConcurrentHashMap<>(config.predictedFutures);
-        this.sharedBuffer = ByteBuffer.allocateDirect(config.sharedBufferSize);
-        this.writerBuffer = ByteBuffer.allocateDirect(sharedBuffer.capacity());
+        this.futures = new ConcurrentLongMap<>();
+        this.requestLanes = makeRequestLanes(config);
+        this.inFlightLimiter = new InFlightLimiter(config.maxInFlightRequests, config.maxInFlightBytes);
+        this.timeoutTimer = config.timeoutTimer != null ? config.timeoutTimer : TarantoolOp.TimeoutScheduler.TIMER;
+        if (config.completionExecutor != null) {
+            this.completionExecutor = new StripedExecutor(
+                config.completionExecutor,
+                config.completionExecutorStripes > 0
+                    ? config.completionExecutorStripes
+                    : Runtime.getRuntime().availableProcessors()
+            );
+        }
         this.connector.setDaemon(true);
         this.connector.setName("Tarantool connector");
         this.syncOps = new SyncOps();
@@ -125,6 +174,23 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
+    private RequestLanes makeRequestLanes(TarantoolClientConfig config) {
+        int count = config.priorityLanes ? RequestPriority.values().length : 1;
+        RequestRing[] lanes = new RequestRing[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new RequestRing(
+                config.requestRingSize,
+                initialRequestSize,
+                config.directRequestBuffers,
+                config.retainedRequestSize,
+                config.producerWaitStrategy,
+                config.writerWaitStrategy
+            );
+        }
+        int[] weights = config.priorityLanes ? config.priorityLaneWeights : new int[] { 1 };
+        return new RequestLanes(lanes, weights, config.writerWaitStrategy);
+    }
+
     private void startConnector(long initTimeoutMillis) {
         connector.start();
         try {
@@ -193,16 +259,32 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
         channel.configureBlocking(false);
         this.channel = channel;
-        this.readChannel = new ReadableViaSelectorChannel(channel);
 
-        bufferLock.lock();
-        try {
-            sharedBuffer.clear();
-        } finally {
-            bufferLock.unlock();
-        }
+        requestLanes.discard();
         this.thumbstone = null;
-        startThreads(channel.socket().getRemoteSocketAddress().toString());
+        String name = channel.socket().getRemoteSocketAddress().toString();
+        if (config.useEventLoop || config.eventLoopGroup != null) {
+            startEventLoop(channel, name);
+        } else {
+            this.readChannel = new ReadableViaSelectorChannel(channel);
+            startThreads(name);
+        }
+    }
+
+    protected void startEventLoop(SocketChannel channel, String name) {
+        if (eventLoop == null) {
+            eventLoop = config.eventLoopGroup != null
+                ? config.eventLoopGroup.next()
+                : new EventLoop("Tarantool " + name + " event loop", config.readerThreadPriority);
+        }
+        EventLoopConnection connection = new EventLoopConnection(channel, eventLoop);
+        state.release(StateHelper.RECONNECT);
+        if (state.acquire(StateHelper.ALIVE)) {
+            eventLoopConnection = connection;
+            connection.start();
+        } else {
+            closeChannel(channel);
+        }
     }
 
     protected void startThreads(String threadName) throws InterruptedException {
@@ -262,7 +344,7 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
      * @see #setOperationTimeout(long)
      */
     protected Future<?> exec(Code code, Object... args) {
-        return doExec(operationTimeout, code, args);
+        return doExec(operationTimeout, null, RequestPriority.of(code), code, args);
     }
 
     /**
@@ -276,35 +358,129 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
      * @return deferred result
      */
     protected Future<?> exec(long timeoutMillis, Code code, Object... args) {
-        return doExec(timeoutMillis, code, args);
+        return doExec(timeoutMillis, null, RequestPriority.of(code), code, args);
+    }
+
+    /**
+     * Executes an operation with default timeout decoding its
+     * result by the mapper.
+     *
+     * @param mapper result mapper
+     * @param code   operation code
+     * @param args   operation arguments
+     *
+     * @return deferred result
+     */
+    protected Future<?> exec(ResultMapper<?> mapper, Code code, Object... args) {
+        return doExec(operationTimeout, mapper, RequestPriority.of(code), code, args);
+    }
+
+    /**
+     * Executes an operation with default timeout sending
+     * its request with the given priority.
+     *
+     * @param priority request priority
+     * @param code     operation code
+     * @param args     operation arguments
+     *
+     * @return deferred result
+     */
+    protected Future<?> exec(RequestPriority priority, Code code, Object... args) {
+        return doExec(operationTimeout, null, priority, code, args);
     }
 
-    protected TarantoolOp<?> doExec(long timeoutMillis, Code code, Object[] args) {
+    protected TarantoolOp<?> doExec(long timeoutMillis,
+                                    ResultMapper<?> mapper,
+                                    RequestPriority priority,
+                                    Code code,
+                                    Object[] args) {
         validateArgs(args);
         long sid = syncId.incrementAndGet();
 
-        TarantoolOp<?> future = makeNewOperation(timeoutMillis, sid, code, args);
+        TarantoolOp<?> future = makeNewOperation(timeoutMillis, sid, mapper, priority, code, args);
 
         if (isDead(future)) {
             return future;
         }
         futures.put(sid, future);
         if (isDead(future)) {
-            futures.remove(sid);
+            unregisterOperation(sid);
             return future;
         }
         try {
             write(code, sid, null, args);
         } catch (Exception e) {
-            futures.remove(sid);
+            unregisterOperation(sid);
             fail(future, e);
         }
         return future;
     }
 
-    protected TarantoolOp<?> makeNewOperation(long timeoutMillis, long sid, Code code, Object[] args) {
-        return new TarantoolOp<>(sid, code, args)
-            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    /**
+     * Removes a registered operation and releases its in-flight permit.
+     * Whoever removes the operation from {@link #futures} owns its permit,
+     * so the permit is released exactly once however the operation ends.
+     *
+     * @param id operation id
+     *
+     * @return removed operation or {@code null} if it is not registered
+     */
+    protected TarantoolOp<?> unregisterOperation(long id) {
+        TarantoolOp<?> future = futures.remove(id);
+        if (future != null) {
+            releaseInFlight(future);
+        }
+        return future;
+    }
+
+    /**
+     * Creates an operation of a batch. The operation is neither
+     * registered nor timed until the batch is submitted.
+     *
+     * @param priority request priority
+     * @param code     operation code
+     * @param args     operation arguments
+     *
+     * @return new operation
+     *
+     * @see #submitBatch(List)
+     */
+    protected TarantoolOp<?> makeBatchOperation(RequestPriority priority, Code code, Object[] args) {
+        validateArgs(args);
+        return new TarantoolOp<>(syncId.incrementAndGet(), code, args, null, priority);
+    }
+
+    /**
+     * Registers operations of a batch with the default
+     * timeout and writes their requests.
+     *
+     * @param operations operations made by {@link #makeBatchOperation(RequestPriority, Code, Object[])}
+     */
+    protected void submitBatch(List<TarantoolOp<?>> operations) {
+        List<TarantoolOp<?>> registered = new ArrayList<>(operations.size());
+        for (TarantoolOp<?> future : operations) {
+            future.orTimeout(operationTimeout, TimeUnit.MILLISECONDS, timeoutTimer);
+            if (isDead(future)) {
+                continue;
+            }
+            futures.put(future.getId(), future);
+            if (isDead(future)) {
+                unregisterOperation(future.getId());
+                continue;
+            }
+            registered.add(future);
+        }
+        writeBatch(registered);
+    }
+
+    protected TarantoolOp<?> makeNewOperation(long timeoutMillis,
+                                              long sid,
+                                              ResultMapper<?> mapper,
+                                              RequestPriority priority,
+                                              Code code,
+                                              Object[] args) {
+        return new TarantoolOp<>(sid, code, args, mapper, priority)
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS, timeoutTimer);
     }
 
     protected synchronized void die(String message, Exception cause) {
@@ -314,26 +490,18 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         final CommunicationException error = new CommunicationException(message, cause);
         this.thumbstone = error;
         while (!futures.isEmpty()) {
-            Iterator<Map.Entry<Long, TarantoolOp<?>>> iterator = futures.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Map.Entry<Long, TarantoolOp<?>> elem = iterator.next();
-                if (elem != null) {
-                    TarantoolOp<?> future = elem.getValue();
-                    fail(future, error);
-                }
-                iterator.remove();
-            }
+            futures.drain(future -> {
+                releaseInFlight(future);
+                fail(future, error);
+            });
         }
         pendingResponsesCount.set(0);
-
-        bufferLock.lock();
-        try {
-            sharedBuffer.clear();
-            bufferEmpty.signalAll();
-        } finally {
-            bufferLock.unlock();
+        for (int permits = untrackedInFlight.getAndSet(0); permits > 0; permits--) {
+            inFlightLimiter.release(0);
         }
+
         stopIO();
+        requestLanes.discard();
     }
 
     public void ping() {
@@ -342,97 +510,197 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     protected void write(Code code, Long syncId, Long schemaId, Object... args)
         throws Exception {
-        ByteBuffer buffer = ProtoUtils.createPacket(msgPackLite, code, syncId, schemaId, args);
-
-        if (directWrite(buffer)) {
-            return;
+        TarantoolOp<?> future = futures.get(syncId);
+        boolean limited = acquireInFlight(future);
+        RequestRing lane = requestLanes.getLane(future != null ? future.getPriority() : RequestPriority.of(code));
+        try {
+            long sequence = claimSlots(lane, 1);
+            try {
+                encode(lane, sequence, future, limited, code, syncId, schemaId, args);
+            } finally {
+                lane.publish(sequence);
+            }
+        } catch (Exception e) {
+            // the permit of a registered operation is released by the caller which unregisters it
+            if (limited && future == null) {
+                releaseUntrackedInFlight();
+            }
+            throw e;
         }
-        sharedWrite(buffer);
-
     }
 
-    protected void sharedWrite(ByteBuffer buffer) throws InterruptedException, TimeoutException {
-        long start = System.currentTimeMillis();
-        if (bufferLock.tryLock(config.writeTimeoutMillis, TimeUnit.MILLISECONDS)) {
+    /**
+     * Writes the requests of registered operations in chunks. Each chunk
+     * takes consecutive slots of the request ring by a single claim and is
+     * published at once, so the writer is signalled once per chunk. The first
+     * chunk claims a few slots only, and the next ones claim as many as the
+     * requests encoded so far suggest to fit into the byte limit of a write
+     * batch, so a batch of large requests does not hold the ring while other
+     * callers wait. A chunk whose requests reach the byte limit earlier
+     * leaves the rest of its slots empty. Operations whose requests cannot
+     * be written are removed and failed.
+     *
+     * @param operations registered operations of the same priority
+     */
+    protected void writeBatch(List<TarantoolOp<?>> operations) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        RequestRing lane = requestLanes.getLane(operations.get(0).getPriority());
+        int maxChunkSize = Math.max(Math.min(config.writeCoalescingMaxRequests, lane.getCapacity()), 1);
+        int chunkSize = Math.min(FIRST_BATCH_CHUNK_SIZE, maxChunkSize);
+        long totalBytes = 0;
+        int next = 0;
+        while (next < operations.size()) {
+            int count = Math.min(operations.size() - next, chunkSize);
+            long first;
+            try {
+                first = claimSlots(lane, count);
+            } catch (Exception e) {
+                for (TarantoolOp<?> future : operations.subList(next, operations.size())) {
+                    unregisterOperation(future.getId());
+                    fail(future, e);
+                }
+                return;
+            }
+            long bytes = 0;
+            int written = 0;
             try {
-                int rem = buffer.remaining();
-                stats.sharedMaxPacketSize = Math.max(stats.sharedMaxPacketSize, rem);
-                if (rem > initialRequestSize) {
-                    stats.sharedPacketSizeGrowth++;
-                }
-                while (sharedBuffer.remaining() < buffer.limit()) {
-                    stats.sharedEmptyAwait++;
-                    long remaining = config.writeTimeoutMillis - (System.currentTimeMillis() - start);
+                while (written < count && (written == 0 || bytes < config.writeCoalescingMaxBytes)) {
+                    TarantoolOp<?> future = operations.get(next + written);
                     try {
-                        if (remaining < 1 || !bufferEmpty.await(remaining, TimeUnit.MILLISECONDS)) {
-                            stats.sharedEmptyAwaitTimeouts++;
-                            throw new TimeoutException(
-                                config.writeTimeoutMillis +
-                                    "ms is exceeded while waiting for empty buffer. " +
-                                    "You could configure write timeout it in TarantoolConfig"
-                            );
-                        }
-                    } catch (InterruptedException e) {
-                        throw new CommunicationException("Interrupted", e);
+                        boolean limited = acquireInFlight(future);
+                        bytes += encode(
+                            lane, first + written, future, limited,
+                            future.getCode(), future.getId(), null, future.getArgs()
+                        );
+                    } catch (Exception e) {
+                        unregisterOperation(future.getId());
+                        fail(future, e);
                     }
+                    written++;
                 }
-                sharedBuffer.put(buffer);
-                pendingResponsesCount.incrementAndGet();
-                bufferNotEmpty.signalAll();
-                stats.buffered++;
             } finally {
-                bufferLock.unlock();
+                lane.publish(first, count);
             }
-        } else {
-            stats.sharedWriteLockTimeouts++;
-            throw new TimeoutException(
-                config.writeTimeoutMillis +
-                    "ms is exceeded while waiting for shared buffer lock. " +
-                    "You could configure write timeout in TarantoolConfig"
-            );
+            next += written;
+            totalBytes += bytes;
+            long averageSize = Math.max(totalBytes / next, 1);
+            chunkSize = (int) Math.max(Math.min(config.writeCoalescingMaxBytes / averageSize, maxChunkSize), 1);
         }
     }
 
-    private boolean directWrite(ByteBuffer buffer) throws InterruptedException, IOException, TimeoutException {
-        if (sharedBuffer.capacity() * config.directWriteFactor <= buffer.limit()) {
-            if (writeLock.tryLock(config.writeTimeoutMillis, TimeUnit.MILLISECONDS)) {
-                try {
-                    int rem = buffer.remaining();
-                    stats.directMaxPacketSize = Math.max(stats.directMaxPacketSize, rem);
-                    if (rem > initialRequestSize) {
-                        stats.directPacketSizeGrowth++;
+    /**
+     * Admits a new request by the in-flight limiter. The permit is held
+     * by the operation of the request, if any, and is released once the
+     * operation is unregistered. If the operation has been unregistered
+     * already, for instance, when the connection is lost, the permit is
+     * released at once.
+     *
+     * @param future registered operation or {@code null} if the request
+     *               is not answered to a caller
+     *
+     * @return {@code true} if the request is limited
+     *
+     * @throws RejectedExecutionException if there are too many in-flight requests
+     */
+    private boolean acquireInFlight(TarantoolOp<?> future) {
+        boolean limited = inFlightLimiter.isLimited();
+        if (!limited) {
+            return false;
+        }
+        if (!inFlightLimiter.tryAcquire()) {
+            TarantoolClientStats.IN_FLIGHT_REJECTIONS.incrementAndGet(stats);
+            throw new RejectedExecutionException("Too many in-flight requests");
+        }
+        if (future == null) {
+            untrackedInFlight.incrementAndGet();
+        } else if (!future.holdPermit()) {
+            inFlightLimiter.release(0);
+        }
+        return true;
+    }
+
+    /**
+     * Releases the in-flight permit held by an unregistered operation.
+     *
+     * @param future unregistered operation
+     */
+    private void releaseInFlight(TarantoolOp<?> future) {
+        int size = future.releasePermit();
+        if (size >= 0) {
+            inFlightLimiter.release(size);
+        }
+    }
+
+    /**
+     * Releases a permit of a request without an operation unless
+     * all of them are released already by {@link #die(String, Exception)}.
+     */
+    private void releaseUntrackedInFlight() {
+        if (untrackedInFlight.getAndUpdate(permits -> Math.max(permits - 1, 0)) > 0) {
+            inFlightLimiter.release(0);
+        }
+    }
+
+    /**
+     * Encodes a request into the claimed slot. The slot is left
+     * empty if it fails.
+     *
+     * @return size of the request
+     */
+    private int encode(RequestRing lane,
+                       long sequence,
+                       TarantoolOp<?> future,
+                       boolean limited,
+                       Code code,
+                       Long syncId,
+                       Long schemaId,
+                       Object[] args) throws Exception {
+        MsgPackWriter packet = lane.getWriter(sequence);
+        try {
+            ProtoUtils.writePacket(packet, msgPackLite, code, syncId, schemaId, args);
+            int size = packet.size();
+            stats.updateSharedMaxPacketSize(size);
+            if (size > initialRequestSize) {
+                TarantoolClientStats.SHARED_PACKET_SIZE_GROWTH.incrementAndGet(stats);
+            }
+            if (future != null) {
+                lane.attach(sequence, future, future.getDeadlineNanos());
+                if (limited) {
+                    inFlightLimiter.addBytes(size);
+                    if (!future.accountRequestSize(size)) {
+                        // the permit is already released without these bytes
+                        inFlightLimiter.addBytes(-size);
                     }
-                    writeFully(channel, buffer);
-                    stats.directWrite++;
-                    pendingResponsesCount.incrementAndGet();
-                } finally {
-                    writeLock.unlock();
                 }
-                return true;
-            } else {
-                stats.directWriteLockTimeouts++;
-                throw new TimeoutException(
-                    config.writeTimeoutMillis +
-                        "ms is exceeded while waiting for channel lock. " +
-                        "You could configure write timeout in TarantoolConfig"
-                );
             }
+            pendingResponsesCount.incrementAndGet();
+            TarantoolClientStats.BUFFERED.incrementAndGet(stats);
+            return size;
+        } catch (Exception e) {
+            packet.reset();
+            throw e;
+        }
+    }
+
+    private long claimSlots(RequestRing lane, int count) throws TimeoutException {
+        try {
+            return lane.claim(count, config.writeTimeoutMillis);
+        } catch (TimeoutException e) {
+            TarantoolClientStats.SHARED_EMPTY_AWAIT_TIMEOUTS.incrementAndGet(stats);
+            throw e;
+        } catch (InterruptedException e) {
+            throw new CommunicationException("Interrupted", e);
         }
-        return false;
     }
 
     protected void readThread() {
+        ResponseReader responseReader = new ResponseReader();
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                TarantoolPacket packet = ProtoUtils.readPacket(readChannel, msgPackLite);
-
-                Map<Integer, Object> headers = packet.getHeaders();
-
-                Long syncId = (Long) headers.get(Key.SYNC.getId());
-                TarantoolOp<?> future = futures.remove(syncId);
-                stats.received++;
-                pendingResponsesCount.decrementAndGet();
-                complete(packet, future);
+                readChannel.readAvailable(responseReader.getBuffer());
+                responseReader.decode();
             } catch (Exception e) {
                 die("Cant read answer", e);
                 return;
@@ -440,31 +708,55 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
+    protected void onResponse(TarantoolPacket packet) {
+        TarantoolOp<?> future = unregisterOperation(packet.getSync());
+        stats.received++;
+        pendingResponsesCount.decrementAndGet();
+        if (future == null && inFlightLimiter.isLimited()) {
+            releaseUntrackedInFlight();
+        }
+        if (future != null) {
+            future.cancelTimeout();
+        }
+        if (future != null && completionExecutor != null && future.getNumberOfDependents() > 0) {
+            try {
+                completionExecutor.execute(packet.getSync(), () -> complete(packet, future));
+                stats.dispatchedCompletions++;
+                return;
+            } catch (RejectedExecutionException e) {
+                stats.rejectedCompletions++;
+            }
+        }
+        complete(packet, future);
+    }
+
+    /**
+     * Drops the operation whose request is not sent because the operation
+     * is already done or its deadline has passed while the request was
+     * waiting for the writer.
+     *
+     * @param future  dropped operation
+     * @param expired whether the deadline of the operation has passed
+     */
+    protected void shed(TarantoolOp<?> future, boolean expired) {
+        if (unregisterOperation(future.getId()) == null) {
+            return;
+        }
+        pendingResponsesCount.decrementAndGet();
+        future.cancelTimeout();
+        if (expired) {
+            stats.shedExpired++;
+            future.completeExceptionally(new TimeoutException("Request expired before it was sent"));
+        } else {
+            stats.shedCancelled++;
+        }
+    }
+
     protected void writeThread() {
-        writerBuffer.clear();
+        GatheringWriter writer = new GatheringWriter();
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                bufferLock.lock();
-                try {
-                    while (sharedBuffer.position() == 0) {
-                        bufferNotEmpty.await();
-                    }
-                    sharedBuffer.flip();
-                    writerBuffer.put(sharedBuffer);
-                    sharedBuffer.clear();
-                    bufferEmpty.signalAll();
-                } finally {
-                    bufferLock.unlock();
-                }
-                writerBuffer.flip();
-                writeLock.lock();
-                try {
-                    writeFully(channel, writerBuffer);
-                } finally {
-                    writeLock.unlock();
-                }
-                writerBuffer.clear();
-                stats.sharedWrites++;
+                requestLanes.drain(writer);
             } catch (Exception e) {
                 die("Cant write bytes", e);
                 return;
@@ -482,6 +774,10 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
             if (code == 0) {
                 if (future.getCode() == Code.EXECUTE) {
                     completeSql(future, packet);
+                } else if (future.getResultMapper() != null) {
+                    completeMapped(future, packet);
+                } else if (config.lazyDecoding) {
+                    ((TarantoolOp) future).complete(packet.getData());
                 } else {
                     ((TarantoolOp) future).complete(packet.getBody().get(Key.DATA.getId()));
                 }
@@ -492,6 +788,23 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
+    protected void completeMapped(TarantoolOp<?> future, TarantoolPacket packet) {
+        ByteBuffer data = packet.getRawData();
+        if (data == null) {
+            MsgPackWriter writer = new MsgPackWriter(initialRequestSize);
+            msgPackLite.pack(packet.getData(), writer);
+            data = writer.toByteBuffer();
+        }
+        Object result;
+        try {
+            result = future.getResultMapper().map(new MsgPackReader(data));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        ((TarantoolOp) future).complete(result);
+    }
+
     protected void completeSql(TarantoolOp<?> future, TarantoolPacket pack) {
         Long rowCount = SqlProtoUtils.getSQLRowCount(pack);
         if (rowCount != null) {
@@ -522,6 +835,11 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         ProtoUtils.writeFully(channel, buffer);
     }
 
+    protected void writeFully(SocketChannel channel, ByteBuffer[] buffers, int offset, int length)
+        throws IOException {
+        ProtoUtils.writeFully(channel, buffers, offset, length);
+    }
+
     @Override
     public void close() {
         close(new Exception("Connection is closed."));
@@ -536,10 +854,17 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         if (state.close()) {
             connector.interrupt();
             die(e.getMessage(), e);
+            if (eventLoop != null && config.eventLoopGroup == null) {
+                eventLoop.close();
+            }
         }
     }
 
     protected void stopIO() {
+        EventLoopConnection connection = eventLoopConnection;
+        if (connection != null) {
+            connection.close();
+        }
         if (reader != null) {
             reader.interrupt();
         }
@@ -614,6 +939,67 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         return fireAndForgetOps;
     }
 
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps(RequestPriority priority) {
+        return withCallCode(new PrioritizedSyncOps(priority));
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps(
+        RequestPriority priority) {
+        return withCallCode(new PrioritizedComposableAsyncOps(priority));
+    }
+
+    @Override
+    public TarantoolBatch batch() {
+        return batch(RequestPriority.INTERACTIVE);
+    }
+
+    @Override
+    public TarantoolBatch batch(RequestPriority priority) {
+        TarantoolBatch batch = new TarantoolBatch(this, priority);
+        if (!config.useNewCall) {
+            batch.setCallCode(Code.OLD_CALL);
+        }
+        return batch;
+    }
+
+    @Override
+    public Stream<List<?>> scan(int space, int index) {
+        return SpaceScanSpliterator.stream(this, space, index);
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, R> syncOps(ResultMapper<R> mapper) {
+        return withCallCode(new MappedSyncOps<>(mapper));
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, Future<R>> asyncOps(ResultMapper<R> mapper) {
+        return withCallCode(new MappedAsyncOps<>(mapper));
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<R>> composableAsyncOps(
+        ResultMapper<R> mapper) {
+        return withCallCode(new MappedComposableAsyncOps<>(mapper));
+    }
+
+    @Override
+    public <T> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<Long>> streamingOps(
+        TupleMapper<T> mapper,
+        Consumer<? super T> consumer) {
+        return withCallCode(new StreamingOps<>(mapper, consumer));
+    }
+
+    private <R> AbstractTarantoolOps<Integer, List<?>, Object, R> withCallCode(
+        AbstractTarantoolOps<Integer, List<?>, Object, R> ops) {
+        if (!config.useNewCall) {
+            ops.setCallCode(Code.OLD_CALL);
+        }
+        return ops;
+    }
+
     @Override
     public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
         return new TarantoolSQLOps<Object, Long, List<Map<String, Object>>>() {
@@ -682,47 +1068,705 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     }
 
-    protected boolean isDead(TarantoolOp<?> future) {
-        if (this.thumbstone != null) {
-            fail(future, new CommunicationException("Connection is dead", thumbstone));
-            return true;
+    protected class PrioritizedSyncOps extends AbstractTarantoolOps<Integer, List<?>, Object, List<?>> {
+
+        private final RequestPriority priority;
+
+        public PrioritizedSyncOps(RequestPriority priority) {
+            this.priority = priority;
         }
-        return false;
-    }
 
-    protected static class TarantoolOp<V> extends CompletableFuture<V> {
+        @Override
+        public List exec(Code code, Object... args) {
+            return (List) syncGet(TarantoolClientImpl.this.exec(priority, code, args));
+        }
 
-        /**
-         * A task identifier used in {@link TarantoolClientImpl#futures}.
-         */
-        private final long id;
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
 
-        /**
-         * Tarantool binary protocol operation code.
-         */
-        private final Code code;
+    }
 
-        /**
-         * Arguments of operation.
-         */
-        private final Object[] args;
+    protected class PrioritizedComposableAsyncOps
+        extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
 
-        public TarantoolOp(long id, Code code, Object[] args) {
-            this.id = id;
-            this.code = code;
-            this.args = args;
+        private final RequestPriority priority;
+
+        public PrioritizedComposableAsyncOps(RequestPriority priority) {
+            this.priority = priority;
         }
 
-        public long getId() {
-            return id;
+        @Override
+        public CompletionStage<List<?>> exec(Code code, Object... args) {
+            return (CompletionStage<List<?>>) TarantoolClientImpl.this.exec(priority, code, args);
         }
 
-        public Code getCode() {
-            return code;
+        @Override
+        public void close() {
+            TarantoolClientImpl.this.close();
         }
 
-        public Object[] getArgs() {
-            return args;
+    }
+
+    protected class MappedSyncOps<R> extends AbstractTarantoolOps<Integer, List<?>, Object, R> {
+
+        private final ResultMapper<R> mapper;
+
+        public MappedSyncOps(ResultMapper<R> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public R exec(Code code, Object... args) {
+            return (R) syncGet(TarantoolClientImpl.this.exec(mapper, code, args));
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+    protected class MappedAsyncOps<R> extends AbstractTarantoolOps<Integer, List<?>, Object, Future<R>> {
+
+        private final ResultMapper<R> mapper;
+
+        public MappedAsyncOps(ResultMapper<R> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Future<R> exec(Code code, Object... args) {
+            return (Future<R>) TarantoolClientImpl.this.exec(mapper, code, args);
+        }
+
+        @Override
+        public void close() {
+            TarantoolClientImpl.this.close();
+        }
+
+    }
+
+    protected class MappedComposableAsyncOps<R>
+        extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<R>> {
+
+        private final ResultMapper<R> mapper;
+
+        public MappedComposableAsyncOps(ResultMapper<R> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public CompletionStage<R> exec(Code code, Object... args) {
+            return (CompletionStage<R>) TarantoolClientImpl.this.exec(mapper, code, args);
+        }
+
+        @Override
+        public void close() {
+            TarantoolClientImpl.this.close();
+        }
+
+    }
+
+    protected class StreamingOps<T> extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<Long>> {
+
+        private final TupleMapper<T> mapper;
+        private final Consumer<? super T> consumer;
+
+        public StreamingOps(TupleMapper<T> mapper, Consumer<? super T> consumer) {
+            this.mapper = mapper;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public CompletionStage<Long> exec(Code code, Object... args) {
+            return (CompletionStage<Long>) TarantoolClientImpl.this.exec(
+                new TupleStreamMapper<>(mapper, consumer), code, args
+            );
+        }
+
+        @Override
+        public void close() {
+            TarantoolClientImpl.this.close();
+        }
+
+    }
+
+    /**
+     * Passes tuples of a single response to a consumer as soon as
+     * they are received by the reader thread. When the response is
+     * received as a whole it iterates over the tuples of its data.
+     * The result is a number of consumed tuples.
+     */
+    protected static class TupleStreamMapper<T> implements ResultMapper<Long> {
+
+        private final TupleMapper<T> mapper;
+        private final Consumer<? super T> consumer;
+
+        private long count;
+        private RuntimeException failure;
+
+        public TupleStreamMapper(TupleMapper<T> mapper, Consumer<? super T> consumer) {
+            this.mapper = mapper;
+            this.consumer = consumer;
+        }
+
+        public void accept(MsgPackReader reader) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                consumer.accept(mapper.map(reader));
+                count++;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public Long map(MsgPackReader reader) {
+            if (!reader.tryUnpackNil()) {
+                for (int i = reader.unpackArrayHeader(); i > 0 && failure == null; i--) {
+                    accept(reader);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return count;
+        }
+
+    }
+
+    /**
+     * Collects the chunks of a batch of requests taken from the request
+     * ring and sends them by a single gathering write, so the requests
+     * are never copied on their way to the socket. The batch size is
+     * controlled by a {@link WriteCoalescer}.
+     */
+    protected class GatheringWriter implements RequestRing.PacketConsumer {
+
+        private final WriteCoalescer coalescer = new WriteCoalescer(
+            config.writeCoalescingMaxBytes,
+            config.writeCoalescingMaxRequests,
+            config.writeCoalescingBudgetMicros,
+            stats
+        );
+
+        private ByteBuffer[] segments = new ByteBuffer[64];
+        private int segmentCount;
+
+        @Override
+        public void accept(MsgPackWriter packet) {
+            coalescer.onRequest(packet.size());
+            ByteBuffer[] buffers = packet.getBuffers();
+            for (int i = 0; i < packet.getBufferCount(); i++) {
+                if (buffers[i].hasRemaining()) {
+                    if (segmentCount == segments.length) {
+                        segments = Arrays.copyOf(segments, segmentCount * 2);
+                    }
+                    segments[segmentCount++] = buffers[i];
+                }
+            }
+        }
+
+        @Override
+        public boolean isBatchFull() {
+            return coalescer.isBatchFull();
+        }
+
+        @Override
+        public void onShed(Future<?> future, boolean expired) {
+            shed((TarantoolOp<?>) future, expired);
+        }
+
+        @Override
+        public long getLingerNanos() {
+            return coalescer.getLingerNanos();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                if (segmentCount > 0) {
+                    send(segments, segmentCount);
+                    stats.sharedWrites++;
+                }
+            } finally {
+                Arrays.fill(segments, 0, segmentCount, null);
+                segmentCount = 0;
+                coalescer.onFlush();
+            }
+        }
+
+        /**
+         * Sends the collected segments.
+         *
+         * @param segments buffers to be sent
+         * @param count    number of the buffers
+         *
+         * @throws IOException if any IO-error occurred
+         */
+        protected void send(ByteBuffer[] segments, int count) throws IOException {
+            writeFully(channel, segments, 0, count);
+        }
+
+    }
+
+    /**
+     * Overflow buffer pools shared by all the clients of the JVM. Buffers
+     * above a megabyte are not pooled, so a few large responses do not pin
+     * memory for the lifetime of the connections.
+     */
+    static class OverflowPools {
+
+        private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+        private static final int MAX_BUFFERS_PER_CAPACITY = 4;
+        private static final long MAX_POOLED_BYTES = 8 * 1024 * 1024;
+
+        static final ByteBufferPool HEAP = new ByteBufferPool(
+            false, MAX_POOLED_BUFFER_SIZE, MAX_BUFFERS_PER_CAPACITY, MAX_POOLED_BYTES
+        );
+        static final ByteBufferPool DIRECT = new ByteBufferPool(
+            true, MAX_POOLED_BUFFER_SIZE, MAX_BUFFERS_PER_CAPACITY, MAX_POOLED_BYTES
+        );
+
+        static ByteBufferPool of(boolean direct) {
+            return direct ? DIRECT : HEAP;
+        }
+
+    }
+
+    /**
+     * Receives bytes into a reusable buffer and decodes the responses.
+     * Responses which do not fit the buffer are accommodated in an
+     * overflow buffer taken from a pool until they are decoded.
+     */
+    protected class ResponseReader {
+
+        private final ByteBufferPool overflowPool = config.overflowBufferPool != null
+            ? config.overflowBufferPool
+            : OverflowPools.of(config.directReceiveBuffer);
+        private final ByteBuffer receiveBuffer = config.directReceiveBuffer
+            ? ByteBuffer.allocateDirect(config.receiveBufferSize)
+            : ByteBuffer.allocate(config.receiveBufferSize);
+        private final TarantoolFrameDecoder decoder = new TarantoolFrameDecoder(msgPackLite, new ResponseHandler());
+
+        private ByteBuffer buffer = receiveBuffer;
+
+        /**
+         * Gets a buffer to read bytes into.
+         *
+         * @return buffer in the write mode having free space
+         */
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        /**
+         * Decodes the responses read into the buffer.
+         */
+        public void decode() {
+            stats.reads++;
+            buffer.flip();
+            decoder.decode(buffer);
+            buffer.compact();
+            fitBuffer(decoder.getRequiredCapacity());
+        }
+
+        /**
+         * Moves pending bytes to an overflow buffer when the current buffer
+         * cannot accommodate the next response, and back to the receive
+         * buffer when they fit it again.
+         *
+         * @param required capacity required by the decoder
+         */
+        private void fitBuffer(int required) {
+            ByteBuffer next;
+            if (required > buffer.capacity() || !buffer.hasRemaining()) {
+                next = overflowPool.acquire(Math.max(required, buffer.capacity() * 2));
+                stats.readBufferOverflows++;
+            } else if (buffer != receiveBuffer &&
+                buffer.position() < receiveBuffer.capacity() &&
+                required <= receiveBuffer.capacity()) {
+                next = receiveBuffer;
+                next.clear();
+            } else {
+                return;
+            }
+            buffer.flip();
+            next.put(buffer);
+            if (buffer != receiveBuffer) {
+                overflowPool.release(buffer);
+            }
+            buffer = next;
+        }
+
+    }
+
+    /**
+     * Performs I/O of a connection on an {@link EventLoop} instead of
+     * the reader and writer threads. Responses are decoded as soon as
+     * the channel is readable and requests are sent as soon as they are
+     * published. The loop is never blocked on a full socket buffer:
+     * unsent bytes are kept aside until the channel becomes writable.
+     */
+    protected class EventLoopConnection extends GatheringWriter implements EventLoop.Handler {
+
+        /**
+         * Max number of reads or batches handled at once
+         * to let other channels of the loop proceed.
+         */
+        private static final int MAX_OPERATIONS_PER_EVENT = 16;
+
+        private final SocketChannel channel;
+        private final EventLoop eventLoop;
+        private final ResponseReader responseReader = new ResponseReader();
+        private final ByteBufferPool pendingPool = config.overflowBufferPool != null
+            ? config.overflowBufferPool
+            : OverflowPools.of(true);
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Runnable flushTask = this::flushRequests;
+
+        private SelectionKey key;
+        private ByteBuffer pending;
+
+        public EventLoopConnection(SocketChannel channel, EventLoop eventLoop) {
+            this.channel = channel;
+            this.eventLoop = eventLoop;
+        }
+
+        public EventLoop getEventLoop() {
+            return eventLoop;
+        }
+
+        /**
+         * Registers the connection on the loop.
+         */
+        public void start() {
+            requestLanes.setPublishListener(this::scheduleFlush);
+            eventLoop.register(channel, this);
+        }
+
+        /**
+         * Deregisters and closes the connection. The client
+         * is signalled to reconnect once it is done.
+         */
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            requestLanes.setPublishListener(null);
+            eventLoop.execute(() -> {
+                if (key != null) {
+                    key.cancel();
+                }
+                closeChannel(channel);
+                if (pending != null) {
+                    pendingPool.release(pending);
+                    pending = null;
+                }
+                state.release(StateHelper.ALIVE);
+                state.trySignalForReconnection();
+            });
+        }
+
+        @Override
+        public void onRegistered(SelectionKey key) {
+            this.key = key;
+            flushRequests();
+        }
+
+        @Override
+        public void onReadable() {
+            try {
+                for (int i = 0; i < MAX_OPERATIONS_PER_EVENT; i++) {
+                    int read = channel.read(responseReader.getBuffer());
+                    if (read < 0) {
+                        throw new CommunicationException("Channel read failed: EOF");
+                    }
+                    if (read == 0) {
+                        return;
+                    }
+                    responseReader.decode();
+                }
+            } catch (Exception e) {
+                die("Cant read answer", e);
+            }
+        }
+
+        @Override
+        public void onWritable() {
+            try {
+                channel.write(pending);
+                if (pending.hasRemaining()) {
+                    return;
+                }
+                pendingPool.release(pending);
+                pending = null;
+                key.interestOps(SelectionKey.OP_READ);
+                flushRequests();
+            } catch (Exception e) {
+                die("Cant write bytes", e);
+            }
+        }
+
+        @Override
+        public void onFailure(Exception cause) {
+            die("Cant perform I/O", cause);
+        }
+
+        /**
+         * Never waits for more requests as it would block the loop.
+         */
+        @Override
+        public long getLingerNanos() {
+            return 0;
+        }
+
+        @Override
+        protected void send(ByteBuffer[] segments, int count) throws IOException {
+            int offset = 0;
+            while (offset < count && channel.write(segments, offset, count - offset) > 0) {
+                while (offset < count && !segments[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+            if (offset == count) {
+                return;
+            }
+            int remaining = 0;
+            for (int i = offset; i < count; i++) {
+                remaining += segments[i].remaining();
+            }
+            pending = pendingPool.acquire(remaining);
+            for (int i = offset; i < count; i++) {
+                pending.put(segments[i]);
+            }
+            pending.flip();
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            stats.partialWrites++;
+        }
+
+        private void scheduleFlush() {
+            if (flushScheduled.compareAndSet(false, true)) {
+                eventLoop.execute(flushTask);
+            }
+        }
+
+        private void flushRequests() {
+            flushScheduled.set(false);
+            if (closed.get() || key == null) {
+                return;
+            }
+            try {
+                for (int i = 0; i < MAX_OPERATIONS_PER_EVENT; i++) {
+                    if (pending != null || requestLanes.drainAvailable(this) == 0) {
+                        return;
+                    }
+                }
+                scheduleFlush();
+            } catch (Exception e) {
+                die("Cant write bytes", e);
+            }
+        }
+
+    }
+
+    /**
+     * Dispatches responses decoded by the reader thread.
+     * Tuples of responses to streaming operations are passed
+     * to their consumers before the whole response is received.
+     */
+    protected class ResponseHandler implements TarantoolFrameDecoder.Handler {
+
+        private TarantoolOp<?> streamed;
+
+        @Override
+        public TarantoolFrameDecoder.Delivery onHeader(long sync, long code) {
+            TarantoolOp<?> future = futures.get(sync);
+            ResultMapper<?> mapper = future == null ? null : future.getResultMapper();
+            streamed = code == 0 && mapper instanceof TupleStreamMapper ? future : null;
+            if (streamed != null) {
+                return TarantoolFrameDecoder.Delivery.STREAM;
+            }
+            return config.lazyDecoding || mapper != null
+                ? TarantoolFrameDecoder.Delivery.RETAIN
+                : TarantoolFrameDecoder.Delivery.DECODE;
+        }
+
+        @Override
+        public void onTuple(long sync, MsgPackReader reader) {
+            if (!streamed.isDone()) {
+                ((TupleStreamMapper<?>) streamed.getResultMapper()).accept(reader);
+            }
+        }
+
+        @Override
+        public void onPacket(TarantoolPacket packet) {
+            streamed = null;
+            onResponse(packet);
+        }
+
+    }
+
+    protected boolean isDead(TarantoolOp<?> future) {
+        if (this.thumbstone != null) {
+            fail(future, new CommunicationException("Connection is dead", thumbstone));
+            return true;
+        }
+        return false;
+    }
+
+    protected static class TarantoolOp<V> extends CompletableFuture<V> {
+
+        private static final int NO_PERMIT = 0;
+        private static final int PERMIT_HELD = 1;
+        private static final int PERMIT_RELEASED = 2;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<TarantoolOp> PERMIT =
+            AtomicIntegerFieldUpdater.newUpdater(TarantoolOp.class, "permit");
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<TarantoolOp> REQUEST_SIZE =
+            AtomicIntegerFieldUpdater.newUpdater(TarantoolOp.class, "requestSize");
+
+        /**
+         * A task identifier used in {@link TarantoolClientImpl#futures}.
+         */
+        private final long id;
+
+        /**
+         * Tarantool binary protocol operation code.
+         */
+        private final Code code;
+
+        /**
+         * Arguments of operation.
+         */
+        private final Object[] args;
+
+        /**
+         * Optional mapper used to decode the result.
+         */
+        private final ResultMapper<?> resultMapper;
+
+        /**
+         * Priority of the request.
+         */
+        private final RequestPriority priority;
+
+        /**
+         * State of the in-flight permit of the operation.
+         */
+        private volatile int permit;
+
+        /**
+         * Size of the sent request accounted by the in-flight limiter,
+         * or {@code -1} once the permit is released.
+         */
+        private volatile int requestSize;
+
+        /**
+         * Timeout scheduled to abandon the operation.
+         */
+        private volatile HashedWheelTimer.Timeout scheduledTimeout;
+
+        /**
+         * Time in terms of {@link System#nanoTime()} after which
+         * the request is not worth sending, or {@code 0}.
+         */
+        private volatile long deadlineNanos;
+
+        public TarantoolOp(long id, Code code, Object[] args) {
+            this(id, code, args, null);
+        }
+
+        public TarantoolOp(long id, Code code, Object[] args, ResultMapper<?> resultMapper) {
+            this(id, code, args, resultMapper, RequestPriority.of(code));
+        }
+
+        public TarantoolOp(long id, Code code, Object[] args, ResultMapper<?> resultMapper, RequestPriority priority) {
+            this.id = id;
+            this.code = code;
+            this.args = args;
+            this.resultMapper = resultMapper;
+            this.priority = priority;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public Code getCode() {
+            return code;
+        }
+
+        public Object[] getArgs() {
+            return args;
+        }
+
+        public ResultMapper<?> getResultMapper() {
+            return resultMapper;
+        }
+
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        public int getRequestSize() {
+            return Math.max(requestSize, 0);
+        }
+
+        /**
+         * Marks the in-flight permit as held by the operation.
+         *
+         * @return {@code false} if the permit is already released,
+         *     so it has to be returned by the caller
+         */
+        boolean holdPermit() {
+            return PERMIT.compareAndSet(this, NO_PERMIT, PERMIT_HELD);
+        }
+
+        /**
+         * Accounts the size of the request unless the permit is
+         * already released.
+         *
+         * @param size request size in bytes
+         *
+         * @return {@code false} if the size has to be returned by the caller
+         */
+        boolean accountRequestSize(int size) {
+            return REQUEST_SIZE.compareAndSet(this, 0, size);
+        }
+
+        /**
+         * Releases the in-flight permit. Only the first call
+         * returns the permit.
+         *
+         * @return accounted size of the request or {@code -1}
+         *     if the operation does not hold a permit
+         */
+        int releasePermit() {
+            boolean held = PERMIT.getAndSet(this, PERMIT_RELEASED) == PERMIT_HELD;
+            int size = REQUEST_SIZE.getAndSet(this, -1);
+            return held ? Math.max(size, 0) : -1;
+        }
+
+        /**
+         * Allows the operation to take a new permit when it is sent again.
+         */
+        void resetPermit() {
+            permit = NO_PERMIT;
+            requestSize = 0;
+        }
+
+        public long getDeadlineNanos() {
+            return deadlineNanos;
         }
 
         @Override
@@ -735,9 +1779,24 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
         /**
          * Missed in jdk8 CompletableFuture operator to limit execution
-         * by time.
+         * by time. The timeout is run by the timer shared by all the
+         * clients which do not have their own one.
          */
         public TarantoolOp<V> orTimeout(long timeout, TimeUnit unit) {
+            return orTimeout(timeout, unit, TimeoutScheduler.TIMER);
+        }
+
+        /**
+         * Limits execution by time using the timer. The timeout
+         * is cancelled once the operation completes in any way.
+         *
+         * @param timeout max time to wait for the result
+         * @param unit    unit of the timeout
+         * @param timer   timer to run the timeout
+         *
+         * @return this operation
+         */
+        public TarantoolOp<V> orTimeout(long timeout, TimeUnit unit, HashedWheelTimer timer) {
             if (timeout < 0) {
                 throw new IllegalArgumentException("Timeout cannot be negative");
             }
@@ -747,7 +1806,8 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
             if (timeout == 0 || isDone()) {
                 return this;
             }
-            ScheduledFuture<?> abandonByTimeoutAction = TimeoutScheduler.EXECUTOR.schedule(
+            this.deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+            this.scheduledTimeout = timer.schedule(
                 () -> {
                     if (!this.isDone()) {
                         this.completeExceptionally(new TimeoutException());
@@ -755,28 +1815,52 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
                 },
                 timeout, unit
             );
-            whenComplete(
-                (ignored, error) -> {
-                    if (error == null && !abandonByTimeoutAction.isDone()) {
-                        abandonByTimeoutAction.cancel(false);
-                    }
-                }
-            );
+            if (isDone()) {
+                // completed before the timeout was published
+                cancelTimeout();
+            }
             return this;
         }
 
+        /**
+         * Releases the scheduled timeout once the
+         * operation is completed.
+         */
+        public void cancelTimeout() {
+            HashedWheelTimer.Timeout timeout = scheduledTimeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        public boolean complete(V value) {
+            boolean completed = super.complete(value);
+            cancelTimeout();
+            return completed;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            boolean completed = super.completeExceptionally(ex);
+            cancelTimeout();
+            return completed;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            cancelTimeout();
+            return cancelled;
+        }
+
         /**
          * Runs timeout operation as a delayed task.
          */
         static class TimeoutScheduler {
 
-            static final ScheduledThreadPoolExecutor EXECUTOR;
+            static final HashedWheelTimer TIMER = new HashedWheelTimer();
 
-            static {
-                EXECUTOR =
-                    new ScheduledThreadPoolExecutor(1, new TarantoolThreadDaemonFactory("tarantoolTimeout"));
-                EXECUTOR.setRemoveOnCancelPolicy(true);
-            }
         }
 
     }
@@ -797,6 +1881,28 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         return stats;
     }
 
+    /**
+     * Gets the limiter of in-flight requests. It lets callers check
+     * the available permits or get a signal when requests can be
+     * sent again instead of being rejected.
+     *
+     * @return in-flight limiter
+     *
+     * @see TarantoolClientConfig#maxInFlightRequests
+     */
+    public InFlightLimiter getInFlightLimiter() {
+        return inFlightLimiter;
+    }
+
+    /**
+     * Gets number of requests waiting for their responses.
+     *
+     * @return number of in-flight requests
+     */
+    public int getPendingResponsesCount() {
+        return pendingResponsesCount.get();
+    }
+
     /**
      * Manages state changes.
      */
@@ -1,19 +1,63 @@
 package org.tarantool;
 
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Counters of a client. The ones updated by the threads which send
+ * requests are volatile and updated atomically via field updaters,
+ * the others are updated by the I/O threads only.
+ */
 public class TarantoolClientStats {
+
+    static final AtomicLongFieldUpdater<TarantoolClientStats> BUFFERED =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "buffered");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> SHARED_MAX_PACKET_SIZE =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "sharedMaxPacketSize");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> SHARED_PACKET_SIZE_GROWTH =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "sharedPacketSizeGrowth");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> SHARED_EMPTY_AWAIT_TIMEOUTS =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "sharedEmptyAwaitTimeouts");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> IN_FLIGHT_REJECTIONS =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "inFlightRejections");
+
     final long start = System.currentTimeMillis();
-    public long buffered;
+    public volatile long buffered;
     public long received;
+    public long reads;
+    public long readBufferOverflows;
     public long sharedWrites;
+    public long writeBatches;
+    public long partialWrites;
+    public long writeCoalescingHits;
+    public long writeCoalescingMisses;
+    public long writeCoalescingSkips;
     public long directWrite;
     public long directMaxPacketSize;
-    public long sharedMaxPacketSize;
+    public volatile long sharedMaxPacketSize;
     public long directPacketSizeGrowth;
-    public long sharedPacketSizeGrowth;
+    public volatile long sharedPacketSizeGrowth;
     public long sharedEmptyAwait;
     public long sharedWriteLockTimeouts;
     public long directWriteLockTimeouts;
-    public long sharedEmptyAwaitTimeouts;
+    public volatile long sharedEmptyAwaitTimeouts;
+    public volatile long inFlightRejections;
+    public long dispatchedCompletions;
+    public long rejectedCompletions;
+    public long shedExpired;
+    public long shedCancelled;
+
+    /**
+     * Raises {@link #sharedMaxPacketSize} up to the size of
+     * a buffered packet.
+     *
+     * @param size packet size
+     */
+    void updateSharedMaxPacketSize(long size) {
+        long current;
+        do {
+            current = sharedMaxPacketSize;
+        } while (size > current && !SHARED_MAX_PACKET_SIZE.compareAndSet(this, current, size));
+    }
 
     @Override
     public String toString() {
@@ -21,6 +65,8 @@ public class TarantoolClientStats {
                 "\nrunning = " + (System.currentTimeMillis() - start) + "ms" +
                 "\nbuffered = " + buffered +
                 "\nreceived = " + received +
+                "\nreads = " + reads +
+                "\nreadBufferOverflows = " + readBufferOverflows +
                 "\ndirectMaxPacketSize = " + directMaxPacketSize +
                 "\nsharedMaxPacketSize = " + sharedMaxPacketSize +
                 "\nsharedEmptyAwait = " + sharedEmptyAwait +
@@ -30,6 +76,16 @@ public class TarantoolClientStats {
                 "\ndirectWriteLockTimeouts = " + directWriteLockTimeouts +
                 "\nsharedWriteLockTimeouts = " + sharedWriteLockTimeouts +
                 "\ndirectWrite = " + directWrite +
-                "\nsharedWrites = " + sharedWrites + "\n";
+                "\nsharedWrites = " + sharedWrites +
+                "\nwriteBatches = " + writeBatches +
+                "\npartialWrites = " + partialWrites +
+                "\nwriteCoalescingHits = " + writeCoalescingHits +
+                "\nwriteCoalescingMisses = " + writeCoalescingMisses +
+                "\nwriteCoalescingSkips = " + writeCoalescingSkips +
+                "\ninFlightRejections = " + inFlightRejections +
+                "\ndispatchedCompletions = " + dispatchedCompletions +
+                "\nrejectedCompletions = " + rejectedCompletions +
+                "\nshedExpired = " + shedExpired +
+                "\nshedCancelled = " + shedCancelled + "\n";
     }
 }
@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -104,13 +105,31 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
     }
 
     @Override
-    protected TarantoolOp<?> doExec(long timeoutMillis, Code code, Object[] args) {
+    protected TarantoolOp<?> doExec(long timeoutMillis,
+                                    ResultMapper<?> mapper,
+                                    RequestPriority priority,
+                                    Code code,
+                                    Object[] args) {
         validateArgs(args);
         long sid = syncId.incrementAndGet();
-        TarantoolOp<?> future = makeNewOperation(timeoutMillis, sid, code, args);
+        TarantoolOp<?> future = makeNewOperation(timeoutMillis, sid, mapper, priority, code, args);
         return registerOperation(future);
     }
 
+    /**
+     * Submits a batch under the same discovery-aware
+     * synchronization as single operations.
+     */
+    @Override
+    protected void submitBatch(List<TarantoolOp<?>> operations) {
+        long stamp = discoveryLock.readLock();
+        try {
+            super.submitBatch(operations);
+        } finally {
+            discoveryLock.unlock(stamp);
+        }
+    }
+
     /**
      * Registers a new async operation which will be resolved later.
      * Registration is discovery-aware in term of synchronization and
@@ -126,16 +145,18 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
             if (isDead(future)) {
                 return future;
             }
+            // a retried operation takes a new permit
+            future.resetPermit();
             futures.put(future.getId(), future);
             if (isDead(future)) {
-                futures.remove(future.getId());
+                unregisterOperation(future.getId());
                 return future;
             }
 
             try {
                 write(future.getCode(), future.getId(), null, future.getArgs());
             } catch (Exception e) {
-                futures.remove(future.getId());
+                unregisterOperation(future.getId());
                 fail(future, e);
             }
 
@@ -0,0 +1,361 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Client which opens several connections, or stripes, to the same node
+ * and spreads requests between them.
+ *
+ * <p>
+ * Each stripe is a separate {@link TarantoolClientImpl} with its own
+ * channel, I/O threads and table of in-flight requests, so responses of
+ * different stripes are decoded in parallel. A stripe reconnects on its
+ * own: while it is down, requests are sent through the other stripes and
+ * only requests which were in flight on the failed stripe are failed.
+ *
+ * <p>
+ * The client is alive while at least one of its stripes is alive.
+ *
+ * @see TarantoolStripedClientConfig
+ */
+public class TarantoolStripedClient implements TarantoolClient {
+
+    private final TarantoolClientImpl[] stripes;
+    private final TarantoolStripedClientConfig.Striping striping;
+
+    private final TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps;
+    private final TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps;
+    private final TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps;
+    private final TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps;
+
+    public TarantoolStripedClient(String address, TarantoolStripedClientConfig config) {
+        this(() -> new SingleSocketChannelProviderImpl(address), config);
+    }
+
+    /**
+     * Constructs a new striped client and connects all its stripes.
+     *
+     * @param providers supplier of a socket channel provider for each stripe
+     * @param config    configuration
+     */
+    public TarantoolStripedClient(Supplier<SocketChannelProvider> providers, TarantoolStripedClientConfig config) {
+        int count = config.stripes > 0 ? config.stripes : Runtime.getRuntime().availableProcessors();
+        this.striping = config.striping;
+        this.stripes = new TarantoolClientImpl[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                stripes[i] = makeStripe(providers.get(), config);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        this.syncOps = new StripedOps<>(TarantoolClient::syncOps);
+        this.asyncOps = new StripedOps<>(TarantoolClient::asyncOps);
+        this.composableAsyncOps = new StripedOps<>(TarantoolClient::composableAsyncOps);
+        this.fireAndForgetOps = new StripedOps<>(TarantoolClient::fireAndForgetOps);
+    }
+
+    /**
+     * Creates a client of a single stripe.
+     * A subclass may override this to customize stripes.
+     *
+     * @param provider socket channel provider of the stripe
+     * @param config   configuration
+     *
+     * @return connected client
+     */
+    protected TarantoolClientImpl makeStripe(SocketChannelProvider provider, TarantoolClientConfig config) {
+        return new TarantoolClientImpl(provider, config);
+    }
+
+    public List<TarantoolClientImpl> getStripes() {
+        return Collections.unmodifiableList(Arrays.asList(stripes));
+    }
+
+    /**
+     * Chooses a stripe for the next request. Dead stripes are
+     * skipped unless all the stripes are dead.
+     *
+     * @return stripe index
+     */
+    protected int nextStripe() {
+        if (striping == TarantoolStripedClientConfig.Striping.THREAD_AFFINITY) {
+            int index = (int) (Thread.currentThread().getId() % stripes.length);
+            if (stripes[index].isAlive()) {
+                return index;
+            }
+        }
+        // a random start spreads requests among equally loaded stripes
+        int start = ThreadLocalRandom.current().nextInt(stripes.length);
+        int best = start;
+        int bestInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < stripes.length; i++) {
+            int index = (start + i) % stripes.length;
+            TarantoolClientImpl stripe = stripes[index];
+            if (stripe.isAlive()) {
+                int inFlight = stripe.getPendingResponsesCount();
+                if (inFlight < bestInFlight) {
+                    best = index;
+                    bestInFlight = inFlight;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps() {
+        return syncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps() {
+        return asyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps() {
+        return composableAsyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps() {
+        return fireAndForgetOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps(RequestPriority priority) {
+        return new StripedOps<>(client -> client.syncOps(priority));
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps(
+        RequestPriority priority) {
+        return new StripedOps<>(client -> client.composableAsyncOps(priority));
+    }
+
+    @Override
+    public TarantoolBatch batch() {
+        return stripes[nextStripe()].batch();
+    }
+
+    /**
+     * Creates a batch of the stripe chosen for the next request.
+     * All the requests of the batch are sent through that stripe.
+     */
+    @Override
+    public TarantoolBatch batch(RequestPriority priority) {
+        return stripes[nextStripe()].batch(priority);
+    }
+
+    /**
+     * Scans the index with selects spread over all the stripes.
+     */
+    @Override
+    public Stream<List<?>> scan(int space, int index) {
+        return SpaceScanSpliterator.stream(this, space, index);
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, R> syncOps(ResultMapper<R> mapper) {
+        return new StripedOps<>(client -> client.syncOps(mapper));
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, Future<R>> asyncOps(ResultMapper<R> mapper) {
+        return new StripedOps<>(client -> client.asyncOps(mapper));
+    }
+
+    @Override
+    public <R> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<R>> composableAsyncOps(
+        ResultMapper<R> mapper) {
+        return new StripedOps<>(client -> client.composableAsyncOps(mapper));
+    }
+
+    @Override
+    public <T> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<Long>> streamingOps(
+        TupleMapper<T> mapper,
+        Consumer<? super T> consumer) {
+        return new StripedOps<>(client -> client.streamingOps(mapper, consumer));
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
+        return new TarantoolSQLOps<Object, Long, List<Map<String, Object>>>() {
+            @Override
+            public Long update(String sql, Object... bind) {
+                return stripes[nextStripe()].sqlSyncOps().update(sql, bind);
+            }
+
+            @Override
+            public List<Map<String, Object>> query(String sql, Object... bind) {
+                return stripes[nextStripe()].sqlSyncOps().query(sql, bind);
+            }
+        };
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> sqlAsyncOps() {
+        return new TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>>() {
+            @Override
+            public Future<Long> update(String sql, Object... bind) {
+                return stripes[nextStripe()].sqlAsyncOps().update(sql, bind);
+            }
+
+            @Override
+            public Future<List<Map<String, Object>>> query(String sql, Object... bind) {
+                return stripes[nextStripe()].sqlAsyncOps().query(sql, bind);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        for (TarantoolClientImpl stripe : stripes) {
+            if (stripe != null) {
+                stripe.close();
+            }
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        for (TarantoolClientImpl stripe : stripes) {
+            if (stripe.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isClosed() {
+        for (TarantoolClientImpl stripe : stripes) {
+            if (!stripe.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until all the stripes are alive.
+     */
+    @Override
+    public void waitAlive() throws InterruptedException {
+        for (TarantoolClientImpl stripe : stripes) {
+            stripe.waitAlive();
+        }
+    }
+
+    /**
+     * Waits until all the stripes are alive.
+     */
+    @Override
+    public boolean waitAlive(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (TarantoolClientImpl stripe : stripes) {
+            long remaining = deadline - System.nanoTime();
+            if (!stripe.waitAlive(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends each operation through the operations view
+     * of the stripe chosen for the request.
+     */
+    protected class StripedOps<R> implements TarantoolClientOps<Integer, List<?>, Object, R> {
+
+        private final List<TarantoolClientOps<Integer, List<?>, Object, R>> stripeOps;
+
+        public StripedOps(Function<TarantoolClient, TarantoolClientOps<Integer, List<?>, Object, R>> factory) {
+            this.stripeOps = new ArrayList<>(stripes.length);
+            for (TarantoolClientImpl stripe : stripes) {
+                stripeOps.add(factory.apply(stripe));
+            }
+        }
+
+        private TarantoolClientOps<Integer, List<?>, Object, R> next() {
+            return stripeOps.get(nextStripe());
+        }
+
+        @Override
+        public R select(Integer space, Integer index, List<?> key, int offset, int limit, int iterator) {
+            return next().select(space, index, key, offset, limit, iterator);
+        }
+
+        @Override
+        public R select(Integer space, Integer index, List<?> key, int offset, int limit, Iterator iterator) {
+            return next().select(space, index, key, offset, limit, iterator);
+        }
+
+        @Override
+        public R insert(Integer space, List<?> tuple) {
+            return next().insert(space, tuple);
+        }
+
+        @Override
+        public R replace(Integer space, List<?> tuple) {
+            return next().replace(space, tuple);
+        }
+
+        @Override
+        public R update(Integer space, List<?> key, Object... tuple) {
+            return next().update(space, key, tuple);
+        }
+
+        @Override
+        public R upsert(Integer space, List<?> key, List<?> defTuple, Object... ops) {
+            return next().upsert(space, key, defTuple, ops);
+        }
+
+        @Override
+        public R delete(Integer space, List<?> key) {
+            return next().delete(space, key);
+        }
+
+        @Override
+        public R call(String function, Object... args) {
+            return next().call(function, args);
+        }
+
+        @Override
+        public R eval(String expression, Object... args) {
+            return next().eval(expression, args);
+        }
+
+        @Override
+        public void ping() {
+            next().ping();
+        }
+
+        /**
+         * Closes the views of all the stripes, which either
+         * fails or closes the stripes like {@link TarantoolClientImpl} does.
+         */
+        @Override
+        public void close() {
+            for (TarantoolClientOps<Integer, List<?>, Object, R> ops : stripeOps) {
+                ops.close();
+            }
+        }
+
+    }
+
+}
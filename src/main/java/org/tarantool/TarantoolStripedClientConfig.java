@@ -0,0 +1,39 @@
+package org.tarantool;
+
+/**
+ * Configuration for the {@link TarantoolStripedClient}.
+ */
+public class TarantoolStripedClientConfig extends TarantoolClientConfig {
+
+    /**
+     * Defines how a connection is chosen for a request.
+     */
+    public enum Striping {
+
+        /**
+         * Requests of the same thread go through the same connection
+         * while it is alive. It keeps the order of requests issued
+         * by one thread.
+         */
+        THREAD_AFFINITY,
+
+        /**
+         * A request goes through the alive connection
+         * which has the least number of in-flight requests.
+         */
+        LEAST_IN_FLIGHT
+
+    }
+
+    /**
+     * Number of connections to the node. {@code 0} means
+     * one connection per available processor.
+     */
+    public int stripes = 0;
+
+    /**
+     * The way requests are distributed between connections.
+     */
+    public Striping striping = Striping.LEAST_IN_FLIGHT;
+
+}
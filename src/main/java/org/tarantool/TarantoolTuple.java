@@ -0,0 +1,171 @@
+package org.tarantool;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tuple backed by its raw MsgPack bytes.
+ *
+ * <p>
+ * Offsets of the fields are indexed once when the tuple is created
+ * and each accessor decodes the requested field only. Primitive
+ * accessors do not box values regardless of the width they are
+ * encoded with.
+ *
+ * <p>
+ * The tuple keeps a reference to the buffer of the response and
+ * the class is not thread-safe.
+ *
+ * @see ResultMapper#tuples()
+ */
+public class TarantoolTuple {
+
+    /**
+     * Indexes a tuple at the reader position.
+     */
+    public static final TupleMapper<TarantoolTuple> MAPPER = TarantoolTuple::read;
+
+    private final MsgPackReader reader;
+    private final int[] offsets;
+
+    protected TarantoolTuple(ByteBuffer buffer, int[] offsets) {
+        this.reader = new MsgPackReader().wrap(buffer, offsets[0], offsets[offsets.length - 1]);
+        this.offsets = offsets;
+    }
+
+    /**
+     * Reads a tuple which the reader is positioned at.
+     *
+     * @param reader reader positioned at a MsgPack array
+     *
+     * @return tuple backed by the reader buffer
+     */
+    public static TarantoolTuple read(MsgPackReader reader) {
+        int size = reader.unpackArrayHeader();
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i] = reader.position();
+            reader.skipValue();
+        }
+        offsets[size] = reader.position();
+        return new TarantoolTuple(reader.getBuffer(), offsets);
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public boolean isNull(int index) {
+        return at(index).peekFormat() == (MsgPackLite.MP_NULL & 0xff);
+    }
+
+    public boolean getBoolean(int index) {
+        return at(index).unpackBoolean();
+    }
+
+    /**
+     * Gets an integer field.
+     *
+     * @param index field index
+     *
+     * @return field value
+     *
+     * @throws ArithmeticException if the value does not fit an int
+     */
+    public int getInt(int index) {
+        return Math.toIntExact(at(index).unpackLong());
+    }
+
+    public long getLong(int index) {
+        return at(index).unpackLong();
+    }
+
+    /**
+     * Gets a number field as a double. Integers
+     * are converted as well.
+     *
+     * @param index field index
+     *
+     * @return field value
+     */
+    public double getDouble(int index) {
+        return at(index).unpackDouble();
+    }
+
+    /**
+     * Gets a string field.
+     *
+     * @param index field index
+     *
+     * @return field value or {@code null} if it is nil
+     */
+    public String getString(int index) {
+        MsgPackReader reader = at(index);
+        return reader.tryUnpackNil() ? null : reader.unpackString();
+    }
+
+    /**
+     * Gets a binary field.
+     *
+     * @param index field index
+     *
+     * @return field value or {@code null} if it is nil
+     */
+    public byte[] getBytes(int index) {
+        MsgPackReader reader = at(index);
+        return reader.tryUnpackNil() ? null : reader.unpackBinary();
+    }
+
+    /**
+     * Decodes a field of any type the same way as {@link MsgPackLite} does.
+     *
+     * @param index field index
+     *
+     * @return field value
+     */
+    public Object getObject(int index) {
+        return MsgPackLite.INSTANCE.unpack(at(index));
+    }
+
+    /**
+     * Gets raw MsgPack bytes of a field.
+     *
+     * @param index field index
+     *
+     * @return read-only buffer
+     */
+    public ByteBuffer getRaw(int index) {
+        at(index);
+        ByteBuffer raw = reader.getBuffer().asReadOnlyBuffer();
+        raw.limit(offsets[index + 1]).position(offsets[index]);
+        return raw.slice();
+    }
+
+    /**
+     * Decodes all the fields.
+     *
+     * @return list of the fields
+     */
+    public List<Object> toList() {
+        List<Object> fields = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            fields.add(getObject(i));
+        }
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return "TarantoolTuple" + toList();
+    }
+
+    private MsgPackReader at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        reader.position(offsets[index]);
+        return reader;
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.tarantool;
+
+/**
+ * Decodes a single tuple straight from MsgPack data into
+ * a user object avoiding an intermediate {@code List<Object>}.
+ *
+ * @param <T> type of the decoded object
+ *
+ * @see ResultMapper#list(TupleMapper)
+ */
+@FunctionalInterface
+public interface TupleMapper<T> {
+
+    /**
+     * Decodes a tuple at the current reader position.
+     * Implementation must consume the whole tuple including
+     * the fields it is not interested in (see {@link MsgPackReader#skipValue()}).
+     *
+     * @param reader reader positioned at the tuple array
+     *
+     * @return decoded object
+     */
+    T map(MsgPackReader reader);
+
+}
@@ -0,0 +1,36 @@
+package org.tarantool;
+
+/**
+ * Defines how a thread waits for another one when they exchange
+ * requests via a {@link RequestRing}. Strategies which do not block
+ * reduce the latency at the cost of burning CPU while idle.
+ *
+ * @see TarantoolClientConfig#writerWaitStrategy
+ * @see TarantoolClientConfig#producerWaitStrategy
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins in a loop checking the condition.
+     * It has the lowest latency and keeps a core busy.
+     */
+    BUSY_SPIN,
+
+    /**
+     * Yields the processor to other threads between
+     * the checks of the condition.
+     */
+    YIELDING,
+
+    /**
+     * Sleeps a fixed short time between the checks of the condition.
+     * It does not require the other side to signal.
+     */
+    SLEEPING,
+
+    /**
+     * Blocks until the other side signals.
+     */
+    BLOCKING
+
+}
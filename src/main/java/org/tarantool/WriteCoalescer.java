@@ -0,0 +1,127 @@
+package org.tarantool;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when the writer thread sends a batch of requests.
+ *
+ * <p>
+ * A batch is sent as soon as it reaches the max size in bytes or
+ * in requests. Otherwise, when there are no more requests to be sent,
+ * the writer may wait for new ones while the batch is younger than
+ * the latency budget. The coalescer tracks the average interval
+ * between requests and does not wait when the next request is not
+ * expected to arrive within the rest of the budget, so idle or
+ * lightly loaded clients do not pay the latency for nothing.
+ *
+ * <p>
+ * The class is not thread-safe and is used by the writer thread only.
+ *
+ * @see TarantoolClientConfig#writeCoalescingBudgetMicros
+ */
+public class WriteCoalescer {
+
+    /**
+     * Weight of the last observed interval in the average
+     * is {@code 1 / 2^AVERAGE_SHIFT}.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final int maxBytes;
+    private final int maxRequests;
+    private final long budgetNanos;
+    private final TarantoolClientStats stats;
+
+    private int batchBytes;
+    private int batchRequests;
+    private long batchStartNanos;
+    private long lastFlushNanos = System.nanoTime();
+    private long averageIntervalNanos;
+    private boolean lingering;
+
+    /**
+     * Creates a coalescer.
+     *
+     * @param maxBytes     max size of a batch in bytes
+     * @param maxRequests  max number of requests in a batch
+     * @param budgetMicros max time to hold a batch; {@code 0} disables waiting
+     * @param stats        stats to be updated
+     */
+    public WriteCoalescer(int maxBytes, int maxRequests, long budgetMicros, TarantoolClientStats stats) {
+        if (maxBytes < 1 || maxRequests < 1 || budgetMicros < 0) {
+            throw new IllegalArgumentException("Coalescing limits must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.maxRequests = maxRequests;
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(budgetMicros);
+        this.stats = stats;
+    }
+
+    /**
+     * Accounts a request added to the batch.
+     *
+     * @param size request size in bytes
+     */
+    public void onRequest(int size) {
+        if (batchRequests == 0) {
+            batchStartNanos = System.nanoTime();
+        }
+        batchBytes += size;
+        batchRequests++;
+        if (lingering) {
+            lingering = false;
+            stats.writeCoalescingHits++;
+        }
+    }
+
+    public boolean isBatchFull() {
+        return batchBytes >= maxBytes || batchRequests >= maxRequests;
+    }
+
+    /**
+     * Gets time to wait for the next request.
+     *
+     * @return time in nanoseconds or {@code 0} if the batch
+     *     should be sent immediately
+     */
+    public long getLingerNanos() {
+        if (budgetNanos == 0 || batchRequests == 0) {
+            return 0;
+        }
+        long remaining = budgetNanos - (System.nanoTime() - batchStartNanos);
+        if (remaining <= 0) {
+            return 0;
+        }
+        if (averageIntervalNanos > remaining) {
+            stats.writeCoalescingSkips++;
+            return 0;
+        }
+        lingering = true;
+        return remaining;
+    }
+
+    /**
+     * Accounts the batch being sent and starts a new one.
+     */
+    public void onFlush() {
+        long now = System.nanoTime();
+        if (lingering) {
+            lingering = false;
+            stats.writeCoalescingMisses++;
+        }
+        if (batchRequests > 0) {
+            // long idle periods are capped to let the average recover quickly
+            long interval = Math.min((now - lastFlushNanos) / batchRequests, budgetNanos * 2);
+            averageIntervalNanos += (interval - averageIntervalNanos) >> AVERAGE_SHIFT;
+            stats.writeBatches++;
+        }
+        lastFlushNanos = now;
+        batchBytes = 0;
+        batchRequests = 0;
+    }
+
+    long getAverageIntervalNanos() {
+        return averageIntervalNanos;
+    }
+
+}
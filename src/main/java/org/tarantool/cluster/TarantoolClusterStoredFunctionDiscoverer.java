@@ -1,5 +1,6 @@
 package org.tarantool.cluster;
 
+import org.tarantool.RequestPriority;
 import org.tarantool.TarantoolClient;
 import org.tarantool.TarantoolClientOps;
 import org.tarantool.TarantoolClusterClientConfig;
@@ -32,7 +33,7 @@ public class TarantoolClusterStoredFunctionDiscoverer implements TarantoolCluste
 
     @Override
     public Set<String> getInstances() {
-        TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOperations = client.syncOps();
+        TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOperations = client.syncOps(RequestPriority.CONTROL);
 
         List<?> list = syncOperations.call(entryFunction);
         // discoverer expects a single array result from the function now;
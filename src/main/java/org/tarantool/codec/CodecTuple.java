@@ -0,0 +1,76 @@
+package org.tarantool.codec;
+
+import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackReader;
+import org.tarantool.MsgPackWriter;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Tuple argument backed by an object and its codec.
+ *
+ * <p>
+ * {@link MsgPackLite} encodes the object using the codec directly.
+ * The list view is built by decoding the encoded tuple on the first
+ * access and it is not intended to be used on hot paths.
+ *
+ * @param <T> type of the tuple object
+ *
+ * @see TupleCodec#tuple(Object)
+ */
+public final class CodecTuple<T> extends AbstractList<Object> {
+
+    private static final int INITIAL_SIZE = 256;
+
+    private final TupleCodec<T> codec;
+    private final T value;
+
+    private List<?> fields;
+
+    CodecTuple(TupleCodec<T> codec, T value) {
+        if (codec == null || value == null) {
+            throw new NullPointerException("Codec and value must not be null");
+        }
+        this.codec = codec;
+        this.value = value;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public void encode(MsgPackWriter writer) {
+        codec.encode(value, writer);
+    }
+
+    /**
+     * Encodes the tuple into a new heap buffer.
+     *
+     * @return buffer ready to be read
+     */
+    public ByteBuffer encode() {
+        MsgPackWriter writer = new MsgPackWriter(INITIAL_SIZE);
+        encode(writer);
+        return writer.toByteBuffer();
+    }
+
+    @Override
+    public Object get(int index) {
+        return fields().get(index);
+    }
+
+    @Override
+    public int size() {
+        return fields().size();
+    }
+
+    private synchronized List<?> fields() {
+        if (fields == null) {
+            fields = (List<?>) MsgPackLite.INSTANCE.unpack(new MsgPackReader(encode()));
+        }
+        return fields;
+    }
+
+}
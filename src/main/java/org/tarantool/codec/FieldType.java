@@ -0,0 +1,43 @@
+package org.tarantool.codec;
+
+/**
+ * MsgPack type of a {@link TupleField}.
+ */
+public enum FieldType {
+
+    /**
+     * Type is derived from the Java type of the field.
+     */
+    AUTO,
+
+    /**
+     * Signed or unsigned integer. Supported by integral fields.
+     */
+    INTEGER,
+
+    /**
+     * Single precision number. Supported by {@code float} and {@code double} fields.
+     */
+    FLOAT,
+
+    /**
+     * Double precision number. Supported by {@code float} and {@code double} fields.
+     */
+    DOUBLE,
+
+    /**
+     * UTF-8 string. Supported by {@code String} fields.
+     */
+    STRING,
+
+    /**
+     * Binary data. Supported by {@code byte[]} and {@code String} fields.
+     */
+    BINARY,
+
+    /**
+     * Boolean. Supported by {@code boolean} fields.
+     */
+    BOOLEAN
+
+}
@@ -0,0 +1,31 @@
+package org.tarantool.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class which is stored as a tarantool tuple.
+ *
+ * <p>
+ * {@link TupleCodecProcessor} generates a {@link TupleCodec}
+ * named {@code <ClassName>TupleCodec} in the same package for each
+ * annotated class. Fields encoded into the tuple are marked by
+ * {@link TupleField}. The class must have a non-private no-arg
+ * constructor, fields must be either non-private or have
+ * JavaBean accessors.
+ *
+ * <p>
+ * The processor is not a part of the connector jar. It is shipped
+ * in the jar with the {@code processor} classifier which has to be
+ * added to the annotation processor path of the application.
+ *
+ * @see TupleCodecs#of(Class)
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Tuple {
+}
@@ -0,0 +1,44 @@
+package org.tarantool.codec;
+
+import org.tarantool.MsgPackWriter;
+import org.tarantool.ResultMapper;
+import org.tarantool.TupleMapper;
+
+import java.util.List;
+
+/**
+ * Encodes and decodes objects of a class as tarantool tuples
+ * without intermediate {@code List<Object>} and boxing.
+ *
+ * <p>
+ * Implementations are generated by {@link TupleCodecProcessor}
+ * for classes annotated with {@link Tuple}. Being a {@link TupleMapper}
+ * a codec can be used to decode results of operations
+ * (see {@link ResultMapper#list(TupleMapper)}).
+ *
+ * @param <T> type of the tuple object
+ */
+public interface TupleCodec<T> extends TupleMapper<T> {
+
+    /**
+     * Encodes the value as a MsgPack array.
+     *
+     * @param value  object to be encoded
+     * @param writer target writer
+     */
+    void encode(T value, MsgPackWriter writer);
+
+    /**
+     * Wraps the value to be passed as a tuple argument of operations
+     * like {@code insert} or {@code replace}. The wrapper is encoded
+     * by this codec when the request is serialized.
+     *
+     * @param value object to be wrapped
+     *
+     * @return tuple wrapper
+     */
+    default List<?> tuple(T value) {
+        return new CodecTuple<>(this, value);
+    }
+
+}
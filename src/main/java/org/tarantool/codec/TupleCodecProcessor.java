@@ -0,0 +1,430 @@
+package org.tarantool.codec;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates {@link TupleCodec} implementations for classes
+ * annotated with {@link Tuple}.
+ *
+ * <p>
+ * Generated codecs read and write fields directly using
+ * {@link org.tarantool.MsgPackReader} and {@link org.tarantool.MsgPackWriter}
+ * so neither reflection nor boxing is involved at runtime.
+ */
+@SupportedAnnotationTypes("org.tarantool.codec.Tuple")
+public class TupleCodecProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Tuple.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Tuple can be applied to classes only");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Field> fields = collectFields(type);
+            if (fields != null && checkType(type)) {
+                generate(type, fields);
+            }
+        }
+        return true;
+    }
+
+    private boolean checkType(TypeElement type) {
+        boolean valid = true;
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@Tuple class cannot be abstract");
+            valid = false;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            error(type, "@Tuple class cannot be generic");
+            valid = false;
+        }
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                error(type, "@Tuple class cannot be private or nested in a private class");
+                valid = false;
+            }
+            if (((TypeElement) enclosing).getNestingKind() == NestingKind.MEMBER &&
+                !enclosing.getModifiers().contains(Modifier.STATIC)) {
+                error(type, "@Tuple class cannot be an inner class");
+                valid = false;
+            }
+        }
+        boolean hasConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                hasConstructor = true;
+            }
+        }
+        if (!hasConstructor) {
+            error(type, "@Tuple class must have a non-private no-arg constructor");
+            valid = false;
+        }
+        return valid;
+    }
+
+    private List<Field> collectFields(TypeElement type) {
+        List<Field> fields = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement variable : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            TupleField annotation = variable.getAnnotation(TupleField.class);
+            if (annotation == null) {
+                continue;
+            }
+            Field field = new Field(variable, annotation);
+            valid &= field.resolve(type);
+            fields.add(field);
+        }
+        if (fields.isEmpty()) {
+            error(type, "@Tuple class must have at least one @TupleField");
+            return null;
+        }
+        Collections.sort(fields, Comparator.comparingInt(field -> field.order));
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).order != i) {
+                error(fields.get(i).element, "@TupleField orders must be unique and contiguous starting from 0");
+                valid = false;
+                break;
+            }
+        }
+        return valid ? fields : null;
+    }
+
+    private void generate(TypeElement type, List<Field> fields) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1))
+            .replace('.', '_') + TupleCodecs.CODEC_SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("/**");
+                out.println(" * Codec of {@link " + typeName + "} generated by " +
+                    TupleCodecProcessor.class.getName() + ".");
+                out.println(" */");
+                out.println("public final class " + simpleName +
+                    " implements org.tarantool.codec.TupleCodec<" + typeName + "> {");
+                out.println();
+                out.println("    public static final " + simpleName + " INSTANCE = new " + simpleName + "();");
+                out.println();
+                writeEncode(out, typeName, fields);
+                out.println();
+                writeDecode(out, typeName, fields);
+                out.println();
+                out.println("}");
+            }
+        } catch (IOException e) {
+            error(type, "Cannot generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private void writeEncode(PrintWriter out, String typeName, List<Field> fields) {
+        out.println("    @Override");
+        out.println("    public void encode(" + typeName + " value, org.tarantool.MsgPackWriter writer) {");
+        out.println("        writer.packArrayHeader(" + fields.size() + ");");
+        for (Field field : fields) {
+            String local = "f" + field.order;
+            out.println("        " + field.javaType + " " + local + " = value." + field.getter + ";");
+            List<String> write = field.encodeStatements(local);
+            if (field.primitive) {
+                printStatements(out, "        ", write);
+            } else if (field.nullable) {
+                out.println("        if (" + local + " == null) {");
+                out.println("            writer.packNil();");
+                out.println("        } else {");
+                printStatements(out, "            ", write);
+                out.println("        }");
+            } else {
+                out.println("        if (" + local + " == null) {");
+                out.println("            throw new NullPointerException(\"" +
+                    typeName + "." + field.element.getSimpleName() + " must not be null\");");
+                out.println("        }");
+                printStatements(out, "        ", write);
+            }
+        }
+        out.println("    }");
+    }
+
+    private static void printStatements(PrintWriter out, String indent, List<String> statements) {
+        for (String statement : statements) {
+            out.println(indent + statement);
+        }
+    }
+
+    private void writeDecode(PrintWriter out, String typeName, List<Field> fields) {
+        out.println("    @Override");
+        out.println("    public " + typeName + " map(org.tarantool.MsgPackReader reader) {");
+        out.println("        int size = reader.unpackArrayHeader();");
+        out.println("        " + typeName + " value = new " + typeName + "();");
+        for (Field field : fields) {
+            String read = field.decodeExpression();
+            if (field.nullable) {
+                read = "reader.tryUnpackNil() ? null : " + read;
+            }
+            out.println("        if (size > " + field.order + ") {");
+            out.println("            value." + field.setter(read) + ";");
+            out.println("        }");
+        }
+        out.println("        for (int i = " + fields.size() + "; i < size; i++) {");
+        out.println("            reader.skipValue();");
+        out.println("        }");
+        out.println("        return value;");
+        out.println("    }");
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Describes how a single field is accessed and encoded.
+     */
+    private class Field {
+
+        private final VariableElement element;
+        private final int order;
+        private final boolean nullable;
+        private FieldType type;
+
+        private String javaType;
+        private TypeKind kind;
+        private boolean primitive;
+        private String getter;
+        private String setterName;
+
+        Field(VariableElement element, TupleField annotation) {
+            this.element = element;
+            this.order = annotation.order();
+            this.nullable = annotation.nullable();
+            this.type = annotation.type();
+        }
+
+        boolean resolve(TypeElement owner) {
+            TypeMirror mirror = element.asType();
+            javaType = mirror.toString();
+            primitive = mirror.getKind().isPrimitive();
+            if (primitive) {
+                kind = mirror.getKind();
+            } else if (mirror.getKind() == TypeKind.ARRAY &&
+                ((ArrayType) mirror).getComponentType().getKind() == TypeKind.BYTE) {
+                kind = TypeKind.ARRAY;
+            } else {
+                kind = unbox(javaType);
+                if (kind == null) {
+                    error(element, "Unsupported @TupleField type " + javaType);
+                    return false;
+                }
+            }
+            if (primitive && nullable) {
+                error(element, "Primitive @TupleField cannot be nullable");
+                return false;
+            }
+            if (element.getModifiers().contains(Modifier.STATIC)) {
+                error(element, "@TupleField cannot be static");
+                return false;
+            }
+            if (!resolveType()) {
+                error(element, "@TupleField of type " + javaType + " cannot be stored as " + type);
+                return false;
+            }
+            return resolveAccessors(owner);
+        }
+
+        private TypeKind unbox(String name) {
+            switch (name) {
+            case "java.lang.Boolean":
+                return TypeKind.BOOLEAN;
+            case "java.lang.Byte":
+                return TypeKind.BYTE;
+            case "java.lang.Short":
+                return TypeKind.SHORT;
+            case "java.lang.Integer":
+                return TypeKind.INT;
+            case "java.lang.Long":
+                return TypeKind.LONG;
+            case "java.lang.Float":
+                return TypeKind.FLOAT;
+            case "java.lang.Double":
+                return TypeKind.DOUBLE;
+            case "java.lang.String":
+                return TypeKind.DECLARED;
+            default:
+                return null;
+            }
+        }
+
+        private boolean resolveType() {
+            FieldType auto;
+            List<FieldType> allowed = new ArrayList<>();
+            switch (kind) {
+            case BOOLEAN:
+                auto = FieldType.BOOLEAN;
+                break;
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                auto = FieldType.INTEGER;
+                break;
+            case FLOAT:
+                auto = FieldType.FLOAT;
+                allowed.add(FieldType.DOUBLE);
+                break;
+            case DOUBLE:
+                auto = FieldType.DOUBLE;
+                allowed.add(FieldType.FLOAT);
+                break;
+            case DECLARED:
+                auto = FieldType.STRING;
+                allowed.add(FieldType.BINARY);
+                break;
+            default:
+                auto = FieldType.BINARY;
+                break;
+            }
+            allowed.add(auto);
+            if (type == FieldType.AUTO) {
+                type = auto;
+            }
+            return allowed.contains(type);
+        }
+
+        private boolean resolveAccessors(TypeElement owner) {
+            String name = element.getSimpleName().toString();
+            if (!element.getModifiers().contains(Modifier.PRIVATE)) {
+                getter = name;
+                setterName = null;
+                return true;
+            }
+            String property = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            String getterName = null;
+            for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.PRIVATE) ||
+                    method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                String methodName = method.getSimpleName().toString();
+                if (method.getParameters().isEmpty() &&
+                    (methodName.equals("get" + property) ||
+                        kind == TypeKind.BOOLEAN && primitive && methodName.equals("is" + property)) &&
+                    processingEnv.getTypeUtils().isSameType(method.getReturnType(), element.asType())) {
+                    getterName = methodName;
+                }
+                if (method.getParameters().size() == 1 && methodName.equals("set" + property) &&
+                    processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(),
+                        element.asType())) {
+                    setterName = methodName;
+                }
+            }
+            if (getterName == null || setterName == null) {
+                error(element, "Private @TupleField must have a non-private getter and setter");
+                return false;
+            }
+            getter = getterName + "()";
+            return true;
+        }
+
+        String setter(String expression) {
+            String name = element.getSimpleName().toString();
+            return setterName == null ? name + " = " + expression : setterName + "(" + expression + ")";
+        }
+
+        /**
+         * Makes statements which write the value of the local variable.
+         * A string written as binary is encoded once into its own local.
+         */
+        List<String> encodeStatements(String local) {
+            switch (type) {
+            case BOOLEAN:
+                return Collections.singletonList("writer.packBoolean(" + local + ");");
+            case INTEGER:
+                return Collections.singletonList("writer.packLong(" + local + ");");
+            case FLOAT:
+                if (kind == TypeKind.FLOAT) {
+                    return Collections.singletonList("writer.packFloat(" + local + ");");
+                }
+                return Collections.singletonList(
+                    "writer.packFloat(" + (primitive ? "(float) " + local : local + ".floatValue()") + ");"
+                );
+            case DOUBLE:
+                return Collections.singletonList("writer.packDouble(" + local + ");");
+            case STRING:
+                return Collections.singletonList("writer.packString(" + local + ");");
+            default:
+                if (kind == TypeKind.ARRAY) {
+                    return Collections.singletonList("writer.packBinary(" + local + ", 0, " + local + ".length);");
+                }
+                String bytes = local + "Bytes";
+                return Arrays.asList(
+                    "byte[] " + bytes + " = " + local + ".getBytes(java.nio.charset.StandardCharsets.UTF_8);",
+                    "writer.packBinary(" + bytes + ", 0, " + bytes + ".length);"
+                );
+            }
+        }
+
+        String decodeExpression() {
+            switch (kind) {
+            case BOOLEAN:
+                return "reader.unpackBoolean()";
+            case BYTE:
+                return TupleCodecs.class.getName() + ".toByteExact(reader.unpackLong())";
+            case SHORT:
+                return TupleCodecs.class.getName() + ".toShortExact(reader.unpackLong())";
+            case INT:
+                return "Math.toIntExact(reader.unpackLong())";
+            case LONG:
+                return "reader.unpackLong()";
+            case FLOAT:
+                return "(float) reader.unpackDouble()";
+            case DOUBLE:
+                return "reader.unpackDouble()";
+            case DECLARED:
+                return type == FieldType.STRING ?
+                    "reader.unpackString()" :
+                    "new String(reader.unpackBinary(), java.nio.charset.StandardCharsets.UTF_8)";
+            default:
+                return "reader.unpackBinary()";
+            }
+        }
+
+    }
+
+}
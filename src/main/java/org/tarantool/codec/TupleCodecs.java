@@ -0,0 +1,97 @@
+package org.tarantool.codec;
+
+/**
+ * Looks up codecs generated by {@link TupleCodecProcessor}.
+ */
+public final class TupleCodecs {
+
+    /**
+     * Suffix of generated codec class names.
+     */
+    public static final String CODEC_SUFFIX = "TupleCodec";
+
+    private static final ClassValue<TupleCodec<?>> CODECS = new ClassValue<TupleCodec<?>>() {
+        @Override
+        protected TupleCodec<?> computeValue(Class<?> type) {
+            String codecName = codecName(type);
+            try {
+                Class<?> codecClass = Class.forName(codecName, true, type.getClassLoader());
+                return (TupleCodec<?>) codecClass.getField("INSTANCE").get(null);
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalArgumentException(
+                    "Cannot find codec " + codecName + " for " + type.getName() +
+                        ". Make sure the class is annotated with @Tuple", e
+                );
+            }
+        }
+    };
+
+    private TupleCodecs() {
+    }
+
+    /**
+     * Gets a generated codec of the class. The lookup is
+     * performed once per class.
+     *
+     * @param type class annotated with {@link Tuple}
+     * @param <T>  type of the tuple object
+     *
+     * @return codec instance
+     *
+     * @throws IllegalArgumentException if the codec is not generated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TupleCodec<T> of(Class<T> type) {
+        return (TupleCodec<T>) CODECS.get(type);
+    }
+
+    /**
+     * Narrows a decoded integer to a {@code byte} field.
+     * Used by generated codecs.
+     *
+     * @param value decoded value
+     *
+     * @return the value as a {@code byte}
+     *
+     * @throws ArithmeticException if the value does not fit into a {@code byte}
+     */
+    public static byte toByteExact(long value) {
+        if ((byte) value != value) {
+            throw new ArithmeticException("byte overflow: " + value);
+        }
+        return (byte) value;
+    }
+
+    /**
+     * Narrows a decoded integer to a {@code short} field.
+     * Used by generated codecs.
+     *
+     * @param value decoded value
+     *
+     * @return the value as a {@code short}
+     *
+     * @throws ArithmeticException if the value does not fit into a {@code short}
+     */
+    public static short toShortExact(long value) {
+        if ((short) value != value) {
+            throw new ArithmeticException("short overflow: " + value);
+        }
+        return (short) value;
+    }
+
+    /**
+     * Gets a fully qualified name of the codec class.
+     * A nested class {@code a.b.Outer.Inner} gets
+     * {@code a.b.Outer_InnerTupleCodec}.
+     *
+     * @param type tuple class
+     *
+     * @return codec class name
+     */
+    static String codecName(Class<?> type) {
+        String name = type.getName();
+        int packageEnd = name.lastIndexOf('.') + 1;
+        return name.substring(0, packageEnd) + name.substring(packageEnd).replace('$', '_') + CODEC_SUFFIX;
+    }
+
+}
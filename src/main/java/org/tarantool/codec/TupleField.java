@@ -0,0 +1,40 @@
+package org.tarantool.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of a {@link Tuple} class.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface TupleField {
+
+    /**
+     * Zero-based position of the field in the tuple.
+     * Positions of the class fields must be contiguous.
+     *
+     * @return field position
+     */
+    int order();
+
+    /**
+     * MsgPack type used to store the field.
+     *
+     * @return field type
+     */
+    FieldType type() default FieldType.AUTO;
+
+    /**
+     * Whether the field can be {@code nil}.
+     * Primitive fields cannot be nullable.
+     *
+     * @return {@code true} if the field is nullable
+     */
+    boolean nullable() default false;
+
+}
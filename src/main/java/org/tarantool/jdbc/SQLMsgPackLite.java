@@ -1,6 +1,7 @@
 package org.tarantool.jdbc;
 
 import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackWriter;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -15,16 +16,24 @@ public class SQLMsgPackLite extends MsgPackLite {
 
     @Override
     public void pack(Object item, OutputStream os) throws IOException {
+        super.pack(toPackable(item), os);
+    }
+
+    @Override
+    public void pack(Object item, MsgPackWriter out) {
+        super.pack(toPackable(item), out);
+    }
+
+    private Object toPackable(Object item) {
         if (item instanceof Date) {
-            super.pack(((Date) item).getTime(), os);
+            return ((Date) item).getTime();
         } else if (item instanceof Time) {
-            super.pack(((Time) item).getTime(), os);
+            return ((Time) item).getTime();
         } else if (item instanceof Timestamp) {
-            super.pack(((Timestamp) item).getTime(), os);
+            return ((Timestamp) item).getTime();
         } else if (item instanceof BigDecimal) {
-            super.pack(((BigDecimal) item).toPlainString(), os);
-        } else {
-            super.pack(item, os);
+            return ((BigDecimal) item).toPlainString();
         }
+        return item;
     }
 }
@@ -0,0 +1,152 @@
+package org.tarantool.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of byte buffers with power of two capacities.
+ *
+ * <p>
+ * It is intended for rarely needed large buffers, like ones
+ * holding responses which do not fit a regular receive buffer,
+ * so that they are not allocated for each such response.
+ * Buffers larger than the max pooled capacity are neither
+ * pooled nor reused. The total capacity of the pooled buffers
+ * is bounded too, so a pool may be shared by many connections.
+ *
+ * <p>
+ * The class is thread-safe.
+ */
+public class ByteBufferPool {
+
+    private static final int MIN_CAPACITY_SHIFT = 10;
+
+    private final boolean direct;
+    private final int maxPooledCapacity;
+    private final int maxBuffersPerCapacity;
+    private final long maxPooledBytes;
+    private final List<ArrayDeque<ByteBuffer>> buffers;
+    private final AtomicLong pooledBytes = new AtomicLong();
+
+    /**
+     * Creates a pool.
+     *
+     * @param direct                whether to allocate direct buffers
+     * @param maxPooledCapacity     max capacity of a buffer to be kept in the pool
+     * @param maxBuffersPerCapacity max number of buffers having the same capacity
+     *                              to be kept in the pool
+     */
+    public ByteBufferPool(boolean direct, int maxPooledCapacity, int maxBuffersPerCapacity) {
+        this(direct, maxPooledCapacity, maxBuffersPerCapacity, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param direct                whether to allocate direct buffers
+     * @param maxPooledCapacity     max capacity of a buffer to be kept in the pool
+     * @param maxBuffersPerCapacity max number of buffers having the same capacity
+     *                              to be kept in the pool
+     * @param maxPooledBytes        max total capacity of the buffers kept in the pool
+     */
+    public ByteBufferPool(boolean direct, int maxPooledCapacity, int maxBuffersPerCapacity, long maxPooledBytes) {
+        if (maxPooledCapacity <= 0 || maxBuffersPerCapacity < 0 || maxPooledBytes < 0) {
+            throw new IllegalArgumentException("Pool capacities must be positive");
+        }
+        this.direct = direct;
+        this.maxPooledCapacity = maxPooledCapacity;
+        this.maxBuffersPerCapacity = maxBuffersPerCapacity;
+        this.maxPooledBytes = maxPooledBytes;
+        int count = indexOf(maxPooledCapacity) + 1;
+        this.buffers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            buffers.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Gets the total capacity of the buffers kept in the pool.
+     *
+     * @return pooled bytes
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool or allocates a new one.
+     *
+     * @param minCapacity min capacity of the buffer
+     *
+     * @return buffer having at least the requested capacity
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        if (minCapacity > maxPooledCapacity) {
+            return allocate(minCapacity);
+        }
+        int index = indexOf(minCapacity);
+        ArrayDeque<ByteBuffer> pooled = buffers.get(index);
+        ByteBuffer buffer;
+        synchronized (pooled) {
+            buffer = pooled.pollFirst();
+        }
+        if (buffer == null) {
+            return allocate(1 << (index + MIN_CAPACITY_SHIFT));
+        }
+        pooledBytes.addAndGet(-buffer.capacity());
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer acquired from the pool back. The buffer
+     * must not be used after that.
+     *
+     * @param buffer buffer to be released
+     */
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        boolean pooled = capacity <= maxPooledCapacity &&
+            capacity >= 1 << MIN_CAPACITY_SHIFT &&
+            Integer.bitCount(capacity) == 1 &&
+            buffer.isDirect() == direct;
+        if (!pooled) {
+            return;
+        }
+        ArrayDeque<ByteBuffer> queue = buffers.get(indexOf(capacity));
+        buffer.clear();
+        synchronized (queue) {
+            if (queue.size() < maxBuffersPerCapacity && reserve(capacity)) {
+                queue.addFirst(buffer);
+            }
+        }
+    }
+
+    private boolean reserve(int capacity) {
+        while (true) {
+            long current = pooledBytes.get();
+            if (current + capacity > maxPooledBytes) {
+                return false;
+            }
+            if (pooledBytes.compareAndSet(current, current + capacity)) {
+                return true;
+            }
+        }
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private static int indexOf(int capacity) {
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+        return Math.max(shift - MIN_CAPACITY_SHIFT, 0);
+    }
+
+}
@@ -0,0 +1,242 @@
+package org.tarantool.protocol;
+
+import org.tarantool.CommunicationException;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackReader;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Tarantool packet which keeps the raw frame bytes.
+ *
+ * <p>
+ * Only the header fields required for routing (code, sync and schema id)
+ * are decoded when the packet is created. The body is decoded on the first
+ * call of {@link #getBody()}, and {@link #getData()} returns a list view which
+ * decodes its elements one by one when they are accessed. Callers interested
+ * in the bytes only may use {@link #getRawBody()} or {@link #getRawData()}
+ * and skip decoding entirely.
+ *
+ * <p>
+ * The packet owns the frame buffer, so the buffer must not be reused
+ * after the packet is created.
+ */
+public class LazyTarantoolPacket extends TarantoolPacket {
+
+    private final ByteBuffer frame;
+    private final MsgPackLite msgPackLite;
+
+    private final long code;
+    private final long sync;
+    private final Long schemaId;
+
+    private final int headersStart;
+    private final int bodyStart;
+    private boolean dataLocated;
+    private int dataStart = -1;
+    private int dataEnd = -1;
+
+    private Map<Integer, Object> headers;
+    private Map<Integer, Object> body;
+    private Object data;
+
+    /**
+     * Creates a packet over the frame.
+     *
+     * @param frame       packet bytes without the size prefix starting
+     *                    at the buffer position
+     * @param msgPackLite unpacker used to decode values on demand
+     *
+     * @throws CommunicationException if the frame is malformed
+     */
+    public LazyTarantoolPacket(ByteBuffer frame, MsgPackLite msgPackLite) {
+        this.frame = frame;
+        this.msgPackLite = msgPackLite;
+
+        MsgPackReader reader = new MsgPackReader(frame);
+        try {
+            headersStart = reader.position();
+            long code = 0;
+            long sync = 0;
+            Long schemaId = null;
+            for (int i = reader.unpackMapHeader(); i > 0; i--) {
+                long key = reader.unpackLong();
+                if (key == Key.CODE.getId()) {
+                    code = reader.unpackLong();
+                } else if (key == Key.SYNC.getId()) {
+                    sync = reader.unpackLong();
+                } else if (key == Key.SCHEMA_ID.getId()) {
+                    schemaId = reader.unpackLong();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            this.code = code;
+            this.sync = sync;
+            this.schemaId = schemaId;
+
+            bodyStart = reader.position();
+        } catch (RuntimeException e) {
+            throw new CommunicationException("Error while unpacking headers of tarantool response", e);
+        }
+    }
+
+    @Override
+    public Long getCode() {
+        return code;
+    }
+
+    @Override
+    public Long getSync() {
+        return sync;
+    }
+
+    @Override
+    public Long getSchemaId() {
+        return schemaId;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized Map<Integer, Object> getHeaders() {
+        if (headers == null) {
+            headers = (Map<Integer, Object>) msgPackLite.unpack(reader(headersStart, bodyStart));
+        }
+        return headers;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized Map<Integer, Object> getBody() {
+        if (body == null && bodyStart < frame.limit()) {
+            body = (Map<Integer, Object>) msgPackLite.unpack(reader(bodyStart, frame.limit()));
+        }
+        return body;
+    }
+
+    /**
+     * Gets {@link Key#DATA} of the body. An array is returned as
+     * an unmodifiable list which decodes its elements on access.
+     *
+     * @return data or {@code null} if it is absent
+     */
+    @Override
+    public synchronized Object getData() {
+        if (data == null && locateData()) {
+            MsgPackReader reader = reader(dataStart, dataEnd);
+            if (reader.isArrayNext()) {
+                data = new LazyList(reader);
+            } else {
+                data = msgPackLite.unpack(reader);
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public ByteBuffer getRawBody() {
+        return bodyStart < frame.limit() ? slice(bodyStart, frame.limit()) : null;
+    }
+
+    @Override
+    public synchronized ByteBuffer getRawData() {
+        return locateData() ? slice(dataStart, dataEnd) : null;
+    }
+
+    @Override
+    public boolean hasBody() {
+        return bodyStart < frame.limit() && super.hasBody();
+    }
+
+    /**
+     * Finds bounds of {@link Key#DATA} on the first call.
+     *
+     * @return {@code true} if the body contains data
+     */
+    private boolean locateData() {
+        if (!dataLocated) {
+            dataLocated = true;
+            if (bodyStart < frame.limit()) {
+                MsgPackReader reader = reader(bodyStart, frame.limit());
+                for (int i = reader.unpackMapHeader(); i > 0; i--) {
+                    long key = reader.unpackLong();
+                    if (key == Key.DATA.getId()) {
+                        dataStart = reader.position();
+                        reader.skipValue();
+                        dataEnd = reader.position();
+                        break;
+                    }
+                    reader.skipValue();
+                }
+            }
+        }
+        return dataStart >= 0;
+    }
+
+    private MsgPackReader reader(int from, int to) {
+        return new MsgPackReader().wrap(frame, from, to);
+    }
+
+    private ByteBuffer slice(int from, int to) {
+        ByteBuffer slice = frame.asReadOnlyBuffer();
+        slice.limit(to).position(from);
+        return slice.slice();
+    }
+
+    /**
+     * Array view over the raw data. Offsets of the elements are found
+     * by skipping the preceding ones, and each element is decoded once
+     * when it is accessed for the first time.
+     */
+    private class LazyList extends AbstractList<Object> implements RandomAccess {
+
+        private final Object undecoded = new Object();
+
+        private final MsgPackReader reader;
+        private final int size;
+        private final int[] offsets;
+        private final Object[] elements;
+        private int scanned;
+
+        LazyList(MsgPackReader reader) {
+            this.reader = reader;
+            this.size = reader.unpackArrayHeader();
+            this.offsets = new int[size + 1];
+            this.elements = new Object[size];
+            this.offsets[0] = reader.position();
+            Arrays.fill(elements, undecoded);
+        }
+
+        @Override
+        public synchronized Object get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            Object element = elements[index];
+            if (element == undecoded) {
+                if (index >= scanned) {
+                    reader.position(offsets[scanned]);
+                    while (scanned < index) {
+                        reader.skipValue();
+                        offsets[++scanned] = reader.position();
+                    }
+                }
+                reader.position(offsets[index]);
+                element = msgPackLite.unpack(reader);
+                elements[index] = element;
+            }
+            return element;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+}
@@ -6,9 +6,10 @@ import org.tarantool.CommunicationException;
 import org.tarantool.CountInputStreamImpl;
 import org.tarantool.Key;
 import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackReader;
+import org.tarantool.MsgPackWriter;
 import org.tarantool.TarantoolException;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -23,7 +24,6 @@ import java.nio.channels.SocketChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +31,11 @@ public abstract class ProtoUtils {
 
     public static final int LENGTH_OF_SIZE_MESSAGE = 5;
 
+    /**
+     * MsgPack UINT32 marker used to encode the packet size.
+     */
+    private static final int SIZE_PREFIX = 0xce;
+
     private static final int DEFAULT_INITIAL_REQUEST_SIZE = 4096;
     private static final String WELCOME = "Tarantool ";
 
@@ -73,19 +78,55 @@ public abstract class ProtoUtils {
      */
     public static TarantoolPacket readPacket(ReadableByteChannel bufferReader, MsgPackLite msgPackLite)
         throws CommunicationException, IOException {
+        return readPacket(new MsgPackReader(readFrame(bufferReader, msgPackLite)), msgPackLite);
+    }
+
+    /**
+     * Reads a tarantool's binary protocol packet from the reader
+     * decoding its body on demand.
+     *
+     * @param bufferReader readable channel that have to be in blocking mode
+     *                     or instance of {@link ReadableViaSelectorChannel}
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link LazyTarantoolPacket}
+     *
+     * @throws IOException                 if any IO-error occurred during read from the channel
+     * @throws CommunicationException      input stream bytes constitute msg pack message in wrong format
+     * @throws NonReadableChannelException If this channel was not opened for reading
+     */
+    public static LazyTarantoolPacket readLazyPacket(ReadableByteChannel bufferReader, MsgPackLite msgPackLite)
+        throws CommunicationException, IOException {
+        return new LazyTarantoolPacket(readFrame(bufferReader, msgPackLite), msgPackLite);
+    }
 
+    private static ByteBuffer readFrame(ReadableByteChannel bufferReader, MsgPackLite msgPackLite)
+        throws IOException {
         ByteBuffer buffer = ByteBuffer.allocate(LENGTH_OF_SIZE_MESSAGE);
         bufferReader.read(buffer);
 
         buffer.flip();
-        int size = ((Number) msgPackLite.unpack(new ByteBufferBackedInputStream(buffer))).intValue();
+        int size = ((Number) msgPackLite.unpack(new MsgPackReader(buffer))).intValue();
 
         buffer = ByteBuffer.allocate(size);
         bufferReader.read(buffer);
 
         buffer.flip();
-        ByteBufferBackedInputStream msgBytesStream = new ByteBufferBackedInputStream(buffer);
-        Object unpackedHeaders = msgPackLite.unpack(msgBytesStream);
+        return buffer;
+    }
+
+    /**
+     * Decodes a tarantool's binary protocol packet from the reader.
+     * The reader has to contain exactly one packet without the size prefix.
+     *
+     * @param reader      reader wrapping the packet bytes
+     * @param msgPackLite unpacker
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link TarantoolPacket}
+     *
+     * @throws CommunicationException bytes constitute msg pack message in wrong format
+     */
+    public static TarantoolPacket readPacket(MsgPackReader reader, MsgPackLite msgPackLite) {
+        Object unpackedHeaders = msgPackLite.unpack(reader);
         if (!(unpackedHeaders instanceof Map)) {
             //noinspection ConstantConditions
             throw new CommunicationException(
@@ -98,8 +139,8 @@ public abstract class ProtoUtils {
         Map<Integer, Object> headers = (Map<Integer, Object>) unpackedHeaders;
 
         Map<Integer, Object> body = null;
-        if (msgBytesStream.hasAvailable()) {
-            Object unpackedBody = msgPackLite.unpack(msgBytesStream);
+        if (reader.hasRemaining()) {
+            Object unpackedBody = msgPackLite.unpack(reader);
             if (!(unpackedBody instanceof Map)) {
                 //noinspection ConstantConditions
                 throw new CommunicationException(
@@ -229,6 +270,31 @@ public abstract class ProtoUtils {
         }
     }
 
+    /**
+     * Writes all the buffers using gathering writes.
+     *
+     * @param channel non-blocking or blocking channel
+     * @param buffers buffers to be written
+     * @param offset  index of the first buffer
+     * @param length  number of buffers
+     *
+     * @throws IOException if any IO-error occurred
+     */
+    public static void writeFully(SocketChannel channel, ByteBuffer[] buffers, int offset, int length)
+        throws IOException {
+        int last = offset + length - 1;
+        long code = 0;
+        while (buffers[last].remaining() > 0 && (code = channel.write(buffers, offset, length)) > -1) {
+            while (!buffers[offset].hasRemaining() && offset < last) {
+                offset++;
+                length--;
+            }
+        }
+        if (code < 0) {
+            throw new SocketException("write failed code: " + code);
+        }
+    }
+
     public static ByteBuffer createAuthPacket(String username,
                                               final String password,
                                               String salt,
@@ -276,39 +342,50 @@ public abstract class ProtoUtils {
                                           Long syncId,
                                           Long schemaId,
                                           Object... args) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream(initialRequestSize);
-        bos.write(new byte[5]);
-        final DataOutputStream ds = new DataOutputStream(bos);
-        Map<Key, Object> header = new EnumMap<>(Key.class);
-        Map<Key, Object> body = new EnumMap<>(Key.class);
-        header.put(Key.CODE, code);
-        header.put(Key.SYNC, syncId);
-        if (schemaId != null) {
-            header.put(Key.SCHEMA_ID, schemaId);
-        }
-        if (args != null) {
-            for (int i = 0, e = args.length; i < e; i += 2) {
-                Object value = args[i + 1];
-                body.put((Key) args[i], value);
-            }
-        }
-        msgPackLite.pack(header, ds);
-        msgPackLite.pack(body, ds);
-        ds.flush();
-        ByteBuffer buffer = bos.toByteBuffer();
-        buffer.put(0, (byte) 0xce);
-        buffer.putInt(1, bos.size() - 5);
-        return buffer;
+        MsgPackWriter writer = new MsgPackWriter(initialRequestSize);
+        writePacket(writer, msgPackLite, code, syncId, schemaId, args);
+        return writer.toByteBuffer();
     }
 
-    private static class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
-        public ByteArrayOutputStream(int size) {
-            super(size);
+    /**
+     * Encodes a tarantool binary protocol packet including its size prefix
+     * straight into the {@code writer} appending it to the bytes written
+     * before.
+     *
+     * @param writer      target writer
+     * @param msgPackLite packer used to encode arguments
+     * @param code        operation code
+     * @param syncId      request identifier
+     * @param schemaId    optional schema version
+     * @param args        pairs of a {@link Key} and its value
+     */
+    public static void writePacket(MsgPackWriter writer,
+                                   MsgPackLite msgPackLite,
+                                   Code code,
+                                   Long syncId,
+                                   Long schemaId,
+                                   Object... args) {
+        int start = writer.size();
+        writer.writeByte(SIZE_PREFIX);
+        writer.writeInt(0);
+
+        writer.packMapHeader(schemaId == null ? 2 : 3);
+        writer.packLong(Key.CODE.getId());
+        writer.packLong(code.getId());
+        writer.packLong(Key.SYNC.getId());
+        msgPackLite.pack(syncId, writer);
+        if (schemaId != null) {
+            writer.packLong(Key.SCHEMA_ID.getId());
+            writer.packLong(schemaId);
         }
 
-        ByteBuffer toByteBuffer() {
-            return ByteBuffer.wrap(buf, 0, count);
+        int argsCount = args == null ? 0 : args.length;
+        writer.packMapHeader(argsCount / 2);
+        for (int i = 0; i < argsCount; i += 2) {
+            writer.packLong(((Key) args[i]).getId());
+            msgPackLite.pack(args[i + 1], writer);
         }
+        writer.putInt(start + 1, writer.size() - start - LENGTH_OF_SIZE_MESSAGE);
     }
 
 }
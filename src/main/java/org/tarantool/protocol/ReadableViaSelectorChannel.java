@@ -51,6 +51,28 @@ public class ReadableViaSelectorChannel implements ReadableByteChannel {
         return count;
     }
 
+    /**
+     * Reads bytes which are available in the channel
+     * waiting until at least one byte is received.
+     *
+     * @param buffer target buffer having free space
+     *
+     * @return number of bytes read
+     *
+     * @throws IOException if any IO-error occurred
+     */
+    public int readAvailable(ByteBuffer buffer) throws IOException {
+        int n = channel.read(buffer);
+        while (n == 0) {
+            selector.select();
+            n = channel.read(buffer);
+        }
+        if (n < 0) {
+            throw new CommunicationException("Channel read failed: " + formatReadBytes(n));
+        }
+        return n;
+    }
+
     @Override
     public boolean isOpen() {
         return channel.isOpen();
@@ -0,0 +1,303 @@
+package org.tarantool.protocol;
+
+import org.tarantool.CommunicationException;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackReader;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resumable decoder of tarantool binary protocol responses.
+ *
+ * <p>
+ * The decoder is fed with chunks of bytes as they arrive from
+ * the network and keeps its state between the calls. A response
+ * is delivered in one of the ways chosen by {@link Handler#onHeader(long, long)}
+ * (see {@link Delivery}).
+ *
+ * <p>
+ * Whole frames are decoded straight from the passed buffer, so
+ * the buffer can be reused for the next chunks as soon as
+ * {@link #decode(ByteBuffer)} returns. Only frames requested to be
+ * retained are copied.
+ *
+ * <p>
+ * The class is not thread-safe.
+ */
+public class TarantoolFrameDecoder {
+
+    /**
+     * Ways to deliver a response.
+     */
+    public enum Delivery {
+
+        /**
+         * Decode the whole frame eagerly once all its bytes are received.
+         */
+        DECODE,
+
+        /**
+         * Copy the whole frame once all its bytes are received and
+         * deliver it as a {@link LazyTarantoolPacket}, which can be
+         * decoded later by another thread.
+         */
+        RETAIN,
+
+        /**
+         * Hand {@link Key#DATA} tuples to the handler one by one as
+         * soon as each of them is received, followed by the rest of
+         * the packet. The frame never has to be kept in memory entirely.
+         */
+        STREAM
+
+    }
+
+    /**
+     * Receives decoded responses.
+     */
+    public interface Handler {
+
+        /**
+         * Called when the header of a response is received.
+         *
+         * @param sync response sync id
+         * @param code response code
+         *
+         * @return the way to deliver the response
+         */
+        Delivery onHeader(long sync, long code);
+
+        /**
+         * Called for each {@link Key#DATA} tuple of a streamed response.
+         *
+         * @param sync   response sync id
+         * @param reader reader limited to the tuple bytes. It is valid
+         *               during the call only
+         */
+        void onTuple(long sync, MsgPackReader reader);
+
+        /**
+         * Called when a response is received completely. A packet
+         * of a streamed response contains no {@link Key#DATA}.
+         *
+         * @param packet received packet
+         */
+        void onPacket(TarantoolPacket packet);
+
+    }
+
+    private static final int SIZE = 0;
+    private static final int HEADER = 1;
+    private static final int FRAME = 2;
+    private static final int BODY = 3;
+    private static final int BODY_ENTRY = 4;
+    private static final int TUPLE = 5;
+
+    private final MsgPackLite msgPackLite;
+    private final Handler handler;
+    private final MsgPackReader reader = new MsgPackReader();
+    private final MsgPackReader tupleReader = new MsgPackReader();
+
+    private int state = SIZE;
+    private int frameSize;
+    private int frameRemaining;
+
+    private long sync;
+    private Delivery delivery;
+    private Map<Integer, Object> headers;
+    private Map<Integer, Object> body;
+    private int bodyEntries;
+    private int tuples;
+
+    public TarantoolFrameDecoder(MsgPackLite msgPackLite, Handler handler) {
+        this.msgPackLite = msgPackLite;
+        this.handler = handler;
+    }
+
+    /**
+     * Decodes as many bytes of the buffer as possible. The buffer
+     * position is moved past the consumed bytes; the remaining ones
+     * have to be passed again along with the next received chunk.
+     *
+     * @param buffer received bytes
+     *
+     * @throws CommunicationException if the bytes are not a valid response
+     */
+    public void decode(ByteBuffer buffer) {
+        try {
+            while (step(buffer)) {
+                // keep decoding
+            }
+        } catch (RuntimeException e) {
+            if (e instanceof CommunicationException) {
+                throw e;
+            }
+            throw new CommunicationException("Error while decoding tarantool response", e);
+        }
+    }
+
+    /**
+     * Gets a number of bytes the buffer should be able to hold
+     * to let the decoder proceed. It is known for whole frames only.
+     *
+     * @return required buffer capacity or {@code 0} if it is unknown
+     */
+    public int getRequiredCapacity() {
+        return state == FRAME ? frameSize : 0;
+    }
+
+    /**
+     * Checks whether the decoder is in the middle of a response.
+     *
+     * @return {@code true} if a response is partially decoded
+     */
+    public boolean isInFrame() {
+        return state != SIZE;
+    }
+
+    /**
+     * Makes one decoding step.
+     *
+     * @return {@code false} if more bytes are required
+     */
+    private boolean step(ByteBuffer buffer) {
+        int start = buffer.position();
+        int limit = state == SIZE ? buffer.limit() : Math.min(buffer.limit(), start + frameRemaining);
+        reader.wrap(buffer, start, limit);
+        try {
+            switch (state) {
+            case SIZE:
+                frameSize = (int) reader.unpackLong();
+                frameRemaining = frameSize;
+                buffer.position(reader.position());
+                state = HEADER;
+                return true;
+            case HEADER:
+                return readHeader(buffer);
+            case FRAME:
+                return readFrame(buffer);
+            case BODY:
+                bodyEntries = frameRemaining == 0 ? 0 : reader.unpackMapHeader();
+                consume(buffer);
+                state = BODY_ENTRY;
+                return true;
+            case BODY_ENTRY:
+                return readBodyEntry(buffer);
+            case TUPLE:
+                return readTuple(buffer);
+            default:
+                throw new IllegalStateException("Unknown state " + state);
+            }
+        } catch (BufferUnderflowException e) {
+            if (reader.limit() < buffer.limit()) {
+                throw new CommunicationException("Tarantool response is truncated", e);
+            }
+            return false;
+        }
+    }
+
+    private boolean readHeader(ByteBuffer buffer) {
+        long code = 0;
+        sync = 0;
+        for (int i = reader.unpackMapHeader(); i > 0; i--) {
+            long key = reader.unpackLong();
+            if (key == Key.CODE.getId()) {
+                code = reader.unpackLong();
+            } else if (key == Key.SYNC.getId()) {
+                sync = reader.unpackLong();
+            } else {
+                reader.skipValue();
+            }
+        }
+        delivery = handler.onHeader(sync, code);
+        if (delivery == Delivery.STREAM) {
+            reader.position(buffer.position());
+            headers = castMap(msgPackLite.unpack(reader));
+            body = new HashMap<>();
+            consume(buffer);
+            state = BODY;
+        } else {
+            state = FRAME;
+        }
+        return true;
+    }
+
+    private boolean readFrame(ByteBuffer buffer) {
+        if (buffer.remaining() < frameSize) {
+            return false;
+        }
+        TarantoolPacket packet;
+        if (delivery == Delivery.RETAIN) {
+            byte[] frame = new byte[frameSize];
+            buffer.get(frame);
+            packet = new LazyTarantoolPacket(ByteBuffer.wrap(frame), msgPackLite);
+        } else {
+            int end = buffer.position() + frameSize;
+            try {
+                packet = ProtoUtils.readPacket(reader.wrap(buffer, buffer.position(), end), msgPackLite);
+            } catch (BufferUnderflowException e) {
+                throw new CommunicationException("Tarantool response is truncated", e);
+            }
+            buffer.position(end);
+        }
+        state = SIZE;
+        handler.onPacket(packet);
+        return true;
+    }
+
+    private boolean readBodyEntry(ByteBuffer buffer) {
+        if (bodyEntries == 0) {
+            if (frameRemaining != 0) {
+                throw new CommunicationException("Unexpected " + frameRemaining + " bytes after tarantool response");
+            }
+            TarantoolPacket packet = new TarantoolPacket(headers, body);
+            headers = null;
+            body = null;
+            state = SIZE;
+            handler.onPacket(packet);
+            return true;
+        }
+        int key = (int) reader.unpackLong();
+        if (key == Key.DATA.getId() && reader.isArrayNext()) {
+            tuples = reader.unpackArrayHeader();
+            state = TUPLE;
+        } else {
+            body.put(key, msgPackLite.unpack(reader));
+        }
+        bodyEntries--;
+        consume(buffer);
+        return true;
+    }
+
+    private boolean readTuple(ByteBuffer buffer) {
+        if (tuples == 0) {
+            state = BODY_ENTRY;
+            return true;
+        }
+        int start = reader.position();
+        reader.skipValue();
+        int end = reader.position();
+        tuples--;
+        consume(buffer);
+        handler.onTuple(sync, tupleReader.wrap(buffer, start, end));
+        return true;
+    }
+
+    private void consume(ByteBuffer buffer) {
+        frameRemaining -= reader.position() - buffer.position();
+        buffer.position(reader.position());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, Object> castMap(Object value) {
+        if (!(value instanceof Map)) {
+            throw new CommunicationException("Error while unpacking headers of tarantool response");
+        }
+        return (Map<Integer, Object>) value;
+    }
+
+}
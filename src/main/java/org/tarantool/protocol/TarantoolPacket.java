@@ -2,6 +2,7 @@ package org.tarantool.protocol;
 
 import org.tarantool.Key;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 public class TarantoolPacket {
@@ -18,8 +19,16 @@ public class TarantoolPacket {
         body = null;
     }
 
+    /**
+     * Constructor for subclasses which provide headers and body on their own.
+     */
+    protected TarantoolPacket() {
+        this.headers = null;
+        this.body = null;
+    }
+
     public Long getCode() {
-        Object potenticalCode = headers.get(Key.CODE.getId());
+        Object potenticalCode = getHeaders().get(Key.CODE.getId());
 
         if (!(potenticalCode instanceof Long)) {
             //noinspection ConstantConditions
@@ -37,6 +46,11 @@ public class TarantoolPacket {
         return (Long) getHeaders().get(Key.SYNC.getId());
     }
 
+    public Long getSchemaId() {
+        Object schemaId = getHeaders().get(Key.SCHEMA_ID.getId());
+        return schemaId == null ? null : ((Number) schemaId).longValue();
+    }
+
     public Map<Integer, Object> getHeaders() {
         return headers;
     }
@@ -45,7 +59,42 @@ public class TarantoolPacket {
         return body;
     }
 
+    /**
+     * Gets a value of {@link Key#DATA} of the body.
+     *
+     * @return data or {@code null} if it is absent
+     */
+    public Object getData() {
+        Map<Integer, Object> body = getBody();
+        return body == null ? null : body.get(Key.DATA.getId());
+    }
+
+    /**
+     * Gets raw MsgPack bytes of the body if the packet keeps them.
+     *
+     * @return read-only buffer or {@code null} if the packet was
+     *     decoded eagerly or has no body
+     *
+     * @see LazyTarantoolPacket
+     */
+    public ByteBuffer getRawBody() {
+        return null;
+    }
+
+    /**
+     * Gets raw MsgPack bytes of {@link Key#DATA} if the packet keeps them.
+     *
+     * @return read-only buffer or {@code null} if the packet was
+     *     decoded eagerly or has no data
+     *
+     * @see LazyTarantoolPacket
+     */
+    public ByteBuffer getRawData() {
+        return null;
+    }
+
     public boolean hasBody() {
+        Map<Integer, Object> body = getBody();
         return body != null && body.size() > 0;
     }
 }
@@ -0,0 +1,262 @@
+package org.tarantool.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent hash map with primitive {@code long} keys.
+ *
+ * <p>
+ * The map is split into segments guarded by their own locks. Each segment
+ * is an open-addressing table with linear probing, so inserts and removals
+ * neither box the keys nor allocate entries. Tables grow and shrink with
+ * the number of entries, and the memory footprint follows the actual size
+ * of the map instead of a predicted one.
+ *
+ * <p>
+ * Null values are not permitted.
+ *
+ * @param <V> type of the values
+ */
+public class ConcurrentLongMap<V> {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+
+    public ConcurrentLongMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Creates a map.
+     *
+     * @param concurrency expected number of concurrently updating threads;
+     *                    it is rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongMap(int concurrency) {
+        if (concurrency < 1 || concurrency > 1 << 16) {
+            throw new IllegalArgumentException("Concurrency must be in range [1, 2^16]");
+        }
+        int count = Integer.highestOneBit(concurrency) == concurrency
+            ? concurrency
+            : Integer.highestOneBit(concurrency) << 1;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(Integer.numberOfTrailingZeros(count));
+        }
+        this.segmentMask = count - 1;
+    }
+
+    public V get(long key) {
+        long hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   key
+     * @param value non-null value
+     *
+     * @return previous value or {@code null}
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Value cannot be null");
+        }
+        long hash = hash(key);
+        return segmentFor(hash).put(key, hash, value);
+    }
+
+    public V remove(long key) {
+        long hash = hash(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Segment<V> segment : segments) {
+            if (segment.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the entries passing their values to the consumer.
+     * The consumer is called outside of the segment locks, so it may
+     * update the map. Entries added concurrently may be left in the map.
+     *
+     * @param consumer consumer of the removed values
+     */
+    public void drain(Consumer<? super V> consumer) {
+        List<V> values = new ArrayList<>();
+        for (Segment<V> segment : segments) {
+            segment.drainTo(values);
+            for (V value : values) {
+                consumer.accept(value);
+            }
+            values.clear();
+        }
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) hash & segmentMask];
+    }
+
+    /**
+     * Mixes the key bits using the finalizer of MurmurHash3.
+     */
+    private static long hash(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Segment<V> {
+
+        /**
+         * Number of low hash bits used to choose the segment.
+         */
+        private final int shift;
+
+        private long[] keys = new long[MIN_SEGMENT_CAPACITY];
+        private Object[] values = new Object[MIN_SEGMENT_CAPACITY];
+        private volatile int size;
+
+        Segment(int shift) {
+            this.shift = shift;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V get(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = slot(hash, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return (V) values[i];
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V put(long key, long hash, V value) {
+            int mask = keys.length - 1;
+            int i = slot(hash, mask);
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    V previous = (V) values[i];
+                    values[i] = value;
+                    return previous;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+            if (size > keys.length - (keys.length >>> 2)) {
+                resize(keys.length << 1);
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V remove(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = slot(hash, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    V previous = (V) values[i];
+                    delete(i);
+                    size--;
+                    if (keys.length > MIN_SEGMENT_CAPACITY && size < keys.length >>> 3) {
+                        resize(keys.length >>> 1);
+                    }
+                    return previous;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized void drainTo(List<V> target) {
+            if (size == 0) {
+                return;
+            }
+            for (Object value : values) {
+                if (value != null) {
+                    target.add((V) value);
+                }
+            }
+            keys = new long[MIN_SEGMENT_CAPACITY];
+            values = new Object[MIN_SEGMENT_CAPACITY];
+            size = 0;
+        }
+
+        /**
+         * Deletes the entry shifting the following entries of
+         * the probe sequence back, so no tombstones are needed.
+         */
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            values[hole] = null;
+            for (int i = (hole + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+                int home = slot(hash(keys[i]), mask);
+                // the entry can fill the hole if its home slot is not in (hole, i]
+                boolean movable = hole <= i
+                    ? home <= hole || home > i
+                    : home <= hole && home > i;
+                if (movable) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    values[i] = null;
+                    hole = i;
+                }
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[capacity];
+            values = new Object[capacity];
+            int mask = capacity - 1;
+            for (int j = 0; j < oldValues.length; j++) {
+                if (oldValues[j] != null) {
+                    int i = slot(hash(oldKeys[j]), mask);
+                    while (values[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private int slot(long hash, int mask) {
+            return (int) (hash >>> shift) & mask;
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.tarantool.util;
+
+/**
+ * Interfaces of flow-controlled publish-subscribe streams.
+ *
+ * <p>
+ * They repeat {@code java.util.concurrent.Flow} of Java 9 and the Reactive
+ * Streams specification method by method, so the connector keeps running
+ * on Java 8 while publishers can be bridged to either API by trivial
+ * adapters which delegate each call as is.
+ */
+public final class Flow {
+
+    private Flow() {
+    }
+
+    /**
+     * Producer of items received by subscribers.
+     *
+     * @param <T> type of the items
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+
+        /**
+         * Adds the subscriber. The publisher calls
+         * {@link Subscriber#onSubscribe(Subscription)} first.
+         *
+         * @param subscriber subscriber
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+
+    }
+
+    /**
+     * Receiver of items. Its methods are called sequentially
+     * and must not block.
+     *
+     * @param <T> type of the items
+     */
+    public interface Subscriber<T> {
+
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+
+    }
+
+    /**
+     * Link between a publisher and a subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds the number of items the subscriber is ready to receive.
+         *
+         * @param n positive number of items
+         */
+        void request(long n);
+
+        /**
+         * Stops receiving items. Items may still be received
+         * for a while after the cancellation.
+         */
+        void cancel();
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.tarantool.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of non-negative values with a bounded relative error.
+ *
+ * <p>
+ * Values below {@code 16} are counted exactly. Larger ones fall into
+ * buckets which split each power of two in eight, so a value is reported
+ * with an error below 12.5%. Recording is a single atomic increment and
+ * the histogram takes a fixed few kilobytes whatever the range of values.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_VALUES = SUB_BUCKETS * 2;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+
+    public LatencyHistogram() {
+        this(new AtomicLongArray(BUCKETS));
+    }
+
+    private LatencyHistogram(AtomicLongArray counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * Counts the value.
+     *
+     * @param value non-negative value; negative ones are counted as {@code 0}
+     */
+    public void record(long value) {
+        counts.incrementAndGet(bucketOf(Math.max(value, 0)));
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the value below or at which the percentage of the values falls.
+     *
+     * @param percentile percentage from {@code 0} to {@code 100}
+     *
+     * @return highest value of the bucket the percentile falls into,
+     *     or {@code 0} if nothing is counted
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be within [0, 100]");
+        }
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Makes a copy of the current counts.
+     *
+     * @return histogram which is not changed by later records
+     */
+    public LatencyHistogram copy() {
+        AtomicLongArray snapshot = new AtomicLongArray(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot.set(i, counts.get(i));
+        }
+        return new LatencyHistogram(snapshot);
+    }
+
+    static int bucketOf(long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int top = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKETS + top - SUB_BUCKETS;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < EXACT_VALUES) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long top = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        long highest = ((top + 1) << shift) - 1;
+        // the last bucket ends beyond the range of long
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.ByteBufferPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+@DisplayName("A byte buffer pool")
+class ByteBufferPoolTest {
+
+    @Test
+    @DisplayName("rounds capacities up to a power of two")
+    void testCapacity() {
+        ByteBufferPool pool = new ByteBufferPool(false, 1 << 20, 1);
+
+        assertEquals(1024, pool.acquire(1).capacity());
+        assertEquals(1024, pool.acquire(1024).capacity());
+        assertEquals(2048, pool.acquire(1025).capacity());
+        assertEquals(3 << 20, pool.acquire(3 << 20).capacity());
+    }
+
+    @Test
+    @DisplayName("reuses released buffers")
+    void testReuse() {
+        ByteBufferPool pool = new ByteBufferPool(true, 1 << 20, 1);
+        ByteBuffer first = pool.acquire(5000);
+        ByteBuffer second = pool.acquire(5000);
+        first.put((byte) 1);
+
+        pool.release(first);
+        pool.release(second);
+
+        ByteBuffer reused = pool.acquire(8192);
+        assertTrue(reused.isDirect());
+        assertSame(first, reused);
+        assertEquals(0, reused.position());
+        assertNotSame(first, pool.acquire(8192));
+    }
+
+    @Test
+    @DisplayName("does not keep foreign and large buffers")
+    void testForeignBuffers() {
+        ByteBufferPool pool = new ByteBufferPool(false, 4096, 1);
+        ByteBuffer large = pool.acquire(8192);
+        ByteBuffer odd = ByteBuffer.allocate(3000);
+
+        pool.release(large);
+        pool.release(odd);
+
+        assertNotSame(large, pool.acquire(8192));
+        assertEquals(4096, pool.acquire(3000).capacity());
+    }
+
+    @Test
+    @DisplayName("bounds the total capacity of the pooled buffers")
+    void testPooledBytes() {
+        ByteBufferPool pool = new ByteBufferPool(false, 1 << 20, 4, 6144);
+        ByteBuffer first = pool.acquire(4096);
+        ByteBuffer second = pool.acquire(4096);
+        ByteBuffer small = pool.acquire(2048);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(small);
+
+        assertEquals(6144, pool.getPooledBytes());
+        assertSame(first, pool.acquire(4096));
+        assertNotSame(second, pool.acquire(4096));
+        assertSame(small, pool.acquire(2048));
+        assertEquals(0, pool.getPooledBytes());
+    }
+
+}
@@ -53,7 +53,13 @@ class ClientAsyncOperationsIT {
     private int pkIndexId;
 
     static Stream<AsyncOpsProvider> getAsyncOps() {
-        return Stream.of(new ClientAsyncOpsProvider(), new ComposableAsyncOpsProvider());
+        return Stream.of(
+            new ClientAsyncOpsProvider(),
+            new ComposableAsyncOpsProvider(),
+            new EventLoopAsyncOpsProvider(),
+            new EventLoopGroupAsyncOpsProvider(),
+            new StripedAsyncOpsProvider()
+        );
     }
 
     @BeforeAll
@@ -185,6 +191,47 @@ class ClientAsyncOperationsIT {
         provider.close();
     }
 
+    @ParameterizedTest
+    @MethodSource("getAsyncOps")
+    void testBatch(AsyncOpsProvider provider) throws ExecutionException, InterruptedException, TimeoutException {
+        TarantoolBatch batch = provider.getClient().batch(RequestPriority.BULK);
+        List<CompletionStage<List<?>>> inserts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            inserts.add(batch.insert(spaceId, Arrays.asList(i, "value " + i)));
+        }
+        assertEquals(1000, batch.size());
+
+        List<List<?>> results = batch.submit().toCompletableFuture().get(TIMEOUT, TimeUnit.MILLISECONDS);
+
+        assertEquals(1000, results.size());
+        checkRawTupleResult(results.get(10), Arrays.asList(10, "value 10"));
+        checkRawTupleResult(inserts.get(999).toCompletableFuture().get(), Arrays.asList(999, "value 999"));
+        checkRawTupleResult(consoleSelect(500), Arrays.asList(500, "value 500"));
+        assertThrows(IllegalStateException.class, batch::submit);
+
+        provider.close();
+    }
+
+    @ParameterizedTest
+    @MethodSource("getAsyncOps")
+    void testBatchError(AsyncOpsProvider provider) throws ExecutionException, InterruptedException, TimeoutException {
+        testHelper.executeLua("box.space.basic_test:replace{1, 'one'}");
+        TarantoolBatch batch = provider.getClient().batch();
+        CompletionStage<List<?>> duplicate = batch.insert(spaceId, Arrays.asList(1, "one"));
+        CompletionStage<List<?>> insert = batch.insert(spaceId, Arrays.asList(2, "two"));
+
+        ExecutionException e = assertThrows(
+            ExecutionException.class,
+            () -> batch.submit().toCompletableFuture().get(TIMEOUT, TimeUnit.MILLISECONDS)
+        );
+
+        assertTrue(e.getCause() instanceof TarantoolException);
+        assertTrue(duplicate.toCompletableFuture().isCompletedExceptionally());
+        checkRawTupleResult(insert.toCompletableFuture().get(), Arrays.asList(2, "two"));
+
+        provider.close();
+    }
+
     private List<?> consoleSelect(Object key) {
         return testHelper.evaluate(TestUtils.toLuaSelect("basic_test", key));
     }
@@ -218,6 +265,95 @@ class ClientAsyncOperationsIT {
 
     }
 
+    private static class EventLoopAsyncOpsProvider implements AsyncOpsProvider {
+
+        TarantoolClient client = TestUtils.makeTestClient(makeEventLoopConfig(), 2000);
+
+        private static TarantoolClientConfig makeEventLoopConfig() {
+            TarantoolClientConfig config = TestUtils.makeDefaultClientConfig();
+            config.useEventLoop = true;
+            return config;
+        }
+
+        @Override
+        public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> getAsyncOps() {
+            return client.asyncOps();
+        }
+
+        @Override
+        public TarantoolClient getClient() {
+            return client;
+        }
+
+        @Override
+        public void close() {
+            client.close();
+        }
+
+    }
+
+    private static class EventLoopGroupAsyncOpsProvider implements AsyncOpsProvider {
+
+        EventLoopGroup group = new EventLoopGroup(1);
+        TarantoolClient client = TestUtils.makeTestClient(makeEventLoopGroupConfig(group), 2000);
+
+        private static TarantoolClientConfig makeEventLoopGroupConfig(EventLoopGroup group) {
+            TarantoolClientConfig config = TestUtils.makeDefaultClientConfig();
+            config.eventLoopGroup = group;
+            return config;
+        }
+
+        @Override
+        public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> getAsyncOps() {
+            return client.asyncOps();
+        }
+
+        @Override
+        public TarantoolClient getClient() {
+            return client;
+        }
+
+        @Override
+        public void close() {
+            client.close();
+            group.close();
+        }
+
+    }
+
+    private static class StripedAsyncOpsProvider implements AsyncOpsProvider {
+
+        TarantoolClient client = new TarantoolStripedClient(
+            () -> new TestSocketChannelProvider(TarantoolTestHelper.HOST, TarantoolTestHelper.PORT, 2000),
+            makeStripedConfig()
+        );
+
+        private static TarantoolStripedClientConfig makeStripedConfig() {
+            TarantoolStripedClientConfig config = new TarantoolStripedClientConfig();
+            config.username = TarantoolTestHelper.USERNAME;
+            config.password = TarantoolTestHelper.PASSWORD;
+            config.initTimeoutMillis = 2000;
+            config.stripes = 2;
+            return config;
+        }
+
+        @Override
+        public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> getAsyncOps() {
+            return client.asyncOps();
+        }
+
+        @Override
+        public TarantoolClient getClient() {
+            return client;
+        }
+
+        @Override
+        public void close() {
+            client.close();
+        }
+
+    }
+
     private static class ComposableAsyncOpsProvider implements AsyncOpsProvider {
 
         TarantoolClient client = TestUtils.makeTestClient(TestUtils.makeDefaultClientConfig(), 2000);
@@ -2,6 +2,7 @@ package org.tarantool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -9,6 +10,12 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
 /**
  * Tests for synchronous operations of {@link TarantoolClientImpl} class.
  *
@@ -48,4 +55,36 @@ public class ClientOperationsIT {
         assertEquals(e.getMessage(), "You should close TarantoolClient instead.");
     }
 
+    @Test
+    public void testMappedResult() throws ExecutionException, InterruptedException {
+        TupleMapper<Map.Entry<Long, String>> mapper = reader -> {
+            assertEquals(2, reader.unpackArrayHeader());
+            return new AbstractMap.SimpleEntry<>(reader.unpackLong(), reader.unpackString());
+        };
+        List<Map.Entry<Long, String>> expected = Arrays.asList(
+            new AbstractMap.SimpleEntry<>(1L, "one"),
+            new AbstractMap.SimpleEntry<>(2L, "two")
+        );
+        String expression = "return {1, 'one'}, {2, 'two'}";
+
+        assertEquals(expected, client.syncOps(ResultMapper.list(mapper)).eval(expression));
+        assertEquals(expected, client.asyncOps(ResultMapper.list(mapper)).eval(expression).get());
+        assertEquals(
+            expected.get(0),
+            client.composableAsyncOps(ResultMapper.single(mapper)).eval(expression).toCompletableFuture().get()
+        );
+    }
+
+    @Test
+    public void testTupleResult() {
+        List<TarantoolTuple> tuples = client.syncOps(ResultMapper.tuples()).eval("return {1, 'one', 2.5, box.NULL}");
+
+        assertEquals(1, tuples.size());
+        assertEquals(1L, tuples.get(0).getLong(0));
+        assertEquals("one", tuples.get(0).getString(1));
+        assertEquals(2.5d, tuples.get(0).getDouble(2));
+        assertEquals(4, tuples.get(0).size());
+        assertTrue(tuples.get(0).isNull(3));
+    }
+
 }
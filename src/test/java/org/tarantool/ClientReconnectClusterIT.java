@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -508,6 +509,116 @@ public class ClientReconnectClusterIT {
         assertEquals(origin, client.getThumbstone());
     }
 
+    @Test
+    @DisplayName("balanced client spread requests across all the nodes")
+    void testBalancedRoundRobin() {
+        TarantoolBalancedClusterClient client = makeBalancedClient(
+            TarantoolBalancedClusterClientConfig.Balancing.ROUND_ROBIN,
+            null,
+            "localhost:" + PORTS[0],
+            "localhost:" + PORTS[1],
+            "localhost:" + PORTS[2]
+        );
+        try {
+            assertEquals(3, client.getNodes().size());
+            assertEquals(3, getServingInstances(client, 6).size());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("balanced client skipped the node which had disappeared")
+    void testBalancedNodeFailure() throws InterruptedException {
+        String service1Address = "localhost:" + PORTS[0];
+        TarantoolBalancedClusterClient client = makeBalancedClient(
+            TarantoolBalancedClusterClientConfig.Balancing.LEAST_IN_FLIGHT,
+            null,
+            service1Address,
+            "localhost:" + PORTS[1]
+        );
+        try {
+            stopInstancesAndAwait(SRV1);
+            TarantoolClientImpl node = client.getNodes().get(service1Address);
+            long deadline = System.currentTimeMillis() + TIMEOUT * 4;
+            while (node.isAlive() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, getServingInstances(client, 10).size());
+            assertTrue(client.isAlive());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("balanced client applied new node lists keeping the current connections")
+    void testBalancedNodeListUpdate() throws InterruptedException {
+        String service1Address = "localhost:" + PORTS[0];
+        String service2Address = "127.0.0.1:" + PORTS[1];
+        String infoFunctionName = "getBalancedAddresses";
+        instances.get(SRV1).executeLua(
+            makeDiscoveryFunction(infoFunctionName, Arrays.asList(service1Address, service2Address))
+        );
+        instances.get(SRV2).executeLua(
+            makeDiscoveryFunction(infoFunctionName, Collections.singletonList(service2Address))
+        );
+
+        TarantoolBalancedClusterClient client = makeBalancedClient(
+            TarantoolBalancedClusterClientConfig.Balancing.ROUND_ROBIN,
+            infoFunctionName,
+            service1Address
+        );
+        try {
+            TarantoolClientImpl node1 = client.getNodes().get(service1Address);
+
+            // the function of srv1 extends the list
+            client.refreshInstances();
+            assertEquals(Arrays.asList(service1Address, service2Address), new ArrayList<>(client.getNodes().keySet()));
+            assertEquals(node1, client.getNodes().get(service1Address));
+            TarantoolClientImpl node2 = client.getNodes().get(service2Address);
+
+            // the function of srv2 narrows it unless the call goes to srv1
+            long deadline = System.currentTimeMillis() + TIMEOUT * 4;
+            while (client.getNodes().size() > 1 && System.currentTimeMillis() < deadline) {
+                client.refreshInstances();
+            }
+            assertEquals(Collections.singletonList(service2Address), new ArrayList<>(client.getNodes().keySet()));
+            assertEquals(node2, client.getNodes().get(service2Address));
+
+            // the removed node is closed without waiting for its threads
+            while (!node1.isClosed() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(node1.isClosed());
+        } finally {
+            client.close();
+        }
+    }
+
+    private Set<Object> getServingInstances(TarantoolClient client, int requests) {
+        Set<Object> ids = new HashSet<>();
+        for (int i = 0; i < requests; i++) {
+            ids.add(client.syncOps().eval("return box.info.id").get(0));
+        }
+        return ids;
+    }
+
+    private TarantoolBalancedClusterClient makeBalancedClient(TarantoolBalancedClusterClientConfig.Balancing balancing,
+                                                              String entryFunction,
+                                                              String... addresses) {
+        TarantoolBalancedClusterClientConfig config = new TarantoolBalancedClusterClientConfig();
+        config.username = TarantoolTestHelper.USERNAME;
+        config.password = TarantoolTestHelper.PASSWORD;
+        config.initTimeoutMillis = 2000;
+        config.operationExpiryTimeMillis = 1000;
+        config.balancing = balancing;
+        config.clusterDiscoveryEntryFunction = entryFunction;
+        config.clusterDiscoveryDelayMillis = 60_000;
+        return new TarantoolBalancedClusterClient(config, addresses);
+    }
+
     private void tryAwait(CyclicBarrier barrier) {
         try {
             barrier.await(6000, TimeUnit.MILLISECONDS);
@@ -0,0 +1,63 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("An event loop group")
+class EventLoopGroupTest {
+
+    private EventLoopGroup group;
+
+    @BeforeEach
+    void setUp() {
+        group = new EventLoopGroup("test-event-loop", 2, Thread.NORM_PRIORITY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        group.close();
+    }
+
+    @Test
+    @DisplayName("hands out its loops in turn")
+    void testRoundRobin() {
+        EventLoop first = group.next();
+        EventLoop second = group.next();
+
+        assertEquals(2, group.size());
+        assertNotSame(first, second);
+        assertSame(first, group.next());
+        assertSame(second, group.next());
+    }
+
+    @Test
+    @DisplayName("closes all its loops")
+    void testClose() {
+        EventLoop first = group.next();
+        EventLoop second = group.next();
+        assertFalse(group.isClosed());
+
+        group.close();
+
+        assertTrue(group.isClosed());
+        assertTrue(first.isClosed());
+        assertTrue(second.isClosed());
+        assertThrows(IllegalStateException.class, group::next);
+    }
+
+    @Test
+    @DisplayName("rejects non-positive sizes")
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new EventLoopGroup(0));
+    }
+
+}
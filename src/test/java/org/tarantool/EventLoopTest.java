@@ -0,0 +1,111 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectionKey;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("An event loop")
+class EventLoopTest {
+
+    private EventLoop eventLoop;
+    private Pipe pipe;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        eventLoop = new EventLoop("test event loop", Thread.NORM_PRIORITY);
+        pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        eventLoop.close();
+        pipe.sink().close();
+        pipe.source().close();
+    }
+
+    @Test
+    @DisplayName("runs tasks on the loop thread")
+    void testExecute() throws Exception {
+        CompletableFuture<Boolean> inLoop = new CompletableFuture<>();
+
+        eventLoop.execute(() -> inLoop.complete(eventLoop.inEventLoop()));
+
+        assertTrue(inLoop.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("notifies the handler of readable channels")
+    void testReadable() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+        eventLoop.register(pipe.source(), handler);
+        assertTrue(handler.registered.get(5, TimeUnit.SECONDS).isValid());
+
+        pipe.sink().write(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+
+        assertEquals(3, (int) handler.reads.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("fails registered channels when it is closed")
+    void testClose() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+        eventLoop.register(pipe.source(), handler);
+        handler.registered.get(5, TimeUnit.SECONDS);
+
+        eventLoop.close();
+
+        assertTrue(handler.failure.get(5, TimeUnit.SECONDS) instanceof CommunicationException);
+        CompletableFuture<Thread> executor = new CompletableFuture<>();
+        eventLoop.execute(() -> executor.complete(Thread.currentThread()));
+        assertSame(Thread.currentThread(), executor.get(5, TimeUnit.SECONDS));
+    }
+
+    private class RecordingHandler implements EventLoop.Handler {
+
+        private final CompletableFuture<SelectionKey> registered = new CompletableFuture<>();
+        private final CompletableFuture<Exception> failure = new CompletableFuture<>();
+        private final BlockingQueue<Integer> reads = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onRegistered(SelectionKey key) {
+            registered.complete(key);
+        }
+
+        @Override
+        public void onReadable() {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            try {
+                reads.add(pipe.source().read(buffer));
+            } catch (IOException e) {
+                failure.complete(e);
+            }
+        }
+
+        @Override
+        public void onWritable() {
+            // no-op
+        }
+
+        @Override
+        public void onFailure(Exception cause) {
+            failure.complete(cause);
+        }
+
+    }
+
+}
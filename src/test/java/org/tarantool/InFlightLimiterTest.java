@@ -0,0 +1,91 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+@DisplayName("An in-flight limiter")
+class InFlightLimiterTest {
+
+    @Test
+    @DisplayName("admits requests up to the count limit")
+    void testCountLimit() {
+        InFlightLimiter limiter = new InFlightLimiter(2, 0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(0, limiter.getAvailableRequests());
+
+        limiter.release(0);
+        assertEquals(1, limiter.getAvailableRequests());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("admits requests while in-flight bytes are below the limit")
+    void testBytesLimit() {
+        InFlightLimiter limiter = new InFlightLimiter(0, 100);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.addBytes(60);
+        assertTrue(limiter.tryAcquire());
+        limiter.addBytes(60);
+        assertFalse(limiter.tryAcquire());
+        assertEquals(120, limiter.getInFlightBytes());
+        assertEquals(0, limiter.getAvailableBytes());
+
+        limiter.release(60);
+        assertEquals(40, limiter.getAvailableBytes());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("signals when requests can be admitted again")
+    void testWhenAvailable() {
+        InFlightLimiter limiter = new InFlightLimiter(1, 0);
+        assertTrue(limiter.whenAvailable().toCompletableFuture().isDone());
+        assertTrue(limiter.tryAcquire());
+
+        CompletableFuture<Void> first = limiter.whenAvailable().toCompletableFuture();
+        CompletableFuture<Void> second = limiter.whenAvailable().toCompletableFuture();
+        assertFalse(first.isDone());
+
+        limiter.release(0);
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+    }
+
+    @Test
+    @DisplayName("does not go below zero when a request is released twice")
+    void testExtraRelease() {
+        InFlightLimiter limiter = new InFlightLimiter(1, 10);
+        assertTrue(limiter.tryAcquire());
+        limiter.addBytes(20);
+
+        limiter.release(20);
+        limiter.release(20);
+
+        assertEquals(0, limiter.getInFlightRequests());
+        assertEquals(0, limiter.getInFlightBytes());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("is not limited by default")
+    void testUnlimited() {
+        InFlightLimiter limiter = new InFlightLimiter(0, 0);
+
+        assertFalse(limiter.isLimited());
+        assertEquals(Integer.MAX_VALUE, limiter.getAvailableRequests());
+        assertThrows(IllegalArgumentException.class, () -> new InFlightLimiter(-1, 0));
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.LazyTarantoolPacket;
+import org.tarantool.protocol.ProtoUtils;
+import org.tarantool.protocol.TarantoolPacket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A lazy tarantool packet")
+class LazyTarantoolPacketTest {
+
+    private static final List<Object> TUPLES = Arrays.asList(
+        Arrays.asList(1, "one"),
+        null,
+        Arrays.asList(3, "three", Collections.singletonMap("k", 3.0)),
+        "four"
+    );
+
+    @Test
+    @DisplayName("decodes the routing headers eagerly")
+    void testHeaders() {
+        LazyTarantoolPacket packet = read(packet(Code.SELECT, 4294967296L, 7L, Key.DATA, TUPLES));
+
+        assertEquals(Long.valueOf(Code.SELECT.getId()), packet.getCode());
+        assertEquals(Long.valueOf(4294967296L), packet.getSync());
+        assertEquals(Long.valueOf(7L), packet.getSchemaId());
+        assertEquals(4294967296L, packet.getHeaders().get(Key.SYNC.getId()));
+    }
+
+    @Test
+    @DisplayName("decodes data elements on demand")
+    void testLazyData() {
+        LazyTarantoolPacket packet = read(packet(Code.SELECT, 1L, null, Key.ERROR, "none", Key.DATA, TUPLES));
+
+        List<?> data = (List<?>) packet.getData();
+        assertEquals(TUPLES.size(), data.size());
+        assertEquals(TUPLES.get(2), data.get(2));
+        assertNull(data.get(1));
+        assertEquals(TUPLES.get(0), data.get(0));
+        assertEquals(TUPLES, data);
+        assertTrue(data.get(3) == data.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> data.get(4));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) data).add(5));
+    }
+
+    @Test
+    @DisplayName("decodes the same body as an eager packet")
+    void testSameBodyAsEagerPacket() {
+        ByteBuffer frame = packet(Code.SELECT, 1L, null, Key.SPACE, 512, Key.DATA, TUPLES);
+        TarantoolPacket eager = ProtoUtils.readPacket(new MsgPackReader(frame.duplicate()), MsgPackLite.INSTANCE);
+        LazyTarantoolPacket lazy = read(frame);
+
+        assertEquals(eager.getBody(), lazy.getBody());
+        assertEquals(eager.getData(), lazy.getData());
+        assertTrue(lazy.hasBody());
+    }
+
+    @Test
+    @DisplayName("exposes raw body and data bytes")
+    void testRawAccess() {
+        LazyTarantoolPacket packet = read(packet(Code.SELECT, 1L, null, Key.DATA, TUPLES));
+
+        ByteBuffer rawBody = packet.getRawBody();
+        assertTrue(rawBody.isReadOnly());
+        assertEquals(
+            Collections.singletonMap(Key.DATA.getId(), TUPLES),
+            MsgPackLite.INSTANCE.unpack(new MsgPackReader(rawBody))
+        );
+        assertEquals(TUPLES, MsgPackLite.INSTANCE.unpack(new MsgPackReader(packet.getRawData())));
+    }
+
+    @Test
+    @DisplayName("handles a packet without a body")
+    void testNoBody() {
+        ByteBuffer frame = packet(Code.PING, 3L, null);
+        MsgPackReader reader = new MsgPackReader(frame);
+        reader.skipValue();
+        frame.limit(reader.position());
+
+        LazyTarantoolPacket packet = read(frame);
+        assertEquals(Long.valueOf(3L), packet.getSync());
+        assertNull(packet.getBody());
+        assertNull(packet.getRawBody());
+        assertNull(packet.getData());
+        assertNull(packet.getRawData());
+        assertFalse(packet.hasBody());
+    }
+
+    private static ByteBuffer packet(Code code, Long sync, Long schemaId, Object... args) {
+        MsgPackWriter writer = new MsgPackWriter(64);
+        ProtoUtils.writePacket(writer, MsgPackLite.INSTANCE, code, sync, schemaId, args);
+        ByteBuffer frame = writer.toByteBuffer();
+        frame.position(ProtoUtils.LENGTH_OF_SIZE_MESSAGE);
+        return frame.slice();
+    }
+
+    private static LazyTarantoolPacket read(ByteBuffer frame) {
+        return new LazyTarantoolPacket(frame, MsgPackLite.INSTANCE);
+    }
+
+}
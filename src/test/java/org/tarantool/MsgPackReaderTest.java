@@ -0,0 +1,142 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.ProtoUtils;
+import org.tarantool.protocol.TarantoolPacket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A MsgPack reader")
+class MsgPackReaderTest {
+
+    private static final List<Object> VALUES = Arrays.asList(
+        null, true, false,
+        0, 1, 127, 128, 255, 256, 65535, 65536, 4294967295L, 4294967296L, Long.MAX_VALUE,
+        -1, -32, -33, -128, -129, -32768, -32769, Integer.MIN_VALUE, Long.MIN_VALUE,
+        new BigInteger("18446744073709551615"),
+        1.5f, 2.25d,
+        "", "short", "кириллица", "😀 emoji", new String(new char[300]).replace('\0', 's'),
+        new byte[] { 1, 2, 3 }, new byte[70000],
+        Arrays.asList(1, "two", Arrays.asList(3.0, null))
+    );
+
+    @Test
+    @DisplayName("decodes the same values as the stream based unpacker")
+    void testSameValuesAsStreamUnpacker() throws IOException {
+        byte[] bytes = pack(VALUES);
+        Object expected = MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(bytes));
+
+        for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.wrap(bytes), toDirect(bytes) }) {
+            MsgPackReader reader = new MsgPackReader(buffer);
+            List<?> actual = (List<?>) MsgPackLite.INSTANCE.unpack(reader);
+
+            assertFalse(reader.hasRemaining());
+            assertEquals(0, buffer.position());
+            assertEquals(((List<?>) expected).size(), actual.size());
+            for (int i = 0; i < actual.size(); i++) {
+                Object expectedItem = ((List<?>) expected).get(i);
+                Object actualItem = actual.get(i);
+                if (expectedItem instanceof byte[]) {
+                    assertArrayEquals((byte[]) expectedItem, (byte[]) actualItem);
+                } else {
+                    assertEquals(expectedItem, actualItem);
+                    assertEquals(
+                        expectedItem == null ? null : expectedItem.getClass(),
+                        actualItem == null ? null : actualItem.getClass()
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("decodes typed values without boxing")
+    void testTypedValues() throws IOException {
+        Map<Object, Object> map = new HashMap<>();
+        map.put(1, "x");
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(pack(
+            Arrays.asList(-5, 300, 4294967296L, "str", 1.5f, true, null, new byte[] { 7 }, map)
+        )));
+
+        assertEquals(9, reader.unpackArrayHeader());
+        assertEquals(-5, reader.unpackLong());
+        assertEquals(300, reader.unpackLong());
+        assertEquals(4294967296L, reader.unpackLong());
+        assertEquals("str", reader.unpackString());
+        assertEquals(1.5d, reader.unpackDouble());
+        assertTrue(reader.unpackBoolean());
+        assertTrue(reader.tryUnpackNil());
+        assertArrayEquals(new byte[] { 7 }, reader.unpackBinary());
+        assertEquals(1, reader.unpackMapHeader());
+        assertEquals(1, reader.unpackLong());
+        assertThrows(IllegalArgumentException.class, reader::unpackLong);
+    }
+
+    @Test
+    @DisplayName("skips nested values")
+    void testSkipValue() throws IOException {
+        byte[] bytes = pack(Arrays.asList(VALUES, VALUES, "tail"));
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(bytes));
+
+        assertEquals(3, reader.unpackArrayHeader());
+        reader.skipValue();
+        reader.skipValue();
+        assertEquals("tail", reader.unpackString());
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("fails on a truncated input")
+    void testTruncatedInput() throws IOException {
+        byte[] bytes = pack("truncated string");
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+
+        assertThrows(BufferUnderflowException.class, () -> MsgPackLite.INSTANCE.unpack(reader));
+    }
+
+    @Test
+    @DisplayName("reads a tarantool packet")
+    void testReadPacket() throws IOException {
+        ByteBuffer packet = ProtoUtils.createPacket(
+            MsgPackLite.INSTANCE, Code.SELECT, 42L, null, Key.SPACE, 512, Key.KEY, Arrays.asList(1)
+        );
+        packet.position(ProtoUtils.LENGTH_OF_SIZE_MESSAGE);
+
+        TarantoolPacket decoded = ProtoUtils.readPacket(new MsgPackReader(packet), MsgPackLite.INSTANCE);
+
+        assertEquals(42, decoded.getHeaders().get(Key.SYNC.getId()));
+        assertEquals(512, decoded.getBody().get(Key.SPACE.getId()));
+        assertEquals(Arrays.asList(1), decoded.getBody().get(Key.KEY.getId()));
+    }
+
+    private static byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, stream);
+        return stream.toByteArray();
+    }
+
+    private static ByteBuffer toDirect(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+}
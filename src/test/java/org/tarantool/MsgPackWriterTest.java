@@ -0,0 +1,141 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.ProtoUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A MsgPack writer")
+class MsgPackWriterTest {
+
+    private static final List<Object> VALUES = Arrays.asList(
+        null, true, false,
+        0, 1, 127, 128, 255, 256, 65535, 65536, 4294967295L, 4294967296L, Long.MAX_VALUE,
+        -1, -32, -33, -128, -129, -32768, -32769, Integer.MIN_VALUE, Integer.MIN_VALUE - 1L, Long.MIN_VALUE,
+        new BigInteger("18446744073709551615"), BigInteger.TEN,
+        1.5f, 2.25d,
+        "", "short", repeat('a', 31), repeat('b', 32), repeat('c', 300), repeat('d', 70000),
+        "кириллица", "😀 emoji", "broken \uD800 surrogate", // unpaired surrogate
+        new byte[] { 1, 2, 3 }, new byte[300], new byte[70000],
+        Code.SELECT, Key.SPACE,
+        new int[] { 1, 2, 3 }, new Object[] { "x", 1 }
+    );
+
+    @Test
+    @DisplayName("produces the same bytes as the stream based packer")
+    void testSameBytesAsStreamPacker() throws IOException {
+        for (Object value : VALUES) {
+            assertArrayEquals(packToStream(value), packToWriter(value, 4096), String.valueOf(value));
+        }
+    }
+
+    @Test
+    @DisplayName("splits values among small chunks")
+    void testSmallChunks() throws IOException {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put(1, VALUES);
+        map.put("nested", Collections.singletonList(VALUES));
+        for (int chunkSize = MsgPackWriter.MIN_CHUNK_SIZE; chunkSize < 64; chunkSize++) {
+            assertArrayEquals(packToStream(map), packToWriter(map, chunkSize));
+        }
+    }
+
+    @Test
+    @DisplayName("encodes into a caller-supplied buffer")
+    void testCallerSuppliedBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        MsgPackWriter writer = new MsgPackWriter(buffer);
+        MsgPackLite.INSTANCE.pack(Arrays.asList(1, "two", 3.0), writer);
+
+        assertEquals(1, writer.getBufferCount());
+        assertTrue(writer.getBuffers()[0] == buffer);
+        writer.flip();
+        byte[] actual = new byte[buffer.remaining()];
+        buffer.get(actual);
+        assertArrayEquals(packToStream(Arrays.asList(1, "two", 3.0)), actual);
+    }
+
+    @Test
+    @DisplayName("can be reused after reset")
+    void testReset() throws IOException {
+        MsgPackWriter writer = new MsgPackWriter(32);
+        MsgPackLite.INSTANCE.pack(repeat('z', 100), writer);
+        assertTrue(writer.getBufferCount() > 1);
+
+        writer.reset();
+        assertEquals(0, writer.size());
+        assertEquals(1, writer.getBufferCount());
+        MsgPackLite.INSTANCE.pack("again", writer);
+        assertArrayEquals(packToStream("again"), writer.toByteBuffer().array());
+    }
+
+    @Test
+    @DisplayName("continues a direct chunk in heap chunks kept up to the retained capacity")
+    void testOverflowChunks() throws IOException {
+        MsgPackWriter writer = new MsgPackWriter(32, true, 96);
+        MsgPackLite.INSTANCE.pack(repeat('z', 200), writer);
+        ByteBuffer[] chunks = writer.getBuffers().clone();
+        assertTrue(writer.getBufferCount() > 3);
+        assertTrue(chunks[0].isDirect());
+        assertFalse(chunks[1].isDirect());
+
+        writer.reset();
+        MsgPackLite.INSTANCE.pack(repeat('z', 200), writer);
+        assertSame(chunks[0], writer.getBuffers()[0]);
+        assertSame(chunks[1], writer.getBuffers()[1]);
+        assertSame(chunks[2], writer.getBuffers()[2]);
+        assertFalse(chunks[3] == writer.getBuffers()[3]);
+        assertArrayEquals(packToStream(repeat('z', 200)), writer.toByteBuffer().array());
+    }
+
+    @Test
+    @DisplayName("writes a packet with a correct size prefix")
+    void testWritePacket() throws IOException {
+        for (int chunkSize : new int[] { MsgPackWriter.MIN_CHUNK_SIZE, 4096 }) {
+            MsgPackWriter writer = new MsgPackWriter(chunkSize);
+            ProtoUtils.writePacket(
+                writer, MsgPackLite.INSTANCE, Code.INSERT, 42L, null,
+                Key.SPACE, 512, Key.TUPLE, Arrays.asList(1, repeat('v', 40))
+            );
+            ByteBuffer packet = writer.toByteBuffer();
+
+            assertEquals((byte) 0xce, packet.get(0));
+            assertEquals(writer.size() - ProtoUtils.LENGTH_OF_SIZE_MESSAGE, packet.getInt(1));
+        }
+    }
+
+    private static byte[] packToStream(Object value) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, stream);
+        return stream.toByteArray();
+    }
+
+    private static byte[] packToWriter(Object value, int chunkSize) {
+        MsgPackWriter writer = new MsgPackWriter(chunkSize);
+        MsgPackLite.INSTANCE.pack(value, writer);
+        return writer.toByteBuffer().array();
+    }
+
+    private static String repeat(char c, int times) {
+        char[] chars = new char[times];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,165 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("Request lanes")
+class RequestLanesTest {
+
+    @Test
+    @DisplayName("share a single ring among all the priorities")
+    void testSingleLane() {
+        RequestRing ring = newRing();
+        RequestLanes lanes = new RequestLanes(new RequestRing[] { ring }, new int[] { 1 }, WaitStrategy.BLOCKING);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            assertSame(ring, lanes.getLane(priority));
+        }
+    }
+
+    @Test
+    @DisplayName("reject a wrong number of lanes or weights")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestLanes(
+            new RequestRing[] { newRing(), newRing() }, new int[] { 1, 1 }, WaitStrategy.BLOCKING
+        ));
+        assertThrows(IllegalArgumentException.class, () -> new RequestLanes(
+            new RequestRing[] { newRing(), newRing(), newRing() }, new int[] { 1, 1 }, WaitStrategy.BLOCKING
+        ));
+        assertThrows(IllegalArgumentException.class, () -> new RequestLanes(
+            new RequestRing[] { newRing(), newRing(), newRing() }, new int[] { 1, 0, 1 }, WaitStrategy.BLOCKING
+        ));
+    }
+
+    @Test
+    @DisplayName("prefer higher lanes within their weights")
+    void testWeightedPriority() throws Exception {
+        RequestLanes lanes = newLanes(2, 1, 1);
+        publish(lanes, RequestPriority.CONTROL, 1L);
+        publish(lanes, RequestPriority.CONTROL, 2L);
+        publish(lanes, RequestPriority.CONTROL, 3L);
+        publish(lanes, RequestPriority.BULK, 10L);
+        publish(lanes, RequestPriority.BULK, 11L);
+        publish(lanes, RequestPriority.INTERACTIVE, 20L);
+        SingleRequestBatches consumer = new SingleRequestBatches();
+
+        while (lanes.drainAvailable(consumer) > 0) {
+            // no-op
+        }
+
+        assertEquals(Arrays.asList(1L, 2L, 20L, 10L, 3L, 11L), consumer.values);
+    }
+
+    @Test
+    @DisplayName("take a request of a higher lane right after the current batch")
+    void testPreemption() throws Exception {
+        RequestLanes lanes = newLanes(16, 4, 1);
+        publish(lanes, RequestPriority.BULK, 10L);
+        publish(lanes, RequestPriority.BULK, 11L);
+        SingleRequestBatches consumer = new SingleRequestBatches();
+
+        lanes.drainAvailable(consumer);
+        publish(lanes, RequestPriority.CONTROL, 1L);
+        lanes.drainAvailable(consumer);
+        lanes.drainAvailable(consumer);
+
+        assertEquals(Arrays.asList(10L, 1L, 11L), consumer.values);
+    }
+
+    @Test
+    @DisplayName("wake up the consumer waiting for requests of any lane")
+    void testBlockingDrain() throws Exception {
+        RequestLanes lanes = newLanes(1, 1, 1);
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                publish(lanes, RequestPriority.BULK, 42L);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        producer.start();
+        List<Long> values = new ArrayList<>();
+
+        assertEquals(1, lanes.drain(packet -> values.add(read(packet))));
+        producer.join();
+
+        assertEquals(42L, (long) values.get(0));
+    }
+
+    @Test
+    @DisplayName("discard requests of all the lanes")
+    void testDiscard() throws Exception {
+        RequestLanes lanes = newLanes(1, 1, 1);
+        publish(lanes, RequestPriority.CONTROL, 1L);
+        publish(lanes, RequestPriority.BULK, 2L);
+
+        assertEquals(2, lanes.discard());
+        assertEquals(0, lanes.drainAvailable(packet -> { }));
+    }
+
+    /**
+     * Completes a batch after each request.
+     */
+    private static class SingleRequestBatches implements RequestRing.PacketConsumer {
+
+        private final List<Long> values = new ArrayList<>();
+        private boolean full;
+
+        @Override
+        public void accept(MsgPackWriter packet) {
+            values.add(read(packet));
+            full = true;
+        }
+
+        @Override
+        public boolean isBatchFull() {
+            return full;
+        }
+
+        @Override
+        public void flush() {
+            full = false;
+        }
+
+    }
+
+    private static RequestRing newRing() {
+        return new RequestRing(8, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+    }
+
+    private static RequestLanes newLanes(int... weights) {
+        return new RequestLanes(
+            new RequestRing[] { newRing(), newRing(), newRing() },
+            weights,
+            WaitStrategy.BLOCKING
+        );
+    }
+
+    private static void publish(RequestLanes lanes, RequestPriority priority, long value) throws Exception {
+        RequestRing ring = lanes.getLane(priority);
+        long sequence = ring.claim(10_000);
+        try {
+            ring.getWriter(sequence).packLong(value);
+        } finally {
+            ring.publish(sequence);
+        }
+    }
+
+    private static long read(MsgPackWriter packet) {
+        ByteBuffer buffer = ByteBuffer.allocate(packet.size());
+        packet.writeTo(buffer);
+        buffer.flip();
+        return new MsgPackReader(buffer).unpackLong();
+    }
+
+}
@@ -0,0 +1,311 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+@DisplayName("A request ring")
+class RequestRingTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    @DisplayName("rounds the size up to a power of two")
+    void testCapacity() {
+        assertEquals(1, new RequestRing(1, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING).getCapacity());
+        assertEquals(8, new RequestRing(5, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING).getCapacity());
+        assertEquals(8, new RequestRing(8, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING).getCapacity());
+    }
+
+    @Test
+    @DisplayName("passes requests in the order they are published")
+    void testOrder() throws Exception {
+        RequestRing ring = new RequestRing(4, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        for (long i = 0; i < 3; i++) {
+            publish(ring, i);
+        }
+        List<Long> values = new ArrayList<>();
+
+        assertEquals(3, ring.drain(packet -> values.add(read(packet))));
+
+        assertEquals(0L, (long) values.get(0));
+        assertEquals(2L, (long) values.get(2));
+    }
+
+    @Test
+    @DisplayName("skips empty slots")
+    void testEmptySlots() throws Exception {
+        RequestRing ring = new RequestRing(4, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        ring.publish(ring.claim(0));
+        publish(ring, 42L);
+        List<Long> values = new ArrayList<>();
+
+        assertEquals(1, ring.drain(packet -> values.add(read(packet))));
+        assertEquals(42L, (long) values.get(0));
+    }
+
+    @Test
+    @DisplayName("keeps a batch of requests until it is flushed")
+    void testBatch() throws Exception {
+        RequestRing ring = new RequestRing(4, 16, true, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        publish(ring, 1L);
+        publish(ring, 2L);
+        List<MsgPackWriter> batch = new ArrayList<>();
+        List<Long> values = new ArrayList<>();
+
+        ring.drain(new RequestRing.PacketConsumer() {
+            @Override
+            public void accept(MsgPackWriter packet) {
+                batch.add(packet);
+            }
+
+            @Override
+            public void flush() {
+                publishQuietly(ring, 3L);
+                for (MsgPackWriter packet : batch) {
+                    values.add(read(packet));
+                }
+            }
+        });
+
+        assertEquals(2, values.size());
+        assertEquals(1L, (long) values.get(0));
+        assertEquals(2L, (long) values.get(1));
+        assertEquals(1, ring.drain(packet -> values.add(read(packet))));
+        assertEquals(3L, (long) values.get(2));
+    }
+
+    @Test
+    @DisplayName("waits for more requests within the linger time")
+    void testLinger() throws Exception {
+        RequestRing ring = new RequestRing(4, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        publish(ring, 1L);
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                publishQuietly(ring, 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        List<Long> values = new ArrayList<>();
+
+        int count = ring.drain(new RequestRing.PacketConsumer() {
+            @Override
+            public void accept(MsgPackWriter packet) {
+                values.add(read(packet));
+            }
+
+            @Override
+            public boolean isBatchFull() {
+                return values.size() == 2;
+            }
+
+            @Override
+            public long getLingerNanos() {
+                return TimeUnit.SECONDS.toNanos(10);
+            }
+        });
+        producer.join();
+
+        assertEquals(2, count);
+        assertEquals(2L, (long) values.get(1));
+    }
+
+    @Test
+    @DisplayName("releases a failed batch")
+    void testFailedBatch() throws Exception {
+        RequestRing ring = new RequestRing(2, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        publish(ring, 1L);
+        publish(ring, 2L);
+
+        assertThrows(IOException.class, () -> ring.drain(new RequestRing.PacketConsumer() {
+            @Override
+            public void accept(MsgPackWriter packet) {
+                // no-op
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        }));
+
+        publish(ring, 3L);
+        List<Long> values = new ArrayList<>();
+        ring.drain(packet -> values.add(read(packet)));
+        assertEquals(3L, (long) values.get(0));
+    }
+
+    @Test
+    @DisplayName("sheds requests of done operations and passed deadlines")
+    void testShedding() throws Exception {
+        RequestRing ring = new RequestRing(4, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        CompletableFuture<Object> cancelled = new CompletableFuture<>();
+        cancelled.cancel(false);
+        publish(ring, 1L, cancelled, 0);
+        publish(ring, 2L, new CompletableFuture<>(), System.nanoTime() - 1);
+        publish(ring, 3L, new CompletableFuture<>(), System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        List<Long> values = new ArrayList<>();
+        List<Boolean> shed = new ArrayList<>();
+
+        int count = ring.drain(new RequestRing.PacketConsumer() {
+            @Override
+            public void accept(MsgPackWriter packet) {
+                values.add(read(packet));
+            }
+
+            @Override
+            public void onShed(Future<?> future, boolean expired) {
+                shed.add(expired);
+            }
+        });
+
+        assertEquals(1, count);
+        assertEquals(3L, (long) values.get(0));
+        assertEquals(Arrays.asList(false, true), shed);
+    }
+
+    @Test
+    @DisplayName("claims and publishes consecutive slots at once")
+    void testMultipleSlots() throws Exception {
+        RequestRing ring = new RequestRing(4, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        publish(ring, 1L);
+        long first = ring.claim(3, 0);
+        ring.getWriter(first).packLong(2L);
+        ring.getWriter(first + 1).packLong(3L);
+
+        assertThrows(TimeoutException.class, () -> ring.claim(10));
+        assertThrows(IllegalArgumentException.class, () -> ring.claim(5, 0));
+
+        ring.publish(first, 3);
+        List<Long> values = new ArrayList<>();
+        assertEquals(3, ring.drain(packet -> values.add(read(packet))));
+        assertEquals(Arrays.asList(1L, 2L, 3L), values);
+    }
+
+    @Test
+    @DisplayName("times out when all the slots are occupied")
+    void testTimeout() throws Exception {
+        RequestRing ring = new RequestRing(2, 16, false, WaitStrategy.BLOCKING, WaitStrategy.BLOCKING);
+        publish(ring, 1L);
+        publish(ring, 2L);
+
+        assertThrows(TimeoutException.class, () -> ring.claim(10));
+
+        assertEquals(2, ring.discard());
+        publish(ring, 3L);
+        List<Long> values = new ArrayList<>();
+        ring.drain(packet -> values.add(read(packet)));
+        assertEquals(3L, (long) values.get(0));
+    }
+
+    @Test
+    @DisplayName("delivers requests of concurrent producers using blocking waits")
+    void testBlockingProducers() throws Exception {
+        testConcurrentProducers(WaitStrategy.BLOCKING);
+    }
+
+    @Test
+    @DisplayName("delivers requests of concurrent producers using yielding waits")
+    void testYieldingProducers() throws Exception {
+        testConcurrentProducers(WaitStrategy.YIELDING);
+    }
+
+    @Test
+    @DisplayName("delivers requests of concurrent producers using sleeping waits")
+    void testSleepingProducers() throws Exception {
+        testConcurrentProducers(WaitStrategy.SLEEPING);
+    }
+
+    private void testConcurrentProducers(WaitStrategy strategy) throws Exception {
+        RequestRing ring = new RequestRing(16, 16, false, strategy, strategy);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (long i = 0; i < REQUESTS; i++) {
+                        publish(ring, producer << 32 | i);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        long[] next = new long[PRODUCERS];
+        int received = 0;
+        while (received < PRODUCERS * REQUESTS) {
+            received += ring.drain(packet -> {
+                long value = read(packet);
+                int producer = (int) (value >>> 32);
+                assertEquals(next[producer]++, value & 0xFFFFFFFFL);
+            });
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertNull(failure.get());
+        for (long count : next) {
+            assertEquals(REQUESTS, count);
+        }
+        assertEquals(PRODUCERS * REQUESTS, received);
+    }
+
+    private static void publish(RequestRing ring, long value) throws Exception {
+        long sequence = ring.claim(10_000);
+        try {
+            ring.getWriter(sequence).packLong(value);
+        } finally {
+            ring.publish(sequence);
+        }
+    }
+
+    private static void publish(RequestRing ring, long value, Future<?> future, long deadlineNanos)
+        throws Exception {
+        long sequence = ring.claim(10_000);
+        try {
+            ring.getWriter(sequence).packLong(value);
+            ring.attach(sequence, future, deadlineNanos);
+        } finally {
+            ring.publish(sequence);
+        }
+    }
+
+    private static void publishQuietly(RequestRing ring, long value) {
+        try {
+            publish(ring, value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long read(MsgPackWriter packet) {
+        ByteBuffer buffer = ByteBuffer.allocate(packet.size());
+        packet.writeTo(buffer);
+        buffer.flip();
+        return new MsgPackReader(buffer).unpackLong();
+    }
+
+}
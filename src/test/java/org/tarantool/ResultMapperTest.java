@@ -0,0 +1,75 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.LazyTarantoolPacket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+@DisplayName("A result mapper")
+class ResultMapperTest {
+
+    private static final TupleMapper<String> NAME_MAPPER = reader -> {
+        int size = reader.unpackArrayHeader();
+        reader.skipValue();
+        String name = reader.unpackString();
+        for (int i = 2; i < size; i++) {
+            reader.skipValue();
+        }
+        return name;
+    };
+
+    @Test
+    @DisplayName("maps each tuple of a list")
+    void testList() {
+        MsgPackReader reader = reader(Arrays.asList(
+            Arrays.asList(1, "one", 1.0),
+            Arrays.asList(2, "two")
+        ));
+
+        assertEquals(Arrays.asList("one", "two"), ResultMapper.list(NAME_MAPPER).map(reader));
+        assertFalse(reader.hasRemaining());
+        assertEquals(Collections.emptyList(), ResultMapper.list(NAME_MAPPER).map(reader(null)));
+        assertEquals(Collections.emptyList(), ResultMapper.list(NAME_MAPPER).map(reader(Collections.emptyList())));
+    }
+
+    @Test
+    @DisplayName("maps the first tuple only")
+    void testSingle() {
+        assertEquals(
+            "one",
+            ResultMapper.single(NAME_MAPPER).map(reader(Arrays.asList(Arrays.asList(1, "one"), "ignored")))
+        );
+        assertNull(ResultMapper.single(NAME_MAPPER).map(reader(null)));
+        assertNull(ResultMapper.single(NAME_MAPPER).map(reader(Collections.emptyList())));
+    }
+
+    @Test
+    @DisplayName("reads raw data of a lazy packet")
+    void testRawData() {
+        MsgPackWriter writer = new MsgPackWriter(64);
+        MsgPackLite.INSTANCE.pack(Collections.singletonMap(Key.SYNC.getId(), 1L), writer);
+        MsgPackLite.INSTANCE.pack(
+            Collections.singletonMap(Key.DATA.getId(), Arrays.asList(Arrays.asList(3, "three"))), writer
+        );
+        ByteBuffer data = new LazyTarantoolPacket(writer.toByteBuffer(), MsgPackLite.INSTANCE).getRawData();
+
+        assertTrue(data.isReadOnly());
+        assertEquals(Arrays.asList("three"), ResultMapper.list(NAME_MAPPER).map(new MsgPackReader(data)));
+    }
+
+    private static MsgPackReader reader(Object value) {
+        MsgPackWriter writer = new MsgPackWriter(64);
+        MsgPackLite.INSTANCE.pack(value, writer);
+        return new MsgPackReader(writer.toByteBuffer());
+    }
+
+}
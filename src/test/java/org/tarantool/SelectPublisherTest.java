@@ -0,0 +1,177 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tarantool.TestPagedOps.ids;
+
+import org.tarantool.util.Flow;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A select publisher")
+class SelectPublisherTest {
+
+    @Test
+    @DisplayName("emits all the tuples page by page")
+    void testScan() {
+        TestPagedOps ops = new TestPagedOps(0, 10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new SelectPublisher(ops, 512, 0, Collections.emptyList(), Iterator.ALL, 3, 0).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(ids(0, 10), subscriber.ids());
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertEquals(Arrays.asList(null, 2, 5, 8), ops.keys);
+    }
+
+    @Test
+    @DisplayName("scans a range backwards")
+    void testDescendingScan() {
+        TestPagedOps ops = new TestPagedOps(0, 10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new SelectPublisher(ops, 512, 0, Collections.singletonList(6), Iterator.LE, 4, 0).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(Arrays.asList(6, 5, 4, 3, 2, 1, 0), subscriber.ids());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("emits tuples on demand prefetching a single page")
+    void testDemand() {
+        TestPagedOps ops = new TestPagedOps(0, 10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new SelectPublisher(ops, 512, 0, Collections.emptyList(), Iterator.ALL, 3, 0).subscribe(subscriber);
+
+        assertEquals(0, ops.keys.size());
+
+        subscriber.subscription.request(2);
+        assertEquals(ids(0, 2), subscriber.ids());
+        assertEquals(2, ops.keys.size());
+
+        subscriber.subscription.request(2);
+        assertEquals(ids(0, 4), subscriber.ids());
+        assertEquals(3, ops.keys.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("waits for a page which is not selected yet")
+    void testDeferredPages() {
+        TestPagedOps ops = new TestPagedOps(0, 5);
+        ops.deferred = true;
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new SelectPublisher(ops, 512, 0, Collections.emptyList(), Iterator.ALL, 3, 0).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(0, subscriber.ids().size());
+
+        ops.completeNext();
+        assertEquals(ids(0, 3), subscriber.ids());
+        ops.completeNext();
+
+        assertEquals(ids(0, 5), subscriber.ids());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("stops emitting once cancelled")
+    void testCancel() {
+        TestPagedOps ops = new TestPagedOps(0, 10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new SelectPublisher(ops, 512, 0, Collections.emptyList(), Iterator.ALL, 3, 0).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertEquals(ids(0, 1), subscriber.ids());
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("signals a failed select")
+    void testError() {
+        TestPagedOps ops = new TestPagedOps(0, 10);
+        ops.failure = new TarantoolException(1, "failed");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new SelectPublisher(ops, 512, 0, Collections.emptyList(), Iterator.ALL, 3, 0).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(ops.failure, subscriber.error);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("signals a non-positive demand")
+    void testIllegalDemand() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new SelectPublisher(new TestPagedOps(0, 1), 512, 0, Collections.emptyList(), Iterator.ALL, 3, 0)
+            .subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    @DisplayName("rejects iterators which cannot be continued by key")
+    void testUnsupportedIterator() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new SelectPublisher(new TestPagedOps(0, 1), 512, 0, Collections.emptyList(), Iterator.EQ, 3, 0)
+        );
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<List<?>> {
+
+        private final List<List<?>> tuples = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(List<?> item) {
+            tuples.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<Integer> ids() {
+            List<Integer> ids = new ArrayList<>();
+            for (List<?> tuple : tuples) {
+                ids.add((Integer) tuple.get(0));
+            }
+            return ids;
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.tarantool.TestPagedOps.get;
+import static org.tarantool.TestPagedOps.ids;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@DisplayName("A space scan spliterator")
+class SpaceScanSpliteratorTest {
+
+    @Test
+    @DisplayName("traverses all the tuples page by page")
+    void testScan() {
+        TestPagedOps ops = new TestPagedOps(0, 10);
+        Spliterator<List<?>> spliterator = SpaceScanSpliterator.create(ops, 512, 0, 3, 0);
+
+        assertEquals(ids(0, 10), traverse(spliterator));
+        assertEquals(Arrays.asList(null, null, null, 2, 5, 8), ops.keys);
+    }
+
+    @Test
+    @DisplayName("splits the key range in halves")
+    void testSplit() {
+        TestPagedOps ops = new TestPagedOps(0, 100);
+        Spliterator<List<?>> suffix = SpaceScanSpliterator.create(ops, 512, 0, 10, 0);
+        assertEquals(100, suffix.estimateSize());
+
+        Spliterator<List<?>> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(50, prefix.estimateSize());
+        assertEquals(50, suffix.estimateSize());
+
+        assertEquals(ids(50, 100), traverse(suffix));
+        assertEquals(ids(0, 50), traverse(prefix));
+    }
+
+    @Test
+    @DisplayName("does not split a range narrower than two pages")
+    void testNarrowRange() {
+        Spliterator<List<?>> spliterator = SpaceScanSpliterator.create(new TestPagedOps(0, 19), 512, 0, 10, 0);
+
+        assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    @DisplayName("does not split once the traversal is started")
+    void testSplitStarted() {
+        Spliterator<List<?>> spliterator = SpaceScanSpliterator.create(new TestPagedOps(0, 100), 512, 0, 10, 0);
+
+        spliterator.tryAdvance(tuple -> { });
+
+        assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    @DisplayName("does not split an index with non-integer keys")
+    void testNonIntegerKeys() {
+        Spliterator<List<?>> spliterator = SpaceScanSpliterator.create(new TestPagedOps(0, 100), 512, 0, 10, 1);
+
+        assertNull(spliterator.trySplit());
+        assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+    }
+
+    @Test
+    @DisplayName("does not split an index which cannot be iterated backwards")
+    void testHashIndex() {
+        TestPagedOps ops = new TestPagedOps(0, 100);
+        ops.unsupportedIterator = Iterator.LE;
+        Spliterator<List<?>> spliterator = SpaceScanSpliterator.create(ops, 512, 0, 10, 0);
+
+        assertNull(spliterator.trySplit());
+        assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+        assertEquals(ids(0, 100), traverse(spliterator));
+    }
+
+    @Test
+    @DisplayName("splits a key range wider than the long values")
+    void testWideRange() {
+        TestPagedOps ops = new TestPagedOps(0, 0);
+        ops.add(Long.MIN_VALUE);
+        ops.add(0L);
+        ops.add(Long.MAX_VALUE - 1);
+        Spliterator<List<?>> suffix = SpaceScanSpliterator.create(ops, 512, 0, 10, 0);
+        assertEquals(Long.MAX_VALUE, suffix.estimateSize());
+
+        Spliterator<List<?>> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(Long.MAX_VALUE, prefix.estimateSize());
+        assertEquals(Long.MAX_VALUE, suffix.estimateSize());
+
+        List<Object> ids = new ArrayList<>();
+        prefix.forEachRemaining(tuple -> ids.add(tuple.get(0)));
+        suffix.forEachRemaining(tuple -> ids.add(tuple.get(0)));
+        assertEquals(Arrays.asList(Long.MIN_VALUE, 0L, Long.MAX_VALUE - 1), ids);
+    }
+
+    @Test
+    @DisplayName("traverses all the tuples by a parallel stream")
+    void testParallelStream() {
+        TestPagedOps ops = new TestPagedOps(-500, 1500);
+        ops.asynchronous = true;
+        List<Integer> ids = StreamSupport.stream(SpaceScanSpliterator.create(ops, 512, 0, 7, 0), true)
+            .map(tuple -> (Integer) tuple.get(0))
+            .collect(Collectors.toList());
+
+        assertEquals(ids(-500, 1500), ids);
+    }
+
+    @Test
+    @DisplayName("rethrows the error of a failed select")
+    void testError() {
+        TestPagedOps ops = new TestPagedOps(0, 10);
+        Spliterator<List<?>> spliterator = SpaceScanSpliterator.create(ops, 512, 0, 3, 0);
+        ops.failure = new TarantoolException(1, "failed");
+
+        TarantoolException error = assertThrows(TarantoolException.class, () -> spliterator.tryAdvance(tuple -> { }));
+        assertSame(ops.failure, error);
+    }
+
+    @Test
+    @DisplayName("reads the key fields of both index part formats")
+    void testKeyFields() {
+        List<?> maps = Arrays.asList(
+            Collections.singletonMap("field", 2),
+            Collections.singletonMap("field", 0)
+        );
+        List<?> lists = Arrays.asList(Arrays.asList(3, "unsigned"), Arrays.asList(1, "string"));
+
+        assertArrayEquals(new int[] { 2, 0 }, SpaceScanSpliterator.getKeyFields(new IndexOps(maps), 512, 0));
+        assertArrayEquals(new int[] { 3, 1 }, SpaceScanSpliterator.getKeyFields(new IndexOps(lists), 512, 0));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpaceScanSpliterator.getKeyFields(new IndexOps(null), 512, 0)
+        );
+    }
+
+    @Test
+    @DisplayName("rejects a non-unique index")
+    void testNonUniqueIndex() {
+        IndexOps ops = new IndexOps(Collections.singletonList(Arrays.asList(1, "string")));
+        ops.opts = Collections.singletonMap("unique", false);
+
+        assertThrows(IllegalArgumentException.class, () -> SpaceScanSpliterator.getKeyFields(ops, 512, 1));
+    }
+
+    private static List<Integer> traverse(Spliterator<List<?>> spliterator) {
+        List<Integer> ids = new ArrayList<>();
+        spliterator.forEachRemaining(tuple -> ids.add((Integer) tuple.get(0)));
+        return ids;
+    }
+
+    /**
+     * Selects an index definition with the given parts.
+     */
+    private static class IndexOps extends AbstractTarantoolOps<Integer, List<?>, Object, List<?>> {
+
+        private final List<?> parts;
+        private Map<String, ?> opts = Collections.singletonMap("unique", true);
+
+        IndexOps(List<?> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        protected List<?> exec(Code code, Object... args) {
+            assertEquals(289, get(args, Key.SPACE));
+            if (parts == null) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(Arrays.asList(512, 0, "pk", "tree", opts, parts));
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("A striped executor")
+class StripedExecutorTest {
+
+    private static final int TASKS = 10_000;
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("runs tasks of a stripe in the submission order")
+    void testOrder() throws Exception {
+        StripedExecutor executor = new StripedExecutor(pool, 2);
+        List<Integer> even = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> odd = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(TASKS);
+
+        for (int i = 0; i < TASKS; i++) {
+            int value = i;
+            executor.execute(i, () -> {
+                (value % 2 == 0 ? even : odd).add(value);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(TASKS / 2, even.size());
+        for (int i = 0; i < even.size(); i++) {
+            assertEquals(i * 2, (int) even.get(i));
+            assertEquals(i * 2 + 1, (int) odd.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("runs different stripes in parallel")
+    void testParallelStripes() throws Exception {
+        StripedExecutor executor = new StripedExecutor(pool, 2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(0, () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(1, done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        blocked.countDown();
+    }
+
+    @Test
+    @DisplayName("drops tasks rejected by the delegate")
+    void testRejected() {
+        StripedExecutor executor = new StripedExecutor(pool, 1);
+        pool.shutdown();
+        List<Integer> values = new ArrayList<>();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(0, () -> values.add(1)));
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    @DisplayName("runs the queued tasks itself when the delegate rejects to continue")
+    void testRejectedReschedule() {
+        List<Runnable> accepted = new ArrayList<>();
+        StripedExecutor executor = new StripedExecutor(task -> {
+            if (!accepted.isEmpty()) {
+                throw new RejectedExecutionException("Pool is saturated");
+            }
+            accepted.add(task);
+        }, 1);
+        List<Integer> values = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            executor.execute(0, () -> values.add(value));
+        }
+        accepted.get(0).run();
+
+        assertEquals(100, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, (int) values.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,286 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@DisplayName("A bulk loader")
+class TarantoolBulkLoaderTest {
+
+    private ScheduledExecutorService responder;
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        responder = Executors.newScheduledThreadPool(4);
+        timer = new HashedWheelTimer("bulk-loader-test-timer", 1, TimeUnit.MILLISECONDS, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        responder.shutdownNow();
+        timer.close();
+    }
+
+    @Test
+    @DisplayName("loads all the tuples keeping the window of in-flight requests")
+    void testLoad() throws InterruptedException {
+        LoadingOps ops = new LoadingOps(tuple -> null);
+        TarantoolBulkLoaderConfig config = makeConfig();
+        config.maxInFlightRequests = 8;
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(config, Collections.singletonList(ops))
+            .load(512, tuples(1000));
+
+        assertEquals(1000, stats.getLoaded());
+        assertEquals(0, stats.getFailed());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(1000, ops.inserted.size());
+        assertTrue(ops.maxInFlight.get() <= 8, "max in-flight " + ops.maxInFlight.get());
+        assertTrue(stats.getLatencyMicros(99) > 0);
+    }
+
+    @Test
+    @DisplayName("retries transient errors")
+    void testRetry() throws InterruptedException {
+        Map<Object, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        LoadingOps ops = new LoadingOps(tuple -> {
+            int attempt = attempts.computeIfAbsent(tuple.get(0), id -> new AtomicInteger()).incrementAndGet();
+            if ((Integer) tuple.get(0) % 10 == 0 && attempt < 3) {
+                return new TarantoolException(TarantoolException.ERR_LOADING, "loading");
+            }
+            return null;
+        });
+        TarantoolBulkLoaderConfig config = makeConfig();
+        config.maxRetries = 3;
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(config, Collections.singletonList(ops))
+            .load(512, tuples(100));
+
+        assertEquals(100, stats.getLoaded());
+        assertEquals(20, stats.getRetried());
+        assertEquals(100, ops.inserted.size());
+    }
+
+    @Test
+    @DisplayName("retries inserts failed by a broken connection only if allowed")
+    void testConnectionErrorOfInsert() throws InterruptedException {
+        TarantoolBulkLoaderConfig config = makeConfig();
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(config, Collections.singletonList(breakingOps()))
+            .load(512, tuples(10));
+        assertEquals(9, stats.getLoaded());
+        assertEquals(1, stats.getFailed());
+        assertEquals(0, stats.getRetried());
+
+        config.retryNonIdempotentRequests = true;
+        stats = new TarantoolBulkLoader(config, Collections.singletonList(breakingOps()))
+            .load(512, tuples(10));
+        assertEquals(10, stats.getLoaded());
+        assertEquals(1, stats.getRetried());
+    }
+
+    @Test
+    @DisplayName("retries only replaces failed by a broken connection by default")
+    void testConnectionErrorOfIdempotentRequests() throws InterruptedException {
+        TarantoolBulkLoaderConfig config = makeConfig();
+        config.operation = TarantoolBulkLoaderConfig.Operation.REPLACE;
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(config, Collections.singletonList(breakingOps()))
+            .load(512, tuples(10));
+        assertEquals(10, stats.getLoaded());
+        assertEquals(1, stats.getRetried());
+
+        // a repeated upsert updates the tuple inserted by the first one
+        config.operation = TarantoolBulkLoaderConfig.Operation.UPSERT;
+        config.upsertOperations = Collections.singletonList(Arrays.asList("=", 1, "value"));
+        stats = new TarantoolBulkLoader(config, Collections.singletonList(breakingOps()))
+            .load(512, tuples(10));
+        assertEquals(9, stats.getLoaded());
+        assertEquals(1, stats.getFailed());
+        assertEquals(0, stats.getRetried());
+    }
+
+    @Test
+    @DisplayName("fails the tuples whose retries cannot be scheduled")
+    void testClosedRetryTimer() throws InterruptedException {
+        HashedWheelTimer closed = new HashedWheelTimer("closed-test-timer", 1, TimeUnit.MILLISECONDS, 64);
+        closed.close();
+        Map<Object, Exception> failures = new ConcurrentHashMap<>();
+        TarantoolBulkLoaderConfig config = makeConfig();
+        config.retryTimer = closed;
+        config.failureHandler = (tuple, error) -> failures.put(tuple.get(0), error);
+        LoadingOps ops = new LoadingOps(tuple -> (Integer) tuple.get(0) == 3
+            ? new TarantoolException(TarantoolException.ERR_LOADING, "loading")
+            : null
+        );
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(config, Collections.singletonList(ops))
+            .load(512, tuples(10));
+
+        assertEquals(9, stats.getLoaded());
+        assertEquals(1, stats.getFailed());
+        assertEquals(0, stats.getInFlight());
+        assertTrue(failures.get(3) instanceof IllegalStateException);
+    }
+
+    @Test
+    @DisplayName("retries requests rejected by the client")
+    void testRejection() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        LoadingOps ops = new LoadingOps(tuple -> null);
+        ops.rejection = tuple -> attempts.incrementAndGet() == 1;
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(makeConfig(), Collections.singletonList(ops))
+            .load(512, tuples(10));
+
+        assertEquals(10, stats.getLoaded());
+        assertEquals(1, stats.getRetried());
+    }
+
+    @Test
+    @DisplayName("passes tuples failed after all the retries to the failure handler")
+    void testFailure() throws InterruptedException {
+        TarantoolException duplicate = new TarantoolException(3, "Duplicate key exists");
+        TarantoolException readOnly = new TarantoolException(TarantoolException.ERR_READONLY, "read-only");
+        LoadingOps ops = new LoadingOps(tuple -> {
+            int id = (Integer) tuple.get(0);
+            return id == 5 ? duplicate : id == 7 ? readOnly : null;
+        });
+        Map<Object, Exception> failures = new ConcurrentHashMap<>();
+        TarantoolBulkLoaderConfig config = makeConfig();
+        config.maxRetries = 2;
+        config.failureHandler = (tuple, error) -> failures.put(tuple.get(0), error);
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(config, Collections.singletonList(ops))
+            .load(512, tuples(10));
+
+        assertEquals(8, stats.getLoaded());
+        assertEquals(2, stats.getFailed());
+        assertEquals(2, stats.getRetried());
+        assertSame(duplicate, failures.get(5));
+        assertSame(readOnly, failures.get(7));
+    }
+
+    @Test
+    @DisplayName("spreads requests across the clients")
+    void testSeveralTargets() throws InterruptedException {
+        LoadingOps first = new LoadingOps(tuple -> null);
+        LoadingOps second = new LoadingOps(tuple -> null);
+
+        TarantoolBulkLoadStats stats = new TarantoolBulkLoader(makeConfig(), Arrays.asList(first, second))
+            .load(512, tuples(1000));
+
+        assertEquals(1000, stats.getLoaded());
+        assertEquals(1000, first.inserted.size() + second.inserted.size());
+        assertTrue(first.inserted.size() > 100 && second.inserted.size() > 100);
+    }
+
+    @Test
+    @DisplayName("reports the progress of a load")
+    void testProgress() throws InterruptedException {
+        List<TarantoolBulkLoadStats> reports = Collections.synchronizedList(new ArrayList<>());
+        TarantoolBulkLoaderConfig config = makeConfig();
+        config.progressIntervalMillis = 0;
+        config.progressListener = reports::add;
+
+        new TarantoolBulkLoader(config, Collections.singletonList(new LoadingOps(tuple -> null)))
+            .load(512, tuples(10));
+
+        assertEquals(10, reports.size());
+    }
+
+    private TarantoolBulkLoaderConfig makeConfig() {
+        TarantoolBulkLoaderConfig config = new TarantoolBulkLoaderConfig();
+        config.maxInFlightRequests = 16;
+        config.retryDelayMillis = 1;
+        config.retryTimer = timer;
+        return config;
+    }
+
+    /**
+     * Creates operations which fail the first request of the third tuple
+     * as if the connection broke.
+     */
+    private LoadingOps breakingOps() {
+        AtomicInteger attempts = new AtomicInteger();
+        return new LoadingOps(tuple -> {
+            if ((Integer) tuple.get(0) == 3 && attempts.incrementAndGet() == 1) {
+                return new CommunicationException("Connection is broken");
+            }
+            return null;
+        });
+    }
+
+    private static Stream<List<?>> tuples(int count) {
+        return IntStream.range(0, count).mapToObj(i -> Arrays.asList(i, "value " + i));
+    }
+
+    /**
+     * Completes inserts by a pool thread with the error the function
+     * returns for the tuple or successfully if it returns {@code null}.
+     */
+    private class LoadingOps extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        private final Function<List<?>, Exception> errors;
+        private final Map<Object, List<?>> inserted = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private Function<List<?>, Boolean> rejection = tuple -> false;
+
+        LoadingOps(Function<List<?>, Exception> errors) {
+            this.errors = errors;
+        }
+
+        @Override
+        protected CompletionStage<List<?>> exec(Code code, Object... args) {
+            List<?> tuple = (List<?>) args[code == Code.UPSERT ? 5 : 3];
+            if (rejection.apply(tuple)) {
+                throw new RejectedExecutionException("Too many in-flight requests");
+            }
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            CompletableFuture<List<?>> result = new CompletableFuture<>();
+            responder.schedule(() -> {
+                inFlight.decrementAndGet();
+                Exception error = errors.apply(tuple);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    inserted.put(tuple.get(0), tuple);
+                    result.complete(Collections.singletonList(tuple));
+                }
+            }, 100, TimeUnit.MICROSECONDS);
+            return result;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,188 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.LazyTarantoolPacket;
+import org.tarantool.protocol.ProtoUtils;
+import org.tarantool.protocol.TarantoolFrameDecoder;
+import org.tarantool.protocol.TarantoolPacket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("A tarantool frame decoder")
+class TarantoolFrameDecoderTest {
+
+    private static final List<?> TUPLES = Arrays.asList(
+        Arrays.asList(1, "one"),
+        Arrays.asList(2, "two", Arrays.asList(2.5, null)),
+        Arrays.asList()
+    );
+
+    @Test
+    @DisplayName("decodes whole frames delivered in arbitrary chunks")
+    void testWholeFrames() {
+        byte[] bytes = frames(1L, 2L, 3L);
+        for (int chunk = 1; chunk <= bytes.length; chunk++) {
+            RecordingHandler handler = new RecordingHandler(TarantoolFrameDecoder.Delivery.DECODE);
+            feed(new TarantoolFrameDecoder(MsgPackLite.INSTANCE, handler), bytes, chunk);
+
+            assertEquals(Arrays.asList(1L, 2L, 3L), handler.syncs);
+            assertEquals(3, handler.packets.size());
+            assertEquals(TUPLES, handler.packets.get(2).getData());
+            assertTrue(handler.tuples.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("retains frames which outlive the buffer")
+    void testRetainedFrames() {
+        byte[] bytes = frames(1L, 2L);
+        RecordingHandler handler = new RecordingHandler(TarantoolFrameDecoder.Delivery.RETAIN);
+        TarantoolFrameDecoder decoder = new TarantoolFrameDecoder(MsgPackLite.INSTANCE, handler);
+
+        decoder.decode(ByteBuffer.wrap(bytes));
+        Arrays.fill(bytes, (byte) 0);
+
+        assertEquals(2, handler.packets.size());
+        assertTrue(handler.packets.get(0) instanceof LazyTarantoolPacket);
+        assertEquals(TUPLES, handler.packets.get(0).getData());
+        assertEquals(TUPLES, handler.packets.get(1).getData());
+    }
+
+    @Test
+    @DisplayName("decodes frames which do not depend on the buffer")
+    void testDecodedFrames() {
+        byte[] bytes = frames(1L);
+        RecordingHandler handler = new RecordingHandler(TarantoolFrameDecoder.Delivery.DECODE);
+        TarantoolFrameDecoder decoder = new TarantoolFrameDecoder(MsgPackLite.INSTANCE, handler);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+
+        decoder.decode(buffer);
+        buffer.clear();
+        buffer.put(new byte[bytes.length]);
+
+        assertFalse(buffer.hasRemaining());
+        assertFalse(handler.packets.get(0) instanceof LazyTarantoolPacket);
+        assertEquals(TUPLES, handler.packets.get(0).getData());
+    }
+
+    @Test
+    @DisplayName("streams tuples before the frame is complete")
+    void testStreamedTuples() {
+        byte[] bytes = frames(7L);
+        for (int chunk = 1; chunk <= bytes.length; chunk++) {
+            RecordingHandler handler = new RecordingHandler(TarantoolFrameDecoder.Delivery.STREAM);
+            TarantoolFrameDecoder decoder = new TarantoolFrameDecoder(MsgPackLite.INSTANCE, handler);
+            ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+            for (int i = 0; i < bytes.length; i += chunk) {
+                buffer.put(bytes, i, Math.min(chunk, bytes.length - i));
+                buffer.flip();
+                decoder.decode(buffer);
+                buffer.compact();
+                if (handler.packets.isEmpty() && handler.tuples.size() == TUPLES.size()) {
+                    assertTrue(decoder.isInFrame());
+                }
+            }
+
+            assertEquals(TUPLES, handler.tuples);
+            assertEquals(1, handler.packets.size());
+            TarantoolPacket packet = handler.packets.get(0);
+            assertEquals(7L, ((Number) packet.getHeaders().get(Key.SYNC.getId())).longValue());
+            assertNull(packet.getData());
+            assertEquals(512, packet.getBody().get(Key.SPACE.getId()));
+            assertFalse(decoder.isInFrame());
+        }
+    }
+
+    @Test
+    @DisplayName("requests the capacity of a whole frame")
+    void testRequiredCapacity() {
+        byte[] bytes = frames(1L);
+        TarantoolFrameDecoder decoder = new TarantoolFrameDecoder(
+            MsgPackLite.INSTANCE, new RecordingHandler(TarantoolFrameDecoder.Delivery.DECODE)
+        );
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, 16);
+
+        decoder.decode(buffer);
+
+        assertEquals(bytes.length - ProtoUtils.LENGTH_OF_SIZE_MESSAGE, decoder.getRequiredCapacity());
+        assertEquals(ProtoUtils.LENGTH_OF_SIZE_MESSAGE, buffer.position());
+    }
+
+    @Test
+    @DisplayName("fails on a malformed frame")
+    void testMalformedFrame() {
+        byte[] bytes = frames(1L);
+        bytes[4] -= 3;
+        TarantoolFrameDecoder decoder = new TarantoolFrameDecoder(
+            MsgPackLite.INSTANCE, new RecordingHandler(TarantoolFrameDecoder.Delivery.STREAM)
+        );
+
+        assertThrows(CommunicationException.class, () -> decoder.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    private static void feed(TarantoolFrameDecoder decoder, byte[] bytes, int chunk) {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+        for (int i = 0; i < bytes.length; i += chunk) {
+            buffer.put(bytes, i, Math.min(chunk, bytes.length - i));
+            buffer.flip();
+            decoder.decode(buffer);
+            buffer.compact();
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    private static byte[] frames(Long... syncs) {
+        MsgPackWriter writer = new MsgPackWriter(64);
+        for (Long sync : syncs) {
+            ProtoUtils.writePacket(
+                writer, MsgPackLite.INSTANCE, Code.SELECT, sync, null,
+                Key.SPACE, 512, Key.DATA, TUPLES
+            );
+        }
+        return writer.toByteBuffer().array();
+    }
+
+    private static class RecordingHandler implements TarantoolFrameDecoder.Handler {
+
+        private final TarantoolFrameDecoder.Delivery delivery;
+        private final List<Long> syncs = new ArrayList<>();
+        private final List<Object> tuples = new ArrayList<>();
+        private final List<TarantoolPacket> packets = new ArrayList<>();
+
+        RecordingHandler(TarantoolFrameDecoder.Delivery delivery) {
+            this.delivery = delivery;
+        }
+
+        @Override
+        public TarantoolFrameDecoder.Delivery onHeader(long sync, long code) {
+            syncs.add(sync);
+            assertEquals(Code.SELECT.getId(), code);
+            return delivery;
+        }
+
+        @Override
+        public void onTuple(long sync, MsgPackReader reader) {
+            tuples.add(MsgPackLite.INSTANCE.unpack(reader));
+            assertFalse(reader.hasRemaining());
+        }
+
+        @Override
+        public void onPacket(TarantoolPacket packet) {
+            packets.add(packet);
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A tarantool tuple")
+class TarantoolTupleTest {
+
+    private static final List<Object> FIELDS = Arrays.asList(
+        7, -7, 300, 4294967296L, 1.5d, "text", new byte[] { 1, 2 }, null, true, Arrays.asList(1, 2)
+    );
+
+    @Test
+    @DisplayName("decodes primitive fields of any width")
+    void testPrimitiveAccessors() {
+        TarantoolTuple tuple = read(FIELDS);
+
+        assertEquals(FIELDS.size(), tuple.size());
+        assertEquals(7, tuple.getInt(0));
+        assertEquals(-7L, tuple.getLong(1));
+        assertEquals(300, tuple.getInt(2));
+        assertEquals(4294967296L, tuple.getLong(3));
+        assertThrows(ArithmeticException.class, () -> tuple.getInt(3));
+        assertEquals(1.5d, tuple.getDouble(4));
+        assertEquals(300d, tuple.getDouble(2));
+        assertTrue(tuple.getBoolean(8));
+    }
+
+    @Test
+    @DisplayName("decodes object fields")
+    void testObjectAccessors() {
+        TarantoolTuple tuple = read(FIELDS);
+
+        assertEquals("text", tuple.getString(5));
+        assertArrayEquals(new byte[] { 1, 2 }, tuple.getBytes(6));
+        assertTrue(tuple.isNull(7));
+        assertFalse(tuple.isNull(5));
+        assertNull(tuple.getString(7));
+        assertNull(tuple.getBytes(7));
+        assertEquals(Arrays.asList(1, 2), tuple.getObject(9));
+        assertEquals(
+            Arrays.asList(1, 2),
+            MsgPackLite.INSTANCE.unpack(new MsgPackReader(tuple.getRaw(9)))
+        );
+        assertThrows(IllegalArgumentException.class, () -> tuple.getLong(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> tuple.getLong(10));
+    }
+
+    @Test
+    @DisplayName("is returned by the tuples result mapper")
+    void testResultMapper() {
+        MsgPackWriter writer = new MsgPackWriter(64);
+        MsgPackLite.INSTANCE.pack(Arrays.asList(FIELDS, Collections.emptyList(), Arrays.asList("last")), writer);
+
+        List<TarantoolTuple> tuples = ResultMapper.tuples().map(new MsgPackReader(writer.toByteBuffer()));
+
+        assertEquals(3, tuples.size());
+        assertEquals(FIELDS.size(), tuples.get(0).size());
+        assertEquals(0, tuples.get(1).size());
+        assertEquals(Collections.emptyList(), tuples.get(1).toList());
+        assertEquals("last", tuples.get(2).getString(0));
+        assertEquals(7, tuples.get(0).getInt(0));
+    }
+
+    private static TarantoolTuple read(List<Object> fields) {
+        MsgPackWriter writer = new MsgPackWriter(64);
+        MsgPackLite.INSTANCE.pack(fields, writer);
+        ByteBuffer buffer = writer.toByteBuffer();
+        return TarantoolTuple.read(new MsgPackReader(buffer));
+    }
+
+}
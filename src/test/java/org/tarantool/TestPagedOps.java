@@ -0,0 +1,130 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Selects tuples {@code [id, "value id"]} from an in-memory space
+ * recording the first parts of the keys of the selects.
+ */
+class TestPagedOps extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+    final List<Object> keys = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Whether the selects wait for {@link #completeNext()}.
+     */
+    volatile boolean deferred;
+
+    /**
+     * Whether the selects are completed by a pool thread
+     * like the responses received by the reader thread.
+     */
+    volatile boolean asynchronous;
+
+    volatile Exception failure;
+
+    /**
+     * Iterator rejected by the index like {@link Iterator#LE} by a hash one.
+     */
+    volatile Iterator unsupportedIterator;
+
+    private final NavigableMap<Long, List<?>> tuples = new TreeMap<>();
+    private final List<Runnable> pending = Collections.synchronizedList(new ArrayList<>());
+
+    TestPagedOps(int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(i);
+        }
+    }
+
+    void add(Number id) {
+        tuples.put(id.longValue(), Arrays.asList(id, "value " + id));
+    }
+
+    void completeNext() {
+        pending.remove(0).run();
+    }
+
+    @Override
+    protected CompletionStage<List<?>> exec(Code code, Object... args) {
+        List<?> key = (List<?>) get(args, Key.KEY);
+        int iterator = (Integer) get(args, Key.ITERATOR);
+        int limit = (Integer) get(args, Key.LIMIT);
+        keys.add(key.isEmpty() ? null : key.get(0));
+        CompletableFuture<List<?>> result = new CompletableFuture<>();
+        Runnable completion = () -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else if (unsupportedIterator != null && unsupportedIterator.getValue() == iterator) {
+                result.completeExceptionally(new TarantoolException(35, "Index does not support the iterator"));
+            } else {
+                result.complete(select(key, iterator, limit));
+            }
+        };
+        if (deferred) {
+            pending.add(completion);
+        } else if (asynchronous) {
+            CompletableFuture.runAsync(completion);
+        } else {
+            completion.run();
+        }
+        return result;
+    }
+
+    private List<?> select(List<?> key, int iterator, int limit) {
+        NavigableMap<Long, List<?>> range = tuples;
+        if (key.isEmpty()) {
+            if (iterator == Iterator.LE.getValue() || iterator == Iterator.LT.getValue()) {
+                range = tuples.descendingMap();
+            }
+        } else {
+            long id = ((Number) key.get(0)).longValue();
+            if (iterator == Iterator.GT.getValue()) {
+                range = tuples.tailMap(id, false);
+            } else if (iterator == Iterator.LT.getValue()) {
+                range = tuples.headMap(id, false).descendingMap();
+            } else if (iterator == Iterator.LE.getValue()) {
+                range = tuples.headMap(id, true).descendingMap();
+            } else {
+                range = tuples.tailMap(id, true);
+            }
+        }
+        List<Object> page = new ArrayList<>();
+        for (List<?> tuple : range.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(tuple);
+        }
+        return page;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    static List<Integer> ids(int from, int to) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    static Object get(Object[] args, Key key) {
+        for (int i = 0; i < args.length; i += 2) {
+            if (args[i] == key) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+}
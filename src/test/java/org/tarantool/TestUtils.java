@@ -277,7 +277,7 @@ public class TestUtils {
         config.password = TarantoolTestHelper.PASSWORD;
         config.initTimeoutMillis = 2000;
         config.operationExpiryTimeMillis = 1000;
-        config.sharedBufferSize = 128;
+        config.requestRingSize = 128;
         config.executor = null;
         return config;
     }
@@ -287,7 +287,7 @@ public class TestUtils {
         config.username = TarantoolTestHelper.USERNAME;
         config.password = TarantoolTestHelper.PASSWORD;
         config.initTimeoutMillis = 2000;
-        config.sharedBufferSize = 128;
+        config.requestRingSize = 128;
         return config;
     }
 
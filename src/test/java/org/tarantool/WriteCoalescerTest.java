@@ -0,0 +1,77 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("A write coalescer")
+class WriteCoalescerTest {
+
+    @Test
+    @DisplayName("completes a batch reaching the limits")
+    void testLimits() {
+        WriteCoalescer coalescer = new WriteCoalescer(100, 3, 0, new TarantoolClientStats());
+
+        coalescer.onRequest(10);
+        coalescer.onRequest(10);
+        assertFalse(coalescer.isBatchFull());
+        coalescer.onRequest(10);
+        assertTrue(coalescer.isBatchFull());
+
+        coalescer.onFlush();
+        assertFalse(coalescer.isBatchFull());
+        coalescer.onRequest(100);
+        assertTrue(coalescer.isBatchFull());
+    }
+
+    @Test
+    @DisplayName("does not wait without a budget")
+    void testNoBudget() {
+        WriteCoalescer coalescer = new WriteCoalescer(100, 10, 0, new TarantoolClientStats());
+        coalescer.onRequest(10);
+
+        assertEquals(0, coalescer.getLingerNanos());
+    }
+
+    @Test
+    @DisplayName("waits within the budget and counts hits and misses")
+    void testHitsAndMisses() {
+        TarantoolClientStats stats = new TarantoolClientStats();
+        WriteCoalescer coalescer = new WriteCoalescer(100, 10, TimeUnit.SECONDS.toMicros(10), stats);
+
+        assertEquals(0, coalescer.getLingerNanos());
+        coalescer.onRequest(10);
+        long linger = coalescer.getLingerNanos();
+        assertTrue(linger > 0 && linger <= TimeUnit.SECONDS.toNanos(10));
+        coalescer.onRequest(10);
+        assertTrue(coalescer.getLingerNanos() > 0);
+        coalescer.onFlush();
+
+        assertEquals(1, stats.writeCoalescingHits);
+        assertEquals(1, stats.writeCoalescingMisses);
+        assertEquals(1, stats.writeBatches);
+    }
+
+    @Test
+    @DisplayName("skips waiting when requests are too rare")
+    void testRareRequests() throws InterruptedException {
+        TarantoolClientStats stats = new TarantoolClientStats();
+        WriteCoalescer coalescer = new WriteCoalescer(100, 10, 1000, stats);
+        for (int i = 0; i < 32; i++) {
+            Thread.sleep(3);
+            coalescer.onRequest(10);
+            coalescer.onFlush();
+        }
+
+        assertTrue(coalescer.getAverageIntervalNanos() > TimeUnit.MILLISECONDS.toNanos(1));
+        coalescer.onRequest(10);
+        assertEquals(0, coalescer.getLingerNanos());
+        assertEquals(1, stats.writeCoalescingSkips);
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.tarantool.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackReader;
+import org.tarantool.MsgPackWriter;
+import org.tarantool.ResultMapper;
+import org.tarantool.protocol.ProtoUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("A generated tuple codec")
+class TupleCodecTest {
+
+    @Test
+    @DisplayName("is found by the tuple class")
+    void testLookup() {
+        assertTrue(TupleCodecs.of(Account.class) == TupleCodecTest_AccountTupleCodec.INSTANCE);
+        assertThrows(IllegalArgumentException.class, () -> TupleCodecs.of(String.class));
+    }
+
+    @Test
+    @DisplayName("encodes the same bytes as a list of fields")
+    void testEncode() throws IOException {
+        Account account = new Account(42, "alice", 10.5, null, true);
+        List<?> fields = Arrays.asList(42, "alice", 10.5, null, true);
+
+        MsgPackWriter writer = new MsgPackWriter(64);
+        TupleCodecs.of(Account.class).encode(account, writer);
+
+        assertArrayEquals(pack(fields), writer.toByteBuffer().array());
+        assertArrayEquals(pack(fields), pack(TupleCodecs.of(Account.class).tuple(account)));
+        assertEquals(fields, TupleCodecs.of(Account.class).tuple(account));
+    }
+
+    @Test
+    @DisplayName("decodes tuples with missing and extra fields")
+    void testDecode() throws IOException {
+        TupleCodec<Account> codec = TupleCodecs.of(Account.class);
+
+        Account account = codec.map(reader(Arrays.asList(7, "bob", 1, new byte[] { 1 }, false, "extra", 8)));
+        assertEquals(7, account.id);
+        assertEquals("bob", account.getName());
+        assertEquals(1.0, account.balance);
+        assertArrayEquals(new byte[] { 1 }, account.avatar);
+        assertFalse(account.active);
+
+        Account partial = codec.map(reader(Arrays.asList(8, "carol")));
+        assertEquals(8, partial.id);
+        assertEquals(0.0, partial.balance);
+        assertNull(partial.avatar);
+    }
+
+    @Test
+    @DisplayName("rejects null in a non-nullable field")
+    void testNonNullable() {
+        MsgPackWriter writer = new MsgPackWriter(64);
+        Account account = new Account(1, null, 0, null, false);
+
+        assertThrows(NullPointerException.class, () -> TupleCodecs.of(Account.class).encode(account, writer));
+    }
+
+    @Test
+    @DisplayName("supports boxed, narrow and binary typed fields")
+    void testFieldTypes() throws IOException {
+        Metric metric = new Metric();
+        metric.code = 3;
+        metric.count = null;
+        metric.ratio = 0.25f;
+        metric.label = "m";
+
+        MsgPackWriter writer = new MsgPackWriter(64);
+        TupleCodecs.of(Metric.class).encode(metric, writer);
+        List<?> fields = (List<?>) MsgPackLite.INSTANCE.unpack(new MsgPackReader(writer.toByteBuffer()));
+        assertEquals(3, fields.get(0));
+        assertNull(fields.get(1));
+        assertEquals(0.25d, fields.get(2));
+        assertArrayEquals(new byte[] { 'm' }, (byte[]) fields.get(3));
+
+        Metric decoded = TupleCodecs.of(Metric.class).map(new MsgPackReader(writer.toByteBuffer()));
+        assertEquals(Short.valueOf((short) 3), decoded.code);
+        assertNull(decoded.count);
+        assertEquals(0.25f, decoded.ratio);
+        assertEquals("m", decoded.label);
+    }
+
+    @Test
+    @DisplayName("rejects integers which do not fit into narrow fields")
+    void testNarrowingOverflow() {
+        assertThrows(
+            ArithmeticException.class,
+            () -> TupleCodecs.of(Metric.class).map(reader(Arrays.asList(Short.MAX_VALUE + 1, null, 0.5, null)))
+        );
+        assertThrows(
+            ArithmeticException.class,
+            () -> TupleCodecs.of(Account.class).map(reader(Arrays.asList(1L << 32, "bob", 1, null, false)))
+        );
+    }
+
+    @Test
+    @DisplayName("encodes a tuple argument of a request")
+    void testRequestArgument() throws IOException {
+        Account account = new Account(5, "dave", 2.5, null, true);
+        ByteBuffer packet = ProtoUtils.createPacket(
+            MsgPackLite.INSTANCE, Code.INSERT, 1L, null,
+            Key.SPACE, 512, Key.TUPLE, TupleCodecs.of(Account.class).tuple(account)
+        );
+        packet.position(ProtoUtils.LENGTH_OF_SIZE_MESSAGE);
+
+        List<?> tuple = (List<?>) ProtoUtils.readPacket(new MsgPackReader(packet), MsgPackLite.INSTANCE)
+            .getBody()
+            .get(Key.TUPLE.getId());
+        Account decoded = ResultMapper.single(TupleCodecs.of(Account.class))
+            .map(reader(Arrays.asList(tuple)));
+        assertEquals(5, decoded.id);
+        assertEquals("dave", decoded.getName());
+    }
+
+    private static MsgPackReader reader(Object value) throws IOException {
+        return new MsgPackReader(ByteBuffer.wrap(pack(value)));
+    }
+
+    private static byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, stream);
+        return stream.toByteArray();
+    }
+
+    @Tuple
+    static class Account {
+
+        @TupleField(order = 0)
+        int id;
+
+        @TupleField(order = 1)
+        private String name;
+
+        @TupleField(order = 2)
+        double balance;
+
+        @TupleField(order = 3, nullable = true)
+        byte[] avatar;
+
+        @TupleField(order = 4)
+        boolean active;
+
+        String transientNote;
+
+        Account() {
+        }
+
+        Account(int id, String name, double balance, byte[] avatar, boolean active) {
+            this.id = id;
+            this.name = name;
+            this.balance = balance;
+            this.avatar = avatar;
+            this.active = active;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    @Tuple
+    static class Metric {
+
+        @TupleField(order = 0)
+        Short code;
+
+        @TupleField(order = 1, nullable = true)
+        Long count;
+
+        @TupleField(order = 2, type = FieldType.DOUBLE)
+        float ratio;
+
+        @TupleField(order = 3, type = FieldType.BINARY)
+        String label;
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.tarantool.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@DisplayName("A concurrent long map")
+class ConcurrentLongMapTest {
+
+    @Test
+    @DisplayName("puts, gets and removes values")
+    void testBasicOperations() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>(4);
+
+        assertNull(map.put(1L, "one"));
+        assertNull(map.put(-1L, "minus one"));
+        assertEquals("one", map.put(1L, "uno"));
+
+        assertEquals(2, map.size());
+        assertEquals("uno", map.get(1L));
+        assertEquals("minus one", map.get(-1L));
+        assertNull(map.get(2L));
+
+        assertEquals("uno", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertNull(map.get(1L));
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(3L, null));
+    }
+
+    @Test
+    @DisplayName("behaves like a hash map under random updates")
+    void testRandomUpdates() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(2);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    @DisplayName("grows and shrinks with sequential keys")
+    void testSequentialKeys() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+
+        for (long key = 1; key <= 100_000; key++) {
+            map.put(key, key);
+            if (key > 100) {
+                assertEquals(key - 100, (long) map.remove(key - 100));
+            }
+        }
+
+        assertEquals(100, map.size());
+        assertEquals(100_000L, (long) map.get(100_000L));
+    }
+
+    @Test
+    @DisplayName("drains all the values")
+    void testDrain() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+        for (long key = 0; key < 1000; key++) {
+            map.put(key, key);
+        }
+        List<Long> values = new ArrayList<>();
+
+        map.drain(values::add);
+
+        assertEquals(1000, values.size());
+        assertTrue(map.isEmpty());
+        assertNull(map.get(10L));
+    }
+
+    @Test
+    @DisplayName("keeps values of concurrent writers")
+    void testConcurrentUpdates() throws Exception {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+        AtomicLong sequence = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50_000; i++) {
+                        long key = sequence.incrementAndGet();
+                        map.put(key, key);
+                        if (i % 2 == 0) {
+                            assertEquals(key, (long) map.remove(key));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(100_000, map.size());
+    }
+
+}
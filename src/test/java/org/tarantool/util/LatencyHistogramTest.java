@@ -0,0 +1,74 @@
+package org.tarantool.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("A latency histogram")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("counts small values exactly")
+    void testSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(9, histogram.getValueAtPercentile(90));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    @DisplayName("keeps the relative error of large values bounded")
+    void testLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i);
+        }
+
+        long median = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(median >= 50_000 && median < 50_000 * 1.125, "median " + median);
+        assertTrue(p99 >= 99_000 && p99 < 99_000 * 1.125, "p99 " + p99);
+    }
+
+    @Test
+    @DisplayName("maps adjacent values to adjacent buckets")
+    void testBuckets() {
+        for (long value = 0; value < 1 << 16; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValueOf(bucket - 1) < value);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("keeps a copy unchanged by later records")
+    void testCopy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        LatencyHistogram copy = histogram.copy();
+        histogram.record(7);
+
+        assertEquals(1, copy.getCount());
+        assertEquals(2, histogram.getCount());
+    }
+
+    @Test
+    @DisplayName("rejects percentiles out of range")
+    void testIllegalPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+}